@@ -0,0 +1,30 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.app;
+
+/**
+ * Stands in for the Gatling main class in the mojo overhead harness: exits right away so that only
+ * the cost of launching the forked JVM is measured.
+ */
+public final class Gatling {
+
+  private Gatling() {}
+
+  public static void main(String[] args) {
+    System.exit(0);
+  }
+}
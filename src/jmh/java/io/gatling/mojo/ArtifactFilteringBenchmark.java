@@ -0,0 +1,65 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import static io.gatling.mojo.MojoConstants.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.maven.artifact.Artifact;
+import org.openjdk.jmh.annotations.*;
+
+/** Dependency filtering done by GatlingMojo and EnterprisePackageMojo on every build. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArtifactFilteringBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int artifactCount;
+
+  private List<Artifact> artifacts;
+  private Set<Artifact> gatlingAndTransitiveDependencies;
+
+  @Setup
+  public void setup() {
+    artifacts = SyntheticProject.artifacts(artifactCount, Path.of("repository"));
+    // Gatling and about half of the project's dependencies come transitively with Gatling
+    gatlingAndTransitiveDependencies =
+        artifacts.stream()
+            .filter(a -> a.getGroupId().startsWith(GATLING_GROUP_ID) || a.hashCode() % 2 == 0)
+            .collect(Collectors.toSet());
+  }
+
+  @Benchmark
+  public Artifact findGatlingApp() {
+    return MojoUtils.findByGroupIdAndArtifactId(artifacts, GATLING_GROUP_ID, GATLING_MODULE_APP);
+  }
+
+  @Benchmark
+  public List<Artifact> extraDependencies() {
+    return artifacts.stream()
+        .filter(artifact -> MojoUtils.artifactNotIn(artifact, gatlingAndTransitiveDependencies))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,68 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Parsing of the assertions file written by Gatling at the end of a run. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssertionsSummaryBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int assertions;
+
+  private Path assertionsFile;
+
+  @Setup
+  public void setup() throws IOException {
+    assertionsFile = Files.createTempFile("assertions", ".xml");
+    try (Writer writer = Files.newBufferedWriter(assertionsFile)) {
+      writer.write(
+          "<testsuite name=\"Simulation\" tests=\""
+              + assertions
+              + "\" errors=\"0\" failures=\"1\">\n");
+      for (int i = 0; i < assertions; i++) {
+        writer.write(
+            "  <testcase name=\"Global: 95th percentile of response time is less than 100\""
+                + " status=\"true\">\n"
+                + "    <system-out>Global: 95th percentile of response time is 42</system-out>\n"
+                + "  </testcase>\n");
+      }
+      writer.write("</testsuite>\n");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(assertionsFile);
+  }
+
+  @Benchmark
+  public AssertionsSummary fromAssertionsFile() throws Exception {
+    return AssertionsSummary.fromAssertionsFile(assertionsFile.toFile());
+  }
+}
@@ -0,0 +1,59 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.*;
+
+/** Test classpath assembly, as done by AbstractGatlingMojo#buildTestClasspath. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClasspathBenchmark {
+
+  @Param({"100", "1000", "5000"})
+  public int artifactCount;
+
+  private MavenProject project;
+
+  @Setup
+  public void setup() throws IOException {
+    project = SyntheticProject.project(artifactCount, Files.createTempDirectory("classpath"));
+  }
+
+  @Benchmark
+  public List<String> testClasspath() throws Exception {
+    List<String> testClasspathElements = new ArrayList<>(project.getTestClasspathElements());
+    testClasspathElements.add(MojoUtils.locateJar(Artifact.class));
+    testClasspathElements.add(MojoUtils.locateJar(MavenProject.class));
+    return testClasspathElements;
+  }
+
+  @Benchmark
+  public String locateJar() throws Exception {
+    return MojoUtils.locateJar(Artifact.class);
+  }
+}
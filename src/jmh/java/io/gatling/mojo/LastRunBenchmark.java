@@ -0,0 +1,68 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Reading of the lastRun.txt file by VerifyMojo. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LastRunBenchmark {
+
+  /** Number of run directories listed in lastRun.txt. */
+  @Param({"10", "1000", "100000"})
+  public int runs;
+
+  private Path template;
+  private Path lastRun;
+  private VerifyMojo verifyMojo;
+
+  @Setup
+  public void setup() throws IOException {
+    Path resultsFolder = Files.createTempDirectory("last-run");
+    template = resultsFolder.resolve("lastRun.template");
+    try (Writer writer = Files.newBufferedWriter(template)) {
+      for (int i = 0; i < runs; i++) {
+        writer.write("simulation" + i + "-20240101000000000" + System.lineSeparator());
+      }
+    }
+    lastRun = resultsFolder.resolve(AbstractGatlingExecutionMojo.LAST_RUN_FILE);
+    verifyMojo = new VerifyMojo();
+    verifyMojo.resultsFolder = resultsFolder.toFile();
+  }
+
+  /** VerifyMojo deletes the file once read. */
+  @Setup(Level.Invocation)
+  public void restoreLastRun() throws IOException {
+    Files.copy(template, lastRun, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Benchmark
+  public void verify() throws Exception {
+    verifyMojo.execute();
+  }
+}
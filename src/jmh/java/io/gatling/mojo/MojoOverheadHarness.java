@@ -0,0 +1,332 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import static io.gatling.mojo.MojoConstants.GATLING_GROUP_ID;
+import static io.gatling.mojo.MojoConstants.GATLING_HIGHCHARTS_GROUP_ID;
+import static io.gatling.mojo.MojoConstants.GATLING_MAIN_CLASS;
+
+import io.gatling.app.Gatling;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectHelper;
+import org.apache.maven.repository.RepositorySystem;
+import org.apache.maven.toolchain.ToolchainManager;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+
+/**
+ * Measures the overhead of the plugin's goals, as opposed to the time spent in Gatling itself, by
+ * running them against generated projects with a Gatling main class that exits immediately.
+ *
+ * <p>Runs on the packaged plugin, which provides the plugin version and jar the goals expect: mvn
+ * -Pjmh package exec:exec@mojo-overhead [-Dmojo-overhead.args="sizes repetitions report"], e.g.
+ * "100,1000,5000 5 target/mojo-overhead.csv".
+ */
+public final class MojoOverheadHarness {
+
+  private final Map<String, List<Long>> durations = new LinkedHashMap<>();
+
+  private MojoOverheadHarness() {}
+
+  public static void main(String[] args) throws Exception {
+    List<Integer> sizes =
+        Arrays.stream((args.length > 0 ? args[0] : "100,1000,5000").split(","))
+            .map(size -> Integer.parseInt(size.trim()))
+            .collect(Collectors.toList());
+    int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    Path report = Path.of(args.length > 2 ? args[2] : "target/mojo-overhead.csv");
+
+    Map<Integer, MojoOverheadHarness> results = new LinkedHashMap<>();
+    for (int size : sizes) {
+      MojoOverheadHarness harness = new MojoOverheadHarness();
+      Path baseDir = Files.createTempDirectory("mojo-overhead-" + size);
+      // the first round warms up the JVM and is discarded
+      for (int i = 0; i <= repetitions; i++) {
+        harness.round(size, baseDir, i > 0);
+      }
+      results.put(size, harness);
+    }
+    writeReport(results, report);
+  }
+
+  private void round(int size, Path baseDir, boolean record) throws Exception {
+    MavenProject project = SyntheticProject.project(size, baseDir);
+    SyntheticProject.writeJars(project.getArtifacts());
+    Path fakeGatling =
+        Path.of(project.getBuild().getTestOutputDirectory()).resolve("io/gatling/app");
+    Files.createDirectories(fakeGatling);
+    try (var is = Gatling.class.getResourceAsStream("Gatling.class")) {
+      Files.copy(is, fakeGatling.resolve("Gatling.class"), StandardCopyOption.REPLACE_EXISTING);
+    }
+    MavenSession session = session(project);
+    Path resultsFolder = Files.createDirectories(baseDir.resolve("target/gatling"));
+
+    GatlingMojo gatlingMojo = new GatlingMojo();
+    configure(gatlingMojo, project, session);
+    set(gatlingMojo, "resultsFolder", resultsFolder.toFile());
+    set(gatlingMojo, "simulationClass", "io.gatling.app.Gatling");
+    set(gatlingMojo, "includes", List.of());
+    set(gatlingMojo, "excludes", List.of());
+    set(gatlingMojo, "jvmArgs", List.of());
+    set(gatlingMojo, "failOnError", false);
+
+    List<String> classpath = measure(record, "classpath build", gatlingMojo::buildTestClasspath);
+    // scans the whole test classpath, like when no simulation is configured
+    set(gatlingMojo, "simulationClass", null);
+    measure(record, "simulation discovery", () -> discoverSimulations(gatlingMojo));
+    set(gatlingMojo, "simulationClass", "io.gatling.app.Gatling");
+    measure(
+        record,
+        "fork spawn",
+        () -> {
+          gatlingMojo
+              .newFork(GATLING_MAIN_CLASS, classpath, List.of(), List.of(), null, null)
+              .run();
+          return null;
+        });
+    measure(
+        record,
+        "test goal",
+        () -> {
+          gatlingMojo.execute();
+          return null;
+        });
+    // also part of the test goal, measured on their own as they scan the results folder
+    measure(
+        record,
+        "result bookkeeping",
+        () -> {
+          invoke(gatlingMojo, "recordReactorRun", Set.of(), null);
+          invoke(gatlingMojo, "saveSimulationResultToFile", Set.of(), null);
+          return null;
+        });
+
+    VerifyMojo verifyMojo = new VerifyMojo();
+    configure(verifyMojo, project, session);
+    verifyMojo.resultsFolder = resultsFolder.toFile();
+    measure(
+        record,
+        "verify goal",
+        () -> {
+          verifyMojo.execute();
+          return null;
+        });
+
+    EnterprisePackageMojo packageMojo = new EnterprisePackageMojo();
+    configure(packageMojo, project, session);
+    set(packageMojo, "targetPath", Path.of(project.getBuild().getDirectory()).toFile());
+    set(
+        packageMojo,
+        "projectHelper",
+        stub(MavenProjectHelper.class, (proxy, method, args) -> null));
+    set(packageMojo, "repository", repository(project));
+    set(packageMojo, "skipUnchangedPackage", true);
+    Files.deleteIfExists(packageMojo.enterprisePackage().toPath());
+    measure(
+        record,
+        "enterprisePackage goal",
+        () -> {
+          packageMojo.execute();
+          return null;
+        });
+    measure(
+        record,
+        "enterprisePackage goal, up to date",
+        () -> {
+          packageMojo.execute();
+          return null;
+        });
+  }
+
+  @FunctionalInterface
+  private interface Phase<T> {
+    T run() throws Exception;
+  }
+
+  private <T> T measure(boolean record, String name, Phase<T> phase) throws Exception {
+    long start = System.nanoTime();
+    T result = phase.run();
+    long duration = System.nanoTime() - start;
+    if (record) {
+      durations.computeIfAbsent(name, k -> new ArrayList<>()).add(duration);
+    }
+    return result;
+  }
+
+  private static void writeReport(Map<Integer, MojoOverheadHarness> results, Path report)
+      throws IOException {
+    Files.createDirectories(report.toAbsolutePath().getParent());
+    String header =
+        String.format(
+            "%-8s %-36s %10s %10s %10s", "size", "phase", "min ms", "median ms", "max ms");
+    System.out.println(header);
+    try (Writer writer = Files.newBufferedWriter(report)) {
+      writer.write("size,phase,min_ms,median_ms,max_ms\n");
+      for (Map.Entry<Integer, MojoOverheadHarness> result : results.entrySet()) {
+        for (Map.Entry<String, List<Long>> phase : result.getValue().durations.entrySet()) {
+          List<Long> sorted = new ArrayList<>(phase.getValue());
+          Collections.sort(sorted);
+          double min = sorted.get(0) / 1e6;
+          double median = sorted.get(sorted.size() / 2) / 1e6;
+          double max = sorted.get(sorted.size() - 1) / 1e6;
+          System.out.println(
+              String.format(
+                  Locale.ROOT,
+                  "%-8d %-36s %10.1f %10.1f %10.1f",
+                  result.getKey(),
+                  phase.getKey(),
+                  min,
+                  median,
+                  max));
+          writer.write(
+              String.format(
+                  Locale.ROOT,
+                  "%d,%s,%.3f,%.3f,%.3f%n",
+                  result.getKey(),
+                  phase.getKey(),
+                  min,
+                  median,
+                  max));
+        }
+      }
+    }
+    System.out.println("Report written to " + report.toAbsolutePath());
+  }
+
+  private static MavenSession session(MavenProject project) {
+    DefaultMavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    request.setInteractiveMode(false);
+    @SuppressWarnings("deprecation")
+    MavenSession session =
+        new MavenSession(
+            null, new DefaultRepositorySystemSession(), request, new DefaultMavenExecutionResult());
+    session.setProjects(List.of(project));
+    session.setCurrentProject(project);
+    return session;
+  }
+
+  private static void configure(
+      AbstractGatlingMojo mojo, MavenProject project, MavenSession session)
+      throws ReflectiveOperationException {
+    mojo.mavenProject = project;
+    mojo.session = session;
+    mojo.toolchainManager = stub(ToolchainManager.class, (proxy, method, args) -> null);
+    mojo.setLog(stub(Log.class, (proxy, method, args) -> false));
+  }
+
+  /** Resolves the Gatling artifacts to themselves, as if they had no transitive dependency. */
+  private static RepositorySystem repository(MavenProject project) {
+    Set<Artifact> gatlingArtifacts =
+        project.getArtifacts().stream()
+            .filter(
+                artifact ->
+                    GATLING_GROUP_ID.equals(artifact.getGroupId())
+                        || GATLING_HIGHCHARTS_GROUP_ID.equals(artifact.getGroupId()))
+            .collect(Collectors.toSet());
+    return stub(
+        RepositorySystem.class,
+        (proxy, method, args) -> {
+          if (method.getName().equals("resolve")) {
+            ArtifactResolutionResult result = new ArtifactResolutionResult();
+            result.setArtifacts(gatlingArtifacts);
+            return result;
+          }
+          return null;
+        });
+  }
+
+  private static <T> T stub(Class<T> type, InvocationHandler handler) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              if (method.getDeclaringClass() == Object.class) {
+                return method.getName().equals("equals")
+                    ? proxy == args[0]
+                    : method.getName().equals("hashCode")
+                        ? System.identityHashCode(proxy)
+                        : type.getSimpleName() + " stub";
+              }
+              Object result = handler.invoke(proxy, method, args);
+              return method.getReturnType() == boolean.class && !(result instanceof Boolean)
+                  ? false
+                  : result;
+            }));
+  }
+
+  /** Sets a mojo parameter, like Maven does when configuring the mojo. */
+  private static void set(AbstractMojo mojo, String name, Object value)
+      throws ReflectiveOperationException {
+    for (Class<?> c = mojo.getClass(); c != null; c = c.getSuperclass()) {
+      try {
+        Field field = c.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+        return;
+      } catch (NoSuchFieldException e) {
+        // look in the superclass
+      }
+    }
+    throw new NoSuchFieldException(name);
+  }
+
+  /**
+   * @return the simulations, or null as the synthetic project has none, which is only noticed once
+   *     the whole test classpath has been scanned
+   */
+  private static Object discoverSimulations(GatlingMojo mojo) throws Exception {
+    try {
+      return invoke(mojo, "simulations");
+    } catch (InvocationTargetException e) {
+      if (e.getCause() instanceof MojoFailureException) {
+        return null;
+      }
+      throw e;
+    }
+  }
+
+  /** Calls a private method of a mojo, looked up by name. */
+  private static Object invoke(AbstractMojo mojo, String name, Object... args) throws Exception {
+    for (Method method : mojo.getClass().getDeclaredMethods()) {
+      if (method.getName().equals(name)) {
+        method.setAccessible(true);
+        return method.invoke(mojo, args);
+      }
+    }
+    throw new NoSuchMethodException(name);
+  }
+}
@@ -0,0 +1,131 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import static io.gatling.mojo.MojoConstants.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+
+/** Generates Maven projects with many dependencies, as found in large Gatling projects. */
+final class SyntheticProject {
+
+  static final String GATLING_VERSION = "3.13.5";
+
+  private SyntheticProject() {}
+
+  static Artifact artifact(String groupId, String artifactId, String version, File file) {
+    DefaultArtifactHandler handler = new DefaultArtifactHandler("jar");
+    handler.setAddedToClasspath(true);
+    DefaultArtifact artifact =
+        new DefaultArtifact(
+            groupId,
+            artifactId,
+            VersionRange.createFromVersion(version),
+            Artifact.SCOPE_TEST,
+            "jar",
+            null,
+            handler);
+    artifact.setFile(file);
+    return artifact;
+  }
+
+  /**
+   * @return count artifacts: a few Gatling ones first, then third-party ones, the Gatling app
+   *     module being last so that lookups have to scan everything
+   */
+  static List<Artifact> artifacts(int count, Path repository) {
+    List<Artifact> artifacts = new ArrayList<>(count);
+    artifacts.add(
+        artifact(
+            GATLING_HIGHCHARTS_GROUP_ID,
+            "gatling-charts-highcharts",
+            GATLING_VERSION,
+            jar(repository, "gatling-charts-highcharts")));
+    artifacts.add(
+        artifact(
+            GATLING_GROUP_ID, "gatling-core", GATLING_VERSION, jar(repository, "gatling-core")));
+    for (int i = artifacts.size(); i < count - 1; i++) {
+      artifacts.add(
+          artifact(
+              "com.example.group" + (i % 50),
+              "library-" + i,
+              "1." + i,
+              jar(repository, "lib" + i)));
+    }
+    artifacts.add(
+        artifact(
+            GATLING_GROUP_ID, GATLING_MODULE_APP, GATLING_VERSION, jar(repository, "gatling-app")));
+    return artifacts;
+  }
+
+  static MavenProject project(int artifactCount, Path baseDir) throws IOException {
+    Path repository = Files.createDirectories(baseDir.resolve("repository"));
+    MavenProject project = new MavenProject();
+    project.setGroupId("com.example");
+    project.setArtifactId("synthetic");
+    project.setVersion("1.0");
+    project.setFile(baseDir.resolve("pom.xml").toFile());
+    Build build = new Build();
+    build.setDirectory(baseDir.resolve("target").toString());
+    build.setOutputDirectory(Files.createDirectories(baseDir.resolve("target/classes")).toString());
+    build.setTestOutputDirectory(
+        Files.createDirectories(baseDir.resolve("target/test-classes")).toString());
+    project.setBuild(build);
+    project.setArtifacts(new LinkedHashSet<>(artifacts(artifactCount, repository)));
+    return project;
+  }
+
+  /** Creates small jar files for the artifacts, for the goals that read their dependencies. */
+  static void writeJars(Collection<Artifact> artifacts) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+    for (Artifact artifact : artifacts) {
+      Path jar = artifact.getFile().toPath();
+      if (Files.exists(jar)) {
+        continue;
+      }
+      try (OutputStream os = Files.newOutputStream(jar);
+          JarOutputStream out = new JarOutputStream(os, manifest)) {
+        out.putNextEntry(new JarEntry(artifact.getArtifactId() + ".properties"));
+        out.write(("version=" + artifact.getVersion()).getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+  }
+
+  private static File jar(Path repository, String name) {
+    return repository.resolve(name + ".jar").toFile();
+  }
+}
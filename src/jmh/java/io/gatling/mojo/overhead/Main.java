@@ -0,0 +1,33 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo.overhead;
+
+import io.gatling.mojo.MojoOverheadHarness;
+
+/**
+ * Launches {@link MojoOverheadHarness} from outside of the plugin's package, so that the package
+ * gets defined by a plugin class, with the version from the plugin jar's manifest.
+ */
+public final class Main {
+
+  private Main() {}
+
+  public static void main(String[] args) throws Exception {
+    Class.forName("io.gatling.mojo.GatlingMojo");
+    MojoOverheadHarness.main(args);
+  }
+}
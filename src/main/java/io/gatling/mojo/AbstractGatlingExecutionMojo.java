@@ -16,8 +16,19 @@
  */
 package io.gatling.mojo;
 
+import static io.gatling.mojo.MojoConstants.GATLING_GROUP_ID;
+import static io.gatling.mojo.MojoConstants.GATLING_MODULE_APP;
+
+import io.gatling.shared.cli.GatlingCliOptions;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 
 public abstract class AbstractGatlingExecutionMojo extends AbstractGatlingMojo {
 
@@ -31,4 +42,130 @@ public abstract class AbstractGatlingExecutionMojo extends AbstractGatlingMojo {
   /** Disable the plugin. */
   @Parameter(property = "gatling.skip", defaultValue = "false")
   protected boolean skip;
+
+  /**
+   * The maximum number of Gatling runs in progress at the same time across the modules of a
+   * parallel build (-T), so that simulations don't compete for the host. 0 for no limit. The value
+   * of the first module to run Gatling applies to the whole build.
+   */
+  @Parameter(property = "gatling.maxConcurrentRuns", defaultValue = "1")
+  protected int maxConcurrentRuns;
+
+  /**
+   * Service level objectives checked against the statistics of each run once it's over, see {@link
+   * Slo}, so that they can change without changing the simulations. Their outcome is written to
+   * TEST-slos.xml in the run directory, in the JUnit XML format.
+   */
+  @Parameter protected List<Slo> slos;
+
+  /**
+   * How much the throughput may vary during the steady state of a run, the highest throughput
+   * relative to the lowest one, e.g. 0.2 for 20%.
+   */
+  @Parameter(property = "gatling.steadyState.tolerance", defaultValue = "0.2")
+  protected double steadyStateTolerance;
+
+  /**
+   * Waits for the Gatling runs of other modules to leave room for a new one.
+   *
+   * @return frees the room when closed
+   */
+  protected AutoCloseable acquireRun() throws InterruptedException {
+    ReactorRuns reactorRuns = ReactorRuns.of(session, maxConcurrentRuns);
+    if (!reactorRuns.tryAcquireRun()) {
+      getLog()
+          .info(
+              "Waiting for the Gatling runs of other modules to end (gatling.maxConcurrentRuns="
+                  + reactorRuns.maxConcurrentRuns()
+                  + ")");
+      reactorRuns.acquireRun();
+    }
+    return reactorRuns::releaseRun;
+  }
+
+  /**
+   * Checks the SLOs against the statistics of these runs, and writes their outcome in the run
+   * directories.
+   *
+   * @param runDirectories in the results folder
+   * @return the breached SLOs, empty if none
+   */
+  protected List<String> checkSlos(List<String> runDirectories) {
+    List<String> breaches = new ArrayList<>();
+    if (slos == null || slos.isEmpty()) {
+      return breaches;
+    }
+    for (String runDirectory : runDirectories) {
+      File directory = new File(resultsFolder, runDirectory);
+      Map<String, RunStatistics.Request> requests;
+      try {
+        requests = RunStatistics.read(directory);
+      } catch (IOException e) {
+        breaches.add(runDirectory + ": can't be checked, " + e.getMessage());
+        continue;
+      }
+      List<SloEvaluation.Check> checks = SloEvaluation.evaluate(slos, requests);
+      int passed = 0;
+      for (SloEvaluation.Check check : checks) {
+        if (check.skipped()) {
+          getLog().debug("SLO not checked in " + runDirectory + ", " + check.describe());
+        } else if (check.passed()) {
+          passed++;
+        } else {
+          getLog().error("SLO breached in " + runDirectory + ", " + check.describe());
+          breaches.add(runDirectory + ": " + check.describe());
+        }
+      }
+      getLog().info("SLOs of " + runDirectory + ": " + passed + " checks passed");
+      Path junitFile = directory.toPath().resolve(SloEvaluation.JUNIT_FILE);
+      try {
+        SloEvaluation.writeJUnit(junitFile, runDirectory, checks);
+      } catch (IOException e) {
+        getLog().warn("Failed to write " + junitFile + ": " + e.getMessage());
+      }
+    }
+    return breaches;
+  }
+
+  protected Set<File> runDirectories() {
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    return directories == null ? Set.of() : Set.of(directories);
+  }
+
+  /**
+   * @return the major and minor versions of the Gatling dependency of the project
+   */
+  private int[] gatlingVersion() {
+    String[] gatlingVersion =
+        MojoUtils.findByGroupIdAndArtifactId(
+                mavenProject.getArtifacts(), GATLING_GROUP_ID, GATLING_MODULE_APP)
+            .getVersion()
+            .split("\\.");
+    return new int[] {Integer.parseInt(gatlingVersion[0]), Integer.parseInt(gatlingVersion[1])};
+  }
+
+  /**
+   * @return true if the Gatling version of the project writes simulation.log as text, which the
+   *     plugin can read: versions before 3.11, later ones write a binary file
+   */
+  protected boolean textSimulationLog() {
+    int[] gatlingVersion = gatlingVersion();
+    return gatlingVersion[0] < 3 || gatlingVersion[0] == 3 && gatlingVersion[1] < 11;
+  }
+
+  /** Tells Gatling it's launched by this plugin, for the versions that support it. */
+  protected List<String> launcherArgs() {
+    int[] gatlingVersion = gatlingVersion();
+    int gatlingMajorVersion = gatlingVersion[0];
+    int gatlingMinorVersion = gatlingVersion[1];
+
+    if ((gatlingMajorVersion == 3 && gatlingMinorVersion >= 8) || gatlingMajorVersion > 4) {
+      return List.of(
+          GatlingCliOptions.Launcher.shortOption(),
+          "maven",
+          GatlingCliOptions.BuildToolVersion.shortOption(),
+          MavenProject.class.getPackage().getImplementationVersion());
+    }
+    return List.of();
+  }
 }
@@ -22,11 +22,15 @@ import io.gatling.plugin.util.Fork;
 import io.gatling.plugin.util.ForkMain;
 import io.gatling.plugin.util.JavaLocator;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import javax.inject.Inject;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.repository.RepositorySystem;
@@ -43,6 +47,20 @@ public abstract class AbstractGatlingMojo extends AbstractMojo {
   @Parameter(defaultValue = "${session}", readonly = true)
   protected MavenSession session;
 
+  @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+  protected MojoExecution mojoExecution;
+
+  /** Log how long each phase of the goal took, e.g. classpath resolution, run or packaging. */
+  @Parameter(property = "gatling.trace", defaultValue = "false")
+  protected boolean trace;
+
+  /**
+   * Also write the phases of the goals that ran in the build to target/gatling/build-trace.json, in
+   * the Chrome trace event format that chrome://tracing and https://ui.perfetto.dev can open.
+   */
+  @Parameter(property = "gatling.writeTrace", defaultValue = "false")
+  protected boolean writeTrace;
+
   /** The toolchain manager to use. */
   @Inject protected ToolchainManager toolchainManager;
 
@@ -51,6 +69,35 @@ public abstract class AbstractGatlingMojo extends AbstractMojo {
 
   protected BuildTool buildTool = BuildTool.MAVEN;
 
+  protected final BuildTrace buildTrace = new BuildTrace();
+
+  @Override
+  public final void execute() throws MojoExecutionException, MojoFailureException {
+    String goal = mojoExecution != null ? mojoExecution.getGoal() : getClass().getSimpleName();
+    try (BuildTrace.Span span = buildTrace.span(goal)) {
+      executeGoal();
+    } finally {
+      reportTrace(goal);
+    }
+  }
+
+  protected abstract void executeGoal() throws MojoExecutionException, MojoFailureException;
+
+  private void reportTrace(String goal) {
+    if (trace || writeTrace) {
+      buildTrace.logSummary(getLog());
+    }
+    if (writeTrace) {
+      File file = new File(mavenProject.getBuild().getDirectory(), "gatling/build-trace.json");
+      try {
+        buildTrace.write(file, mavenProject.getArtifactId() + ":" + goal, session);
+        getLog().info("Build trace written to " + file);
+      } catch (IOException e) {
+        getLog().warn("Failed to write build trace " + file + ": " + e.getMessage());
+      }
+    }
+  }
+
   protected String pluginVersion() {
     final String pluginVersion = getClass().getPackage().getImplementationVersion();
     if (pluginVersion == null) {
@@ -100,12 +147,31 @@ public abstract class AbstractGatlingMojo extends AbstractMojo {
       List<String> args,
       Toolchain toolchain,
       File workingDirectory) {
+    return newFork(
+        mainClassName, classpath, jvmArgs, args, toolchain, workingDirectory, newPluginLogger());
+  }
 
-    String fromToolchain = toolchain != null ? toolchain.findTool("java") : null;
-    File javaExec =
-        fromToolchain != null ? new File(fromToolchain) : JavaLocator.getJavaExecutable();
+  protected Fork newFork(
+      String mainClassName,
+      List<String> classpath,
+      List<String> jvmArgs,
+      List<String> args,
+      Toolchain toolchain,
+      File workingDirectory,
+      PluginLogger logger) {
 
     return new Fork(
-        mainClassName, classpath, jvmArgs, args, javaExec, newPluginLogger(), workingDirectory);
+        mainClassName,
+        classpath,
+        jvmArgs,
+        args,
+        javaExecutable(toolchain),
+        logger,
+        workingDirectory);
+  }
+
+  protected File javaExecutable(Toolchain toolchain) {
+    String fromToolchain = toolchain != null ? toolchain.findTool("java") : null;
+    return fromToolchain != null ? new File(fromToolchain) : JavaLocator.getJavaExecutable();
   }
 }
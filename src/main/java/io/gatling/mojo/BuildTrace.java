@@ -0,0 +1,268 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Records how long the phases of a goal take, as spans that can be logged as a table and written in
+ * the Chrome trace event format, which chrome://tracing and https://ui.perfetto.dev can open.
+ */
+final class BuildTrace {
+
+  private static final String SESSION_DATA_KEY = BuildTrace.class.getName();
+
+  final class Span implements AutoCloseable {
+    private final String name;
+    private final long threadId;
+    private final Span parent;
+    private final Deque<Span> stack;
+    private final long startNanos = System.nanoTime();
+    private long endNanos = -1;
+
+    private Span(String name, long threadId, Span parent, Deque<Span> stack) {
+      this.name = name;
+      this.threadId = threadId;
+      this.parent = parent;
+      this.stack = stack;
+    }
+
+    @Override
+    public void close() {
+      synchronized (spans) {
+        if (endNanos < 0) {
+          endNanos = System.nanoTime();
+          if (stack != null) {
+            stack.remove(this);
+          }
+        }
+      }
+    }
+
+    private long durationNanos() {
+      return endNanos - startNanos;
+    }
+  }
+
+  /**
+   * Splits the lifetime of a forked Gatling process based on its output: launch until it first
+   * writes something, then the run itself, then report generation.
+   */
+  final class ForkPhases extends DecoratingLogger implements AutoCloseable {
+    private final long threadId = Thread.currentThread().getId();
+    private final Span parent = openParent();
+    private Span current = new Span("fork launch", threadId, parent, null);
+    private boolean generatingReports;
+
+    private ForkPhases(PluginLogger delegate) {
+      super(delegate);
+    }
+
+    @Override
+    synchronized void onOutput(String message) {
+      if (current == null) {
+        return;
+      }
+      if (current.name.equals("fork launch")) {
+        next("run");
+      }
+      if (!generatingReports && message.contains(ConsoleSummary.GENERATING_REPORTS)) {
+        generatingReports = true;
+        next("report generation");
+      }
+    }
+
+    private void next(String name) {
+      current.close();
+      current = add(new Span(name, threadId, parent, null));
+    }
+
+    @Override
+    public synchronized void close() {
+      if (current != null) {
+        current.close();
+        current = null;
+      }
+    }
+  }
+
+  private final List<Span> spans = new ArrayList<>();
+
+  /**
+   * The spans open on each thread, innermost last: the parent of a span is the innermost one open
+   * on its thread, so that spans of concurrent threads don't nest into each other.
+   */
+  private final ThreadLocal<Deque<Span>> openSpans = ThreadLocal.withInitial(ArrayDeque::new);
+
+  /** The first span, typically the whole goal, parent of the spans of threads it started. */
+  private Span root;
+
+  private final long epochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+  private final long originNanos = System.nanoTime();
+
+  Span span(String name) {
+    Deque<Span> stack = openSpans.get();
+    synchronized (spans) {
+      Span span = new Span(name, Thread.currentThread().getId(), openParent(), stack);
+      stack.addLast(span);
+      if (root == null) {
+        root = span;
+      }
+      return add(span);
+    }
+  }
+
+  ForkPhases forkPhases(PluginLogger logger) {
+    return new ForkPhases(logger);
+  }
+
+  /**
+   * @return the innermost span open on the current thread, or the root span if none and it's still
+   *     open
+   */
+  private Span openParent() {
+    synchronized (spans) {
+      Span innermost = openSpans.get().peekLast();
+      if (innermost != null) {
+        return innermost;
+      }
+      return root != null && root.endNanos < 0 ? root : null;
+    }
+  }
+
+  private Span add(Span span) {
+    synchronized (spans) {
+      spans.add(span);
+    }
+    return span;
+  }
+
+  /**
+   * @return the closed spans, each one followed by its children, in the order they started
+   */
+  private List<Span> closedSpans() {
+    Map<Span, List<Span>> children = new HashMap<>();
+    synchronized (spans) {
+      for (Span span : spans) {
+        if (span.endNanos >= 0) {
+          children.computeIfAbsent(closedParent(span), parent -> new ArrayList<>()).add(span);
+        }
+      }
+    }
+    List<Span> closed = new ArrayList<>();
+    addTree(null, children, closed);
+    return closed;
+  }
+
+  private static void addTree(Span parent, Map<Span, List<Span>> children, List<Span> closed) {
+    List<Span> siblings = children.get(parent);
+    if (siblings == null) {
+      return;
+    }
+    siblings.sort(Comparator.comparingLong(span -> span.startNanos));
+    for (Span span : siblings) {
+      closed.add(span);
+      addTree(span, children, closed);
+    }
+  }
+
+  /** The spans still open are left out, their children are shown under the closest closed one. */
+  private static Span closedParent(Span span) {
+    Span parent = span.parent;
+    while (parent != null && parent.endNanos < 0) {
+      parent = parent.parent;
+    }
+    return parent;
+  }
+
+  private static int depth(Span span) {
+    int depth = 0;
+    for (Span parent = closedParent(span); parent != null; parent = closedParent(parent)) {
+      depth++;
+    }
+    return depth;
+  }
+
+  /** Logs one line per span, indented under its parent. */
+  void logSummary(Log log) {
+    List<Span> closed = closedSpans();
+    if (closed.isEmpty()) {
+      return;
+    }
+    List<String> labels = new ArrayList<>(closed.size());
+    for (Span span : closed) {
+      labels.add("  ".repeat(depth(span)) + span.name);
+    }
+    int nameWidth = Math.max(labels.stream().mapToInt(String::length).max().orElse(0), 5);
+    String format = "%-" + nameWidth + "s  %10s  %6s";
+    double totalNanos = closed.get(0).durationNanos();
+    log.info(String.format(format, "Phase", "Time (ms)", "%"));
+    for (int i = 0; i < closed.size(); i++) {
+      Span span = closed.get(i);
+      log.info(
+          String.format(
+              Locale.ROOT,
+              format,
+              labels.get(i),
+              TimeUnit.NANOSECONDS.toMillis(span.durationNanos()),
+              String.format(Locale.ROOT, "%.1f", span.durationNanos() * 100 / totalNanos)));
+    }
+  }
+
+  /**
+   * Adds the spans to the trace file. The file keeps the spans of all the goals that ran in the
+   * same build for the same file, in the order they ran.
+   */
+  @SuppressWarnings("unchecked")
+  void write(File traceFile, String process, MavenSession session) throws IOException {
+    List<String> events =
+        (List<String>)
+            session
+                .getRepositorySession()
+                .getData()
+                .computeIfAbsent(
+                    SESSION_DATA_KEY + ":" + traceFile.getAbsolutePath(), ArrayList::new);
+    synchronized (events) {
+      for (Span span : closedSpans()) {
+        events.add(
+            String.format(
+                Locale.ROOT,
+                "{\"name\":%s,\"cat\":%s,\"ph\":\"X\",\"ts\":%d,\"dur\":%d,\"pid\":1,\"tid\":%d}",
+                Json.quote(span.name),
+                Json.quote(process),
+                epochMicros + TimeUnit.NANOSECONDS.toMicros(span.startNanos - originNanos),
+                TimeUnit.NANOSECONDS.toMicros(span.durationNanos()),
+                span.threadId));
+      }
+      Files.createDirectories(traceFile.getAbsoluteFile().getParentFile().toPath());
+      try (Writer writer = Files.newBufferedWriter(traceFile.toPath(), StandardCharsets.UTF_8)) {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+        writer.write(String.join(",\n", events));
+        writer.write("\n]}\n");
+      }
+    }
+  }
+}
@@ -0,0 +1,248 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import static io.gatling.mojo.MojoConstants.GATLING_MAIN_CLASS;
+
+import io.gatling.plugin.GatlingConstants;
+import io.gatling.plugin.util.Fork;
+import io.gatling.shared.cli.GatlingCliOptions;
+import java.io.File;
+import java.util.*;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.*;
+import org.apache.maven.toolchain.Toolchain;
+
+/**
+ * Mojo to find the highest injection rate a simulation sustains within latency and error ratio
+ * objectives.
+ *
+ * <p>The simulation is run repeatedly, with the rate passed as a system property that it must use
+ * for its injection profile, e.g. {@code constantUsersPerSec(Integer.getInteger("rate", 1))}.
+ */
+@Execute(phase = LifecyclePhase.TEST_COMPILE)
+@Mojo(
+    name = "capacity",
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
+public final class CapacityMojo extends AbstractGatlingExecutionMojo {
+
+  /** The name of the Simulation class to run. */
+  @Parameter(property = "gatling.simulationClass", required = true)
+  private String simulationClass;
+
+  /** The system property the simulation reads its injection rate from. */
+  @Parameter(property = "gatling.capacity.rateProperty", defaultValue = "rate")
+  private String rateProperty;
+
+  /** The lowest rate to try. */
+  @Parameter(property = "gatling.capacity.minRate", defaultValue = "1")
+  private double minRate;
+
+  /** The highest rate to try. */
+  @Parameter(property = "gatling.capacity.maxRate", required = true)
+  private double maxRate;
+
+  /**
+   * How to search for the highest sustainable rate: binary to halve the interval between the
+   * highest sustained and the lowest unsustained rates, step to increase the rate by
+   * gatling.capacity.step until it's no longer sustained.
+   */
+  @Parameter(property = "gatling.capacity.strategy", defaultValue = "binary")
+  private String strategy;
+
+  /** The rate increment of the step strategy. */
+  @Parameter(property = "gatling.capacity.step", defaultValue = "0")
+  private double step;
+
+  /**
+   * The binary search stops once the interval between the highest sustained and the lowest
+   * unsustained rates is narrower than this fraction of the latter, between 0 and 1 excluded.
+   */
+  @Parameter(property = "gatling.capacity.resolution", defaultValue = "0.05")
+  private double resolution;
+
+  /**
+   * The 99th percentile of the response times, in milliseconds, above which a rate isn't
+   * sustainable. More precisely, the highest percentile of the reports, see gatling.conf.
+   */
+  @Parameter(property = "gatling.capacity.maxP99", defaultValue = "1000")
+  private double maxP99;
+
+  /** The ratio of failed requests above which a rate isn't sustainable. */
+  @Parameter(property = "gatling.capacity.maxErrorRatio", defaultValue = "0.01")
+  private double maxErrorRatio;
+
+  /** Extra JVM arguments to pass when running Gatling. */
+  @Parameter(property = "gatling.jvmArgs")
+  private List<String> jvmArgs;
+
+  /** Specify a different working directory. */
+  @Parameter(property = "gatling.workingDirectory")
+  private File workingDirectory;
+
+  private static final class Probe {
+    private final double rate;
+    private final RunStatistics.Request global;
+    private final boolean sustained;
+
+    private Probe(double rate, RunStatistics.Request global, boolean sustained) {
+      this.rate = rate;
+      this.global = global;
+      this.sustained = sustained;
+    }
+  }
+
+  @Override
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
+    if (skip) {
+      getLog().info("Skipping gatling-maven-plugin");
+      return;
+    }
+    if (!resultsFolder.exists() && !resultsFolder.mkdirs()) {
+      throw new MojoExecutionException(
+          "Could not create resultsFolder " + resultsFolder.getAbsolutePath());
+    }
+
+    CapacitySearch search;
+    try {
+      search =
+          new CapacitySearch(
+              CapacitySearch.Strategy.valueOf(strategy.trim().toUpperCase(Locale.ROOT)),
+              minRate,
+              maxRate,
+              step,
+              resolution);
+    } catch (IllegalArgumentException e) {
+      throw new MojoFailureException("Invalid capacity search: " + e.getMessage(), e);
+    }
+
+    List<Probe> probes = new ArrayList<>();
+    Double maxSustainableRate;
+    try {
+      List<String> testClasspath;
+      try (BuildTrace.Span span = buildTrace.span("classpath resolution")) {
+        testClasspath = buildTestClasspath();
+      }
+      Toolchain toolchain = toolchainManager.getToolchainFromBuildContext("jdk", session);
+      maxSustainableRate =
+          search.run(rate -> probe(rate, testClasspath, toolchain, probes).sustained);
+    } catch (MojoExecutionException | MojoFailureException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new MojoExecutionException("Gatling failed.", e);
+    }
+
+    logProbes(probes);
+    if (maxSustainableRate == null) {
+      throw new MojoFailureException(
+          "The minimum rate " + CapacitySearch.format(minRate) + " isn't sustainable");
+    }
+    if (maxSustainableRate == maxRate) {
+      getLog().warn("The maximum rate is sustainable, capacity may be higher: raise maxRate");
+    }
+    getLog()
+        .info(
+            "Maximum sustainable rate: "
+                + rateProperty
+                + "="
+                + CapacitySearch.format(maxSustainableRate));
+  }
+
+  private Probe probe(
+      double rate, List<String> testClasspath, Toolchain toolchain, List<Probe> probes)
+      throws Exception {
+    String formattedRate = CapacitySearch.format(rate);
+    getLog()
+        .info(
+            "Running simulation "
+                + simulationClass
+                + " with "
+                + rateProperty
+                + "="
+                + formattedRate);
+
+    List<String> forkJvmArgs = new ArrayList<>(GatlingConstants.DEFAULT_JVM_OPTIONS_GATLING);
+    if (jvmArgs != null) {
+      forkJvmArgs.addAll(jvmArgs);
+    }
+    forkJvmArgs.add("-D" + rateProperty + "=" + formattedRate);
+
+    List<String> args = new ArrayList<>();
+    args.addAll(List.of(GatlingCliOptions.Simulation.shortOption(), simulationClass));
+    args.addAll(
+        List.of(GatlingCliOptions.ResultsFolder.shortOption(), resultsFolder.getCanonicalPath()));
+    args.addAll(launcherArgs());
+
+    Set<File> preExistingRunDirectories = runDirectories();
+    try (AutoCloseable run = acquireRun();
+        BuildTrace.Span span = buildTrace.span(rateProperty + "=" + formattedRate)) {
+      newFork(GATLING_MAIN_CLASS, testClasspath, forkJvmArgs, args, toolchain, workingDirectory)
+          .run();
+    } catch (Fork.ForkException e) {
+      // failed assertions are expected past the capacity, the objectives decide
+      if (e.exitValue != 2) {
+        throw e;
+      }
+    }
+
+    RunStatistics.Request global = null;
+    for (File directory : runDirectories()) {
+      if (!preExistingRunDirectories.contains(directory)) {
+        global = RunStatistics.read(directory).get(RunStatistics.GLOBAL);
+      }
+    }
+    if (global == null) {
+      throw new MojoExecutionException("Gatling didn't create a run directory");
+    }
+    boolean sustained =
+        global.count > 0 && global.p99 <= maxP99 && global.errorRatio() <= maxErrorRatio;
+    Probe probe = new Probe(rate, global, sustained);
+    probes.add(probe);
+    getLog()
+        .info(
+            String.format(
+                Locale.ROOT,
+                "%s=%s: p99 %.0f ms, %.2f%% errors, %s",
+                rateProperty,
+                formattedRate,
+                global.p99,
+                global.errorRatio() * 100,
+                sustained ? "sustained" : "not sustained"));
+    return probe;
+  }
+
+  private void logProbes(List<Probe> probes) {
+    String format = "%12s  %10s  %10s  %8s  %s";
+    getLog().info(String.format(format, rateProperty, "req/s", "p99 (ms)", "errors", "result"));
+    probes.stream()
+        .sorted(Comparator.comparingDouble(probe -> probe.rate))
+        .forEach(
+            probe ->
+                getLog()
+                    .info(
+                        String.format(
+                            Locale.ROOT,
+                            format,
+                            CapacitySearch.format(probe.rate),
+                            String.format(Locale.ROOT, "%.1f", probe.global.requestsPerSecond),
+                            String.format(Locale.ROOT, "%.0f", probe.global.p99),
+                            String.format(Locale.ROOT, "%.2f%%", probe.global.errorRatio() * 100),
+                            probe.sustained ? "OK" : "KO")));
+  }
+}
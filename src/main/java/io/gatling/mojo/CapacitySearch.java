@@ -0,0 +1,118 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+/**
+ * Searches for the highest rate at which a probe still succeeds, between a minimum and a maximum
+ * rate, assuming that a probe that fails at some rate also fails at any higher rate.
+ */
+final class CapacitySearch {
+
+  enum Strategy {
+    /** Halve the interval between the highest success and the lowest failure. */
+    BINARY,
+    /** Increase the rate by a fixed step until the first failure. */
+    STEP
+  }
+
+  @FunctionalInterface
+  interface Probe {
+    boolean sustains(double rate) throws Exception;
+  }
+
+  private final Strategy strategy;
+  private final double minRate;
+  private final double maxRate;
+  private final double step;
+  private final double resolution;
+  private final boolean integral;
+
+  /**
+   * @param step the increment of the step strategy
+   * @param resolution the binary search stops once the interval between the highest success and the
+   *     lowest failure is narrower than this fraction of the lowest failure, between 0 and 1
+   */
+  CapacitySearch(
+      Strategy strategy, double minRate, double maxRate, double step, double resolution) {
+    if (minRate <= 0 || maxRate < minRate) {
+      throw new IllegalArgumentException(
+          "Rates must be positive, with maxRate >= minRate, got " + minRate + " and " + maxRate);
+    }
+    if (strategy == Strategy.STEP && step <= 0) {
+      throw new IllegalArgumentException("The step must be positive, got " + step);
+    }
+    // 0 or less never ends a search between non-integral bounds, 1 or more stops it right away
+    if (strategy == Strategy.BINARY && (resolution <= 0 || resolution >= 1)) {
+      throw new IllegalArgumentException(
+          "The resolution must be between 0 and 1, excluded, got " + resolution);
+    }
+    this.strategy = strategy;
+    this.minRate = minRate;
+    this.maxRate = maxRate;
+    this.step = step;
+    this.resolution = resolution;
+    // only try whole rates when the bounds are, simulations often read the rate as an integer
+    this.integral = isIntegral(minRate) && isIntegral(maxRate) && isIntegral(step);
+  }
+
+  /**
+   * @return the highest rate the probe sustains, null if it doesn't even sustain the minimum rate
+   */
+  Double run(Probe probe) throws Exception {
+    return strategy == Strategy.STEP ? step(probe) : binary(probe);
+  }
+
+  private Double step(Probe probe) throws Exception {
+    Double highest = null;
+    for (int i = 0; ; i++) {
+      // computed from the index so that errors don't accumulate
+      double rate = minRate + i * step;
+      if (rate > maxRate || !probe.sustains(rate)) {
+        return highest;
+      }
+      highest = rate;
+    }
+  }
+
+  private Double binary(Probe probe) throws Exception {
+    if (!probe.sustains(minRate)) {
+      return null;
+    }
+    if (maxRate == minRate || probe.sustains(maxRate)) {
+      return maxRate;
+    }
+    double low = minRate;
+    double high = maxRate;
+    while (high - low > Math.max(resolution * high, integral ? 1 : 0)) {
+      double rate = integral ? Math.floor((low + high) / 2) : (low + high) / 2;
+      if (probe.sustains(rate)) {
+        low = rate;
+      } else {
+        high = rate;
+      }
+    }
+    return low;
+  }
+
+  static String format(double rate) {
+    return isIntegral(rate) ? Long.toString((long) rate) : Double.toString(rate);
+  }
+
+  private static boolean isIntegral(double value) {
+    return value == Math.rint(value);
+  }
+}
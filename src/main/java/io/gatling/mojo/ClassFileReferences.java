@@ -0,0 +1,127 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Extracts the classes referenced by a class file from its constant pool: class constants plus
+ * every type mentioned in field and method descriptors, generic signatures and annotations.
+ */
+final class ClassFileReferences {
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private ClassFileReferences() {}
+
+  /**
+   * @return the internal names (e.g. {@code java/lang/String}) of the referenced classes
+   */
+  static Set<String> read(InputStream is) throws IOException {
+    DataInputStream in = new DataInputStream(is);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a class file");
+    }
+    in.readUnsignedShort(); // minor version
+    in.readUnsignedShort(); // major version
+
+    int count = in.readUnsignedShort();
+    String[] utf8 = new String[count];
+    int[] classNameIndexes = new int[count];
+    int classes = 0;
+
+    for (int i = 1; i < count; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1: // Utf8
+          utf8[i] = in.readUTF();
+          break;
+        case 7: // Class
+          classNameIndexes[classes++] = in.readUnsignedShort();
+          break;
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          in.readUnsignedShort();
+          break;
+        case 15: // MethodHandle
+          in.readUnsignedByte();
+          in.readUnsignedShort();
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          in.readInt();
+          break;
+        case 5: // Long
+        case 6: // Double
+          in.readLong();
+          i++; // 8 bytes constants take two slots
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+      }
+    }
+
+    Set<String> references = new HashSet<>();
+    for (int i = 0; i < classes; i++) {
+      String name = utf8[classNameIndexes[i]];
+      if (name.startsWith("[")) {
+        addDescriptorTypes(name, references);
+      } else {
+        references.add(name);
+      }
+    }
+    for (String value : utf8) {
+      if (value != null) {
+        addDescriptorTypes(value, references);
+      }
+    }
+    return references;
+  }
+
+  /** Collects the {@code Lpkg/Name;} types of a descriptor or signature, ignoring other strings. */
+  private static void addDescriptorTypes(String value, Set<String> references) {
+    int start = value.indexOf('L');
+    while (start >= 0) {
+      int end = start + 1;
+      while (end < value.length() && isInternalNameChar(value.charAt(end))) {
+        end++;
+      }
+      if (end < value.length()
+          && end > start + 1
+          && (value.charAt(end) == ';' || value.charAt(end) == '<')) {
+        references.add(value.substring(start + 1, end));
+      }
+      start = value.indexOf('L', end);
+    }
+  }
+
+  private static boolean isInternalNameChar(char c) {
+    return c != ';' && c != '<' && c != '>' && c != '(' && c != ')' && c != '.' && c != '[';
+  }
+}
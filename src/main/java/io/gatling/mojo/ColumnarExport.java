@@ -0,0 +1,386 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Exports the requests of a run from simulation.log to a column-chunked binary file, which offline
+ * analysis can scan without parsing text, e.g. by mapping it into numpy arrays.
+ *
+ * <p>Layout, big endian: magic {@code GCOL}, version, then the chunks of at most {@link
+ * #CHUNK_ROWS} rows, each one made of the values of every column in order, then the footer, then
+ * the offset of the footer as a long and the magic again. The footer lists the columns (name and
+ * type), the dictionary, the metadata of the run (key and value) and the chunks (offset and row
+ * count), each list starting with its size as an int and each string with its UTF-8 length.
+ *
+ * <p>Column types: {@link #DICTIONARY} ints indexing the dictionary, -1 for none, {@link
+ * #DELTA_TIMESTAMP} the first epoch millis of the chunk as a long followed by an int per row with
+ * the difference to the previous row, {@link #INT32} ints and {@link #INT8} bytes.
+ */
+final class ColumnarExport {
+
+  static final String EXTENSION = ".gcol";
+  static final int CHUNK_ROWS = 65_536;
+
+  static final byte DICTIONARY = 1;
+  static final byte DELTA_TIMESTAMP = 2;
+  static final byte INT32 = 3;
+  static final byte INT8 = 4;
+
+  static final String GROUP = "group";
+  static final String REQUEST = "request";
+  static final String START = "start";
+  static final String RESPONSE_TIME = "responseTime";
+  static final String OK = "ok";
+  static final String MESSAGE = "message";
+
+  private static final int MAGIC = 0x47434F4C;
+  private static final int VERSION = 1;
+  private static final Map<String, Byte> COLUMNS = new LinkedHashMap<>();
+
+  static {
+    COLUMNS.put(GROUP, DICTIONARY);
+    COLUMNS.put(REQUEST, DICTIONARY);
+    COLUMNS.put(START, DELTA_TIMESTAMP);
+    COLUMNS.put(RESPONSE_TIME, INT32);
+    COLUMNS.put(OK, INT8);
+    COLUMNS.put(MESSAGE, DICTIONARY);
+  }
+
+  // RUN, simulation class, simulation id, start epoch millis, description, Gatling version
+  private static final List<String> RUN_FIELDS =
+      List.of("simulation", "id", "start", "description", "version");
+
+  private ColumnarExport() {}
+
+  /**
+   * @return the number of exported requests, -1 if simulation.log isn't written as text
+   */
+  static long export(Path simulationLog, Path file) throws IOException {
+    // a binary file isn't even valid UTF-8
+    if (!SimulationLogTail.isText(simulationLog)) {
+      return -1;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(simulationLog, StandardCharsets.UTF_8)) {
+      String header = reader.readLine();
+      try (Writer writer = new Writer(file)) {
+        String[] runFields = header.split("\t");
+        for (int i = 1; i < runFields.length && i <= RUN_FIELDS.size(); i++) {
+          writer.metadata.put(RUN_FIELDS.get(i - 1), runFields[i]);
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+          writer.add(line.split("\t"));
+        }
+        return writer.finish();
+      }
+    }
+  }
+
+  private static final class Writer implements AutoCloseable {
+    private final Output output;
+    private final Map<String, Integer> dictionary = new LinkedHashMap<>();
+    private final Map<String, String> metadata = new LinkedHashMap<>();
+    private final List<long[]> chunks = new ArrayList<>();
+    private final int[] groups = new int[CHUNK_ROWS];
+    private final int[] requests = new int[CHUNK_ROWS];
+    private final long[] starts = new long[CHUNK_ROWS];
+    private final int[] responseTimes = new int[CHUNK_ROWS];
+    private final byte[] oks = new byte[CHUNK_ROWS];
+    private final int[] messages = new int[CHUNK_ROWS];
+    private int rows;
+    private long total;
+
+    Writer(Path file) throws IOException {
+      output = new Output(file);
+      output.putInt(MAGIC);
+      output.putInt(VERSION);
+    }
+
+    /** REQUEST, [user id,] group, name, start, end, OK|KO, message */
+    void add(String[] fields) throws IOException {
+      int start = SimulationLogTail.requestStart(fields);
+      if (start < 0) {
+        return;
+      }
+      long startMillis = Long.parseLong(fields[start]);
+      groups[rows] = start >= 3 ? encode(fields[start - 2]) : -1;
+      requests[rows] = encode(fields[start - 1]);
+      starts[rows] = startMillis;
+      responseTimes[rows] = Math.toIntExact(Long.parseLong(fields[start + 1]) - startMillis);
+      oks[rows] = (byte) (fields[start + 2].equals("OK") ? 1 : 0);
+      messages[rows] = start + 3 < fields.length ? encode(fields[start + 3]) : -1;
+      if (++rows == CHUNK_ROWS) {
+        flushChunk();
+      }
+    }
+
+    private int encode(String value) {
+      String trimmed = value.trim();
+      if (trimmed.isEmpty()) {
+        return -1;
+      }
+      Integer index = dictionary.get(trimmed);
+      if (index == null) {
+        index = dictionary.size();
+        dictionary.put(trimmed, index);
+      }
+      return index;
+    }
+
+    private void flushChunk() throws IOException {
+      if (rows == 0) {
+        return;
+      }
+      chunks.add(new long[] {output.position, rows});
+      output.putInts(groups, rows);
+      output.putInts(requests, rows);
+      output.putLong(starts[0]);
+      int[] deltas = new int[rows];
+      for (int i = 1; i < rows; i++) {
+        deltas[i] = Math.toIntExact(starts[i] - starts[i - 1]);
+      }
+      output.putInts(deltas, rows);
+      output.putInts(responseTimes, rows);
+      output.putBytes(oks, rows);
+      output.putInts(messages, rows);
+      total += rows;
+      rows = 0;
+    }
+
+    long finish() throws IOException {
+      flushChunk();
+      long footer = output.position;
+      output.putInt(COLUMNS.size());
+      for (Map.Entry<String, Byte> column : COLUMNS.entrySet()) {
+        output.putString(column.getKey());
+        output.putBytes(new byte[] {column.getValue()}, 1);
+      }
+      output.putInt(dictionary.size());
+      for (String value : dictionary.keySet()) {
+        output.putString(value);
+      }
+      output.putInt(metadata.size());
+      for (Map.Entry<String, String> entry : metadata.entrySet()) {
+        output.putString(entry.getKey());
+        output.putString(entry.getValue());
+      }
+      output.putInt(chunks.size());
+      for (long[] chunk : chunks) {
+        output.putLong(chunk[0]);
+        output.putInt((int) chunk[1]);
+      }
+      output.putLong(footer);
+      output.putInt(MAGIC);
+      return total;
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.close();
+    }
+  }
+
+  /** Buffers the writes to the channel, in chunks large enough for a whole column. */
+  private static final class Output implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+    private long position;
+
+    Output(Path file) throws IOException {
+      channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE);
+    }
+
+    private void reserve(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+        flush();
+      }
+      position += bytes;
+    }
+
+    void putInt(int value) throws IOException {
+      reserve(Integer.BYTES);
+      buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+      reserve(Long.BYTES);
+      buffer.putLong(value);
+    }
+
+    void putInts(int[] values, int length) throws IOException {
+      reserve(length * Integer.BYTES);
+      buffer.asIntBuffer().put(values, 0, length);
+      buffer.position(buffer.position() + length * Integer.BYTES);
+    }
+
+    void putBytes(byte[] values, int length) throws IOException {
+      if (length > buffer.capacity()) {
+        flush();
+        position += length;
+        write(ByteBuffer.wrap(values, 0, length));
+        return;
+      }
+      reserve(length);
+      buffer.put(values, 0, length);
+    }
+
+    void putString(String value) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      putInt(bytes.length);
+      putBytes(bytes, bytes.length);
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      write(buffer);
+      buffer.clear();
+    }
+
+    private void write(ByteBuffer bytes) throws IOException {
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+
+  /** A whole export read back into memory, a reference for the readers of the format. */
+  static final class Table {
+    final Map<String, String> metadata = new LinkedHashMap<>();
+    final List<String> dictionary = new ArrayList<>();
+    final int rows;
+    final int[] groups;
+    final int[] requests;
+    final long[] starts;
+    final int[] responseTimes;
+    final byte[] oks;
+    final int[] messages;
+
+    private Table(int rows) {
+      this.rows = rows;
+      groups = new int[rows];
+      requests = new int[rows];
+      starts = new long[rows];
+      responseTimes = new int[rows];
+      oks = new byte[rows];
+      messages = new int[rows];
+    }
+
+    /**
+     * @return the value of a dictionary column, null for none
+     */
+    String decode(int index) {
+      return index < 0 ? null : dictionary.get(index);
+    }
+  }
+
+  static Table read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(file + " is too large to be read at once");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      int end = buffer.limit();
+      if (buffer.getInt(0) != MAGIC
+          || buffer.getInt(Integer.BYTES) != VERSION
+          || buffer.getInt(end - Integer.BYTES) != MAGIC) {
+        throw new IOException(file + " isn't a version " + VERSION + " columnar export");
+      }
+      buffer.position((int) buffer.getLong(end - Integer.BYTES - Long.BYTES));
+      Map<String, Byte> columns = new LinkedHashMap<>();
+      for (int i = buffer.getInt(); i > 0; i--) {
+        columns.put(getString(buffer), buffer.get());
+      }
+      if (!columns.equals(COLUMNS)) {
+        throw new IOException(file + " has unexpected columns " + columns.keySet());
+      }
+      List<String> dictionary = new ArrayList<>();
+      for (int i = buffer.getInt(); i > 0; i--) {
+        dictionary.add(getString(buffer));
+      }
+      Map<String, String> metadata = new LinkedHashMap<>();
+      for (int i = buffer.getInt(); i > 0; i--) {
+        metadata.put(getString(buffer), getString(buffer));
+      }
+      int chunkCount = buffer.getInt();
+      long[] offsets = new long[chunkCount];
+      int[] chunkRows = new int[chunkCount];
+      int rows = 0;
+      for (int i = 0; i < chunkCount; i++) {
+        offsets[i] = buffer.getLong();
+        chunkRows[i] = buffer.getInt();
+        rows += chunkRows[i];
+      }
+
+      Table table = new Table(rows);
+      table.dictionary.addAll(dictionary);
+      table.metadata.putAll(metadata);
+      int row = 0;
+      for (int i = 0; i < chunkCount; i++) {
+        int length = chunkRows[i];
+        buffer.position((int) offsets[i]);
+        getInts(buffer, table.groups, row, length);
+        getInts(buffer, table.requests, row, length);
+        long start = buffer.getLong();
+        for (int j = row; j < row + length; j++) {
+          start += buffer.getInt();
+          table.starts[j] = start;
+        }
+        getInts(buffer, table.responseTimes, row, length);
+        buffer.get(table.oks, row, length);
+        getInts(buffer, table.messages, row, length);
+        row += length;
+      }
+      return table;
+    }
+  }
+
+  private static void getInts(ByteBuffer buffer, int[] values, int offset, int length) {
+    buffer.asIntBuffer().get(values, offset, length);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,110 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The lines of the summary Gatling prints to the console every few seconds while running, whose
+ * counts are totals since the start of the run. Gatling versions before 3.11 print:
+ *
+ * <pre>
+ * ---- Requests ------------------------------------------------------------------
+ * &gt; Global                                                   (OK=130    KO=3     )
+ * &gt; home                                                     (OK=65     KO=3     )
+ * ---- Errors --------------------------------------------------------------------
+ * &gt; j.n.ConnectException: Connection refused                           3 (100.0%)
+ *
+ * ---- Browse --------------------------------------------------------------------
+ *           waiting: 0      / active: 7      / done: 10
+ * </pre>
+ *
+ * <p>Later versions print the requests as a table, whose first column is the total:
+ *
+ * <pre>
+ * ---- Requests --------------------------------------|---Total---|-----OK----|----KO----
+ * &gt; Global                                            |       133 |       130 |         3
+ * &gt; home                                              |        68 |        65 |         3
+ * ---- Errors ----------------------------------------------------------------------------
+ * &gt; j.n.ConnectException: Connection refused                                    3   (100%)
+ *
+ * ---- Browse ----------------------------------------------------------------------------
+ *           waiting:         0 / active:         7  / done:        10
+ * </pre>
+ */
+final class ConsoleSummary {
+
+  static final String REQUESTS_SECTION = "Requests";
+  static final String ERRORS_SECTION = "Errors";
+  static final String GLOBAL = "Global";
+
+  /** Printed by Gatling once the simulation ends, before it generates the reports. */
+  static final String GENERATING_REPORTS = "Generating reports";
+
+  // followed by the headers of the columns in the table layout
+  static final Pattern SECTION = Pattern.compile("^---- (.+?) -+(?:\\|.*)?$");
+  static final Pattern ERROR = Pattern.compile("^> (.+?)\\s+(\\d+)\\s+\\(\\s*[\\d.,]+%\\)$");
+  static final Pattern USERS = Pattern.compile("(waiting|active|done): *(\\d+)");
+
+  private static final Pattern REQUEST =
+      Pattern.compile("^> (.+?)\\s+\\(OK=(\\d+)\\s+KO=(\\d+)\\s*\\)$");
+  private static final Pattern REQUEST_ROW =
+      Pattern.compile("^> (.+?)\\s+\\|\\s*(\\d+) \\|\\s*(\\d+) \\|\\s*(\\d+)$");
+
+  /** A line of the Requests section. */
+  static final class Request {
+    final String name;
+    final long ok;
+    final long ko;
+
+    private Request(String name, long ok, long ko) {
+      this.name = name;
+      this.ok = ok;
+      this.ko = ko;
+    }
+  }
+
+  private ConsoleSummary() {}
+
+  /**
+   * @param line a line of the Requests section
+   * @return its request, null if it's not one or if its layout is unknown, see {@link
+   *     #unknownLayout(String)}
+   */
+  static Request request(String line) {
+    Matcher matcher = REQUEST.matcher(line);
+    if (matcher.matches()) {
+      return new Request(
+          matcher.group(1), Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3)));
+    }
+    matcher = REQUEST_ROW.matcher(line);
+    if (matcher.matches()) {
+      return new Request(
+          matcher.group(1), Long.parseLong(matcher.group(3)), Long.parseLong(matcher.group(4)));
+    }
+    return null;
+  }
+
+  /**
+   * @param line a line of the Requests section
+   * @return true if it's a request that a Gatling version unknown to this parser printed
+   */
+  static boolean unknownLayout(String line) {
+    return line.startsWith("> ") && request(line) == null;
+  }
+}
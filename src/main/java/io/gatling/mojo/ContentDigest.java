@@ -0,0 +1,104 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Incremental SHA-256 of strings, files and directory trees, used to detect unchanged inputs. */
+final class ContentDigest {
+
+  private final MessageDigest digest;
+  private final byte[] buffer = new byte[64 * 1024];
+
+  ContentDigest() {
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every JVM is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  static String of(File file) throws IOException {
+    return new ContentDigest().add(file.toPath()).hex();
+  }
+
+  ContentDigest add(String value) {
+    byte[] bytes = (value != null ? value : "\0null").getBytes(StandardCharsets.UTF_8);
+    addLength(bytes.length);
+    digest.update(bytes);
+    return this;
+  }
+
+  ContentDigest add(Path file) throws IOException {
+    addLength(Files.size(file));
+    try (InputStream is = Files.newInputStream(file)) {
+      for (int read = is.read(buffer); read >= 0; read = is.read(buffer)) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return this;
+  }
+
+  /** Adds the relative paths and contents of all the files under a directory, in a stable order. */
+  ContentDigest addDirectory(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return add("\0missing directory");
+    }
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(directory)) {
+      files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      add(directory.relativize(file).toString().replace(File.separatorChar, '/'));
+      add(file);
+    }
+    return this;
+  }
+
+  /** Adds the name, size and modification time of a file, cheaper than its content. */
+  ContentDigest addMetadata(File file) {
+    if (file == null) {
+      return add((String) null);
+    }
+    return add(file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified());
+  }
+
+  String hex() {
+    StringBuilder sb = new StringBuilder(64);
+    for (byte b : digest.digest()) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return sb.toString();
+  }
+
+  private void addLength(long length) {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      digest.update((byte) (length >>> shift));
+    }
+  }
+}
@@ -0,0 +1,53 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+
+/**
+ * Watches the output of a forked process line by line while passing it on, unchanged, to another
+ * logger, so that several watchers can be chained in front of the one writing to the console.
+ */
+abstract class DecoratingLogger implements PluginLogger {
+
+  private final PluginLogger delegate;
+
+  DecoratingLogger(PluginLogger delegate) {
+    this.delegate = delegate;
+  }
+
+  /** Called with every line, whatever its level, before it's passed on. */
+  abstract void onOutput(String line);
+
+  @Override
+  public final void debug(String message) {
+    onOutput(message);
+    delegate.debug(message);
+  }
+
+  @Override
+  public final void info(String message) {
+    onOutput(message);
+    delegate.info(message);
+  }
+
+  @Override
+  public final void error(String message) {
+    onOutput(message);
+    delegate.error(message);
+  }
+}
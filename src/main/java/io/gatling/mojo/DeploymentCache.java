@@ -0,0 +1,63 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Remembers the deployments made to Gatling Enterprise, keyed by the content of what was deployed,
+ * so that an unchanged package isn't deployed again.
+ *
+ * <p>Deployments are kept for the whole Maven session, which spans all the reactor modules, but not
+ * between builds, as the package may have been replaced on Gatling Enterprise in the meantime, e.g.
+ * by another machine.
+ *
+ * @param <T> the deployment
+ */
+final class DeploymentCache<T> {
+
+  private static final String SESSION_DATA_KEY = DeploymentCache.class.getName();
+
+  private final Map<String, T> sessionDeployments;
+
+  @SuppressWarnings("unchecked")
+  DeploymentCache(MavenSession session) {
+    this(
+        (Map<String, T>)
+            session
+                .getRepositorySession()
+                .getData()
+                .computeIfAbsent(SESSION_DATA_KEY, ConcurrentHashMap::new));
+  }
+
+  DeploymentCache(Map<String, T> sessionDeployments) {
+    this.sessionDeployments = sessionDeployments;
+  }
+
+  /**
+   * @return the deployment made during this build, or null
+   */
+  T get(String key) {
+    return sessionDeployments.get(key);
+  }
+
+  void put(String key, T deployment) {
+    sessionDeployments.put(key, deployment);
+  }
+}
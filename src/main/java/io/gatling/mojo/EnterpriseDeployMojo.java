@@ -22,6 +22,7 @@ import io.gatling.plugin.deployment.DeploymentConfiguration;
 import io.gatling.plugin.exceptions.EnterprisePluginException;
 import io.gatling.plugin.model.DeploymentInfo;
 import java.io.File;
+import java.io.IOException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -29,7 +30,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 @Execute(goal = "enterprisePackage")
-@Mojo(name = "enterpriseDeploy", requiresDependencyResolution = ResolutionScope.TEST)
+@Mojo(
+    name = "enterpriseDeploy",
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
 public final class EnterpriseDeployMojo extends AbstractEnterprisePluginMojo {
   public static final String CONTEXT_ENTERPRISE_DEPLOY_INFO = "enterprise_deploy_info";
 
@@ -39,13 +43,36 @@ public final class EnterpriseDeployMojo extends AbstractEnterprisePluginMojo {
   @Parameter(property = ConfigurationConstants.DeployOptions.PackageDescriptorFilename.SYS_PROP)
   private String customPackageFilename;
 
+  /**
+   * Skip the deployment when a package with the same content, deployment descriptor and artifactId
+   * was already deployed during this build, e.g. by a previous goal.
+   */
+  @Parameter(property = "gatling.enterprise.reuseDeployment", defaultValue = "false")
+  private boolean reuseDeployment;
+
   @Override
-  public void execute() throws MojoFailureException {
+  protected void executeGoal() throws MojoFailureException {
     final File packageFile = enterprisePackage();
     final File deploymentFile = getDeploymentFile();
     final Boolean isPrivateRepositoryEnabled = controlPlaneUrl != null;
+
+    final DeploymentCache<DeploymentInfo> cache =
+        reuseDeployment ? new DeploymentCache<>(session) : null;
+    final String cacheKey;
+    try (BuildTrace.Span span = buildTrace.span("up-to-date check")) {
+      cacheKey = cache != null ? deploymentCacheKey(packageFile, deploymentFile) : null;
+    }
+    if (cache != null) {
+      DeploymentInfo cached = cache.get(cacheKey);
+      if (cached != null) {
+        getLog().info("Package unchanged since its last deployment, skipping deployment");
+        getPluginContext().put(CONTEXT_ENTERPRISE_DEPLOY_INFO, cached);
+        return;
+      }
+    }
+
     final BatchEnterprisePlugin plugin = initBatchEnterprisePlugin();
-    try {
+    try (BuildTrace.Span span = buildTrace.span("upload and deployment")) {
       DeploymentInfo deploymentInfo =
           (validateSimulationId == null)
               ? plugin.deployFromDescriptor(
@@ -61,11 +88,34 @@ public final class EnterpriseDeployMojo extends AbstractEnterprisePluginMojo {
                   validateSimulationId);
 
       getPluginContext().put(CONTEXT_ENTERPRISE_DEPLOY_INFO, deploymentInfo);
+      if (cache != null) {
+        cache.put(cacheKey, deploymentInfo);
+      }
     } catch (EnterprisePluginException e) {
       throw new MojoFailureException(e.getMessage(), e);
     }
   }
 
+  private String deploymentCacheKey(File packageFile, File deploymentFile)
+      throws MojoFailureException {
+    try {
+      final ContentDigest digest =
+          new ContentDigest()
+              .add(enterpriseApiUrl.toString())
+              .add(controlPlaneUrl != null ? controlPlaneUrl.toString() : null)
+              .add(mavenProject.getGroupId())
+              .add(mavenProject.getArtifactId())
+              .add(validateSimulationId)
+              .add(packageFile.toPath());
+      if (deploymentFile != null && deploymentFile.isFile()) {
+        digest.add(deploymentFile.toPath());
+      }
+      return digest.hex();
+    } catch (IOException e) {
+      throw new MojoFailureException("Failed to read package " + packageFile, e);
+    }
+  }
+
   private File getDeploymentFile() {
     File baseDir = mavenProject.getBasedir();
     if (customPackageFilename == null) {
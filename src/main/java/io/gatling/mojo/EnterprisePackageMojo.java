@@ -23,6 +23,10 @@ import io.gatling.plugin.pkg.Dependency;
 import io.gatling.plugin.pkg.EnterprisePackager;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
@@ -37,43 +41,125 @@ import org.apache.maven.project.MavenProjectHelper;
 @Mojo(
     name = "enterprisePackage",
     defaultPhase = LifecyclePhase.PACKAGE,
-    requiresDependencyResolution = ResolutionScope.TEST)
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
 public class EnterprisePackageMojo extends AbstractEnterpriseMojo {
   private static final String MAVEN_PACKAGER_NAME = "maven";
   private static final Set<String> GATLING_GROUP_IDS =
       Set.of(GATLING_GROUP_ID, GATLING_HIGHCHARTS_GROUP_ID);
+  private static final Comparator<Artifact> ARTIFACT_ORDER = Comparator.comparing(Artifact::getId);
+
+  /**
+   * Timestamp used for the entries of the package when building reproducibly, either an ISO-8601
+   * date or a number of seconds since the epoch. Setting it enables reproducible packaging.
+   */
+  @Parameter(defaultValue = "${project.build.outputTimestamp}")
+  private String outputTimestamp;
+
+  /**
+   * Produce a byte-identical package for identical inputs: entries are sorted, their timestamps are
+   * fixed (to outputTimestamp if configured) and the manifest is written in a stable order. Always
+   * enabled when outputTimestamp is set.
+   */
+  @Parameter(property = "gatling.enterprise.reproducible", defaultValue = "false")
+  private boolean reproducible;
+
+  /**
+   * Report, for each dependency added to the package, its size and how many of its classes are
+   * reachable from the simulations found in the test classes directory.
+   */
+  @Parameter(property = "gatling.enterprise.analyzePackage", defaultValue = "false")
+  private boolean analyzePackage;
+
+  /**
+   * Leave out of the package the dependencies none of whose classes are reachable from the
+   * simulations. Implies analyzePackage. Use keepDependencies and keepClasses for code that is only
+   * loaded by reflection.
+   */
+  @Parameter(property = "gatling.enterprise.pruneUnreachableDependencies", defaultValue = "false")
+  private boolean pruneUnreachableDependencies;
+
+  /**
+   * Dependencies, as groupId:artifactId where both parts can be '*', never pruned from the package.
+   */
+  @Parameter(property = "gatling.enterprise.keepDependencies")
+  private List<String> keepDependencies;
+
+  /**
+   * Classes, or packages when ending with '.', considered reachable when analyzing the package,
+   * e.g. classes only loaded by reflection.
+   */
+  @Parameter(property = "gatling.enterprise.keepClasses")
+  private List<String> keepClasses;
+
+  /**
+   * Don't rebuild the package when none of its inputs (classes, resources, dependencies and
+   * packaging options) changed since it was last built.
+   */
+  @Parameter(property = "gatling.enterprise.skipUnchangedPackage", defaultValue = "true")
+  private boolean skipUnchangedPackage;
 
   private final PluginLogger pluginLogger = newPluginLogger();
   @Inject private MavenProjectHelper projectHelper;
 
   @Override
-  public void execute() throws MojoExecutionException {
+  protected void executeGoal() throws MojoExecutionException {
     Set<Artifact> allArtifacts = getAllArtifacts();
     pluginLogger.debug("allArtifacts=" + allArtifacts);
 
+    List<File> classDirectories =
+        List.of(
+            new File(mavenProject.getBuild().getOutputDirectory()),
+            new File(mavenProject.getBuild().getTestOutputDirectory()));
+
+    File enterprisePackage = enterprisePackage();
+    Path inputsFile =
+        enterprisePackage.toPath().resolveSibling(enterprisePackage.getName() + ".inputs");
+    String inputsDigest;
+    try (BuildTrace.Span span = buildTrace.span("up-to-date check")) {
+      inputsDigest = skipUnchangedPackage ? inputsDigest(allArtifacts, classDirectories) : null;
+    }
+    if (inputsDigest != null
+        && enterprisePackage.isFile()
+        && inputsDigest.equals(readQuietly(inputsFile))) {
+      getLog().info("Enterprise package is up to date, skipping packaging");
+      projectHelper.attachArtifact(mavenProject, "jar", SHADED_CLASSIFIER, enterprisePackage);
+      return;
+    }
+
     List<Artifact> gatlingArtifacts =
         allArtifacts.stream()
             .filter(artifact -> GATLING_GROUP_IDS.contains(artifact.getGroupId()))
+            .sorted(ARTIFACT_ORDER)
             .collect(Collectors.toList());
     pluginLogger.debug("gatlingArtifacts=" + gatlingArtifacts);
 
     Set<Dependency> gatlingDependencies =
         gatlingArtifacts.stream()
             .map(EnterprisePackageMojo::artifactToDependency)
-            .collect(Collectors.toSet());
+            .collect(Collectors.toCollection(LinkedHashSet::new));
     pluginLogger.debug("gatlingDependencies=" + gatlingDependencies);
 
-    Set<Dependency> extraDependencies = getExtraDependencies(allArtifacts, gatlingArtifacts);
-    pluginLogger.debug("extraDependencies=" + extraDependencies);
+    List<Artifact> extraArtifacts;
+    try (BuildTrace.Span span = buildTrace.span("dependency resolution")) {
+      extraArtifacts = getExtraArtifacts(allArtifacts, gatlingArtifacts);
+    }
+    if (analyzePackage || pruneUnreachableDependencies) {
+      try (BuildTrace.Span span = buildTrace.span("dependency analysis")) {
+        extraArtifacts = analyzeExtraArtifacts(classDirectories, extraArtifacts);
+      }
+    }
 
-    List<File> classDirectories =
-        List.of(
-            new File(mavenProject.getBuild().getOutputDirectory()),
-            new File(mavenProject.getBuild().getTestOutputDirectory()));
+    Set<Dependency> extraDependencies =
+        extraArtifacts.stream()
+            .map(EnterprisePackageMojo::artifactToDependency)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    pluginLogger.debug("extraDependencies=" + extraDependencies);
 
-    File enterprisePackage = enterprisePackage();
+    Instant entriesTimestamp = reproducibleTimestamp();
 
-    try {
+    try (BuildTrace.Span span = buildTrace.span("packaging")) {
+      Files.deleteIfExists(inputsFile);
       new EnterprisePackager(pluginLogger)
           .createEnterprisePackage(
               classDirectories,
@@ -87,6 +173,12 @@ public class EnterprisePackageMojo extends AbstractEnterpriseMojo {
               getClass().getPackage().getImplementationVersion(),
               enterprisePackage,
               mavenProject.getBasedir());
+      if (entriesTimestamp != null) {
+        ReproducibleJar.normalize(enterprisePackage, entriesTimestamp);
+      }
+      if (inputsDigest != null) {
+        Files.writeString(inputsFile, inputsDigest);
+      }
     } catch (IOException e) {
       throw new MojoExecutionException("Failed to generate Enterprise package", e);
     }
@@ -95,7 +187,7 @@ public class EnterprisePackageMojo extends AbstractEnterpriseMojo {
     projectHelper.attachArtifact(mavenProject, "jar", SHADED_CLASSIFIER, enterprisePackage);
   }
 
-  private Set<Dependency> getExtraDependencies(
+  private List<Artifact> getExtraArtifacts(
       Set<Artifact> allDeps, List<Artifact> gatlingArtifacts) {
     Set<Artifact> gatlingAndTransitiveDependencies =
         gatlingAndTransitiveDependencies(gatlingArtifacts);
@@ -103,14 +195,110 @@ public class EnterprisePackageMojo extends AbstractEnterpriseMojo {
 
     return allDeps.stream()
         .filter(artifact -> MojoUtils.artifactNotIn(artifact, gatlingAndTransitiveDependencies))
-        .map(EnterprisePackageMojo::artifactToDependency)
-        .collect(Collectors.toSet());
+        .collect(Collectors.toList());
+  }
+
+  private List<Artifact> analyzeExtraArtifacts(
+      List<File> classDirectories, List<Artifact> extraArtifacts) throws MojoExecutionException {
+    List<PackageAnalyzer.DependencyReport> reports;
+    try (PackageAnalyzer analyzer = new PackageAnalyzer(classDirectories, extraArtifacts)) {
+      reports =
+          analyzer.analyze(
+              new File(mavenProject.getBuild().getTestOutputDirectory()),
+              keepClasses != null ? keepClasses : List.of());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to analyze Enterprise package dependencies", e);
+    }
+
+    Set<Artifact> pruned = new HashSet<>();
+    long totalSize = 0;
+    long prunedSize = 0;
+    getLog().info("Enterprise package dependencies (size, reachable classes / classes):");
+    for (PackageAnalyzer.DependencyReport report : reports) {
+      boolean prune =
+          pruneUnreachableDependencies
+              && !report.isReachable()
+              && MojoUtils.matchingNone(report.artifact, keepDependencies);
+      totalSize += report.size;
+      if (prune) {
+        pruned.add(report.artifact);
+        prunedSize += report.size;
+      }
+      getLog()
+          .info(
+              String.format(
+                  "  %10s  %6d / %-6d %s%s",
+                  MojoUtils.humanReadableSize(report.size),
+                  report.reachableClasses,
+                  report.classes,
+                  report.artifact.getId(),
+                  prune ? " (pruned)" : report.isReachable() ? "" : " (unreachable)"));
+    }
+    getLog()
+        .info(
+            "Total dependencies size: "
+                + MojoUtils.humanReadableSize(totalSize)
+                + (pruneUnreachableDependencies
+                    ? ", pruned: " + MojoUtils.humanReadableSize(prunedSize)
+                    : ""));
+
+    return extraArtifacts.stream()
+        .filter(artifact -> !pruned.contains(artifact))
+        .collect(Collectors.toList());
   }
 
   private Set<Artifact> getAllArtifacts() {
     return mavenProject.getArtifacts().stream()
         .filter(artifact -> !artifact.getType().equals("pom"))
-        .collect(Collectors.toSet());
+        .sorted(ARTIFACT_ORDER)
+        .collect(Collectors.toCollection(LinkedHashSet::new));
+  }
+
+  private String inputsDigest(Set<Artifact> allArtifacts, List<File> classDirectories)
+      throws MojoExecutionException {
+    try {
+      ContentDigest digest =
+          new ContentDigest()
+              .add(getClass().getPackage().getImplementationVersion())
+              .add(mavenProject.getId())
+              .add(String.valueOf(reproducible))
+              .add(outputTimestamp)
+              .add(analyzePackage + ":" + pruneUnreachableDependencies)
+              .add(String.valueOf(keepDependencies))
+              .add(String.valueOf(keepClasses));
+      for (Artifact artifact : allArtifacts) {
+        digest.add(artifact.getId()).addMetadata(artifact.getFile());
+      }
+      for (File classDirectory : classDirectories) {
+        digest.addDirectory(classDirectory.toPath());
+      }
+      // package descriptor
+      digest.addDirectory(mavenProject.getBasedir().toPath().resolve(".gatling"));
+      return digest.hex();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Failed to compute Enterprise package inputs", e);
+    }
+  }
+
+  private static String readQuietly(Path file) {
+    try {
+      return Files.readString(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private Instant reproducibleTimestamp() throws MojoExecutionException {
+    Instant configured;
+    try {
+      configured = ReproducibleJar.parseOutputTimestamp(outputTimestamp);
+    } catch (IllegalArgumentException e) {
+      throw new MojoExecutionException(e.getMessage(), e);
+    }
+    if (configured != null) {
+      return configured;
+    }
+    return reproducible ? ReproducibleJar.DEFAULT_OUTPUT_TIMESTAMP : null;
   }
 
   private Set<Artifact> gatlingAndTransitiveDependencies(List<Artifact> artifacts) {
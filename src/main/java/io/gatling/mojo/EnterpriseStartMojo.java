@@ -25,7 +25,15 @@ import io.gatling.plugin.model.RunSummary;
 import io.gatling.plugin.model.SimulationEndResult;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import io.gatling.plugin.util.WebAppUrlRenderer;
 import org.apache.maven.plugin.MojoFailureException;
@@ -41,18 +49,34 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
  *   <li>By default, this goal will prompt you to choose to run a deployed simulation
  *   <li>If a simulation name is passed as property, this goal will automatically start that
  *       simulation.
+ *   <li>If several simulation names are passed, this goal starts them all concurrently on the same
+ *       deployment and, when waiting for their end, reports one aggregated result.
  *   <li>If Maven is run in batch mode, any interactive prompts will be disabled and the goal will
  *       fail if user input is required (see Maven's batch mode here:
  *       https://maven.apache.org/ref/3-LATEST/maven-embedder/cli.html#batch-mode).
  * </ul>
  */
 @Execute(goal = "enterpriseDeploy")
-@Mojo(name = "enterpriseStart", requiresDependencyResolution = ResolutionScope.TEST)
+@Mojo(
+    name = "enterpriseStart",
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
 public final class EnterpriseStartMojo extends AbstractEnterprisePluginMojo {
 
   @Parameter(property = ConfigurationConstants.StartOptions.SimulationName.SYS_PROP)
   private String simulationName;
 
+  /**
+   * Names of several simulations to start concurrently, in addition to simulationName. As a
+   * property, the names are separated with commas.
+   */
+  @Parameter(property = "gatling.enterprise.simulationNames")
+  private List<String> simulationNames;
+
+  /** Maximum number of simulations started and waited for at the same time. */
+  @Parameter(property = "gatling.enterprise.maxConcurrentSimulations", defaultValue = "8")
+  private int maxConcurrentSimulations;
+
   @Parameter(property = ConfigurationConstants.StartOptions.RunTitle.SYS_PROP)
   private String runTitle;
 
@@ -68,27 +92,159 @@ public final class EnterpriseStartMojo extends AbstractEnterprisePluginMojo {
       defaultValue = "false")
   private boolean waitForRunEnd;
 
+  /** The outcome of one of several simulations started concurrently. */
+  private static final class SimulationOutcome {
+    final String simulationName;
+    final URL reportsUrl;
+    final String failure;
+
+    SimulationOutcome(String simulationName, URL reportsUrl, String failure) {
+      this.simulationName = simulationName;
+      this.reportsUrl = reportsUrl;
+      this.failure = failure;
+    }
+  }
+
   @Override
-  public void execute() throws MojoFailureException {
+  protected void executeGoal() throws MojoFailureException {
     final Map context = getPluginContext();
     final DeploymentInfo deploymentInfo =
         (DeploymentInfo) context.get(EnterpriseDeployMojo.CONTEXT_ENTERPRISE_DEPLOY_INFO);
-    final EnterprisePlugin plugin = initEnterprisePlugin(requireBatchMode());
+    final RunComment runComment = new RunComment(runTitle, runDescription);
+
+    final List<String> names = allSimulationNames();
+    if (names.size() > 1) {
+      startConcurrently(names, deploymentInfo, runComment);
+      return;
+    }
 
+    final EnterprisePlugin plugin = initEnterprisePlugin(requireBatchMode());
     try {
-      final RunComment runComment = new RunComment(runTitle, runDescription);
-      final RunSummary runSummary =
-          plugin.startSimulation(simulationName, deploymentInfo, runComment);
+      final RunSummary runSummary;
+      try (BuildTrace.Span span = buildTrace.span("start")) {
+        runSummary =
+            plugin.startSimulation(
+                names.isEmpty() ? null : names.get(0), deploymentInfo, runComment);
+      }
 
       final URL reportsUrl = WebAppUrlRenderer.toWebAppUrl(enterpriseWebAppUrl, runSummary.reportsUrl);
       getLog().info(CommonLogMessage.simulationStartSuccess(reportsUrl));
-      waitForRunEnd(plugin, runSummary);
+      try (BuildTrace.Span span = buildTrace.span("run")) {
+        waitForRunEnd(plugin, runSummary);
+      }
     } catch (EnterprisePluginException e) {
       throw new MojoFailureException(
           "Unhandled Gatling Enterprise plugin exception: " + e.getMessage(), e);
     }
   }
 
+  private List<String> allSimulationNames() {
+    final Set<String> names = new LinkedHashSet<>();
+    if (simulationName != null) {
+      names.add(simulationName.trim());
+    }
+    if (simulationNames != null) {
+      for (String name : simulationNames) {
+        if (!name.isBlank()) {
+          names.add(name.trim());
+        }
+      }
+    }
+    return new ArrayList<>(names);
+  }
+
+  /**
+   * Starts each simulation from a pool of worker threads. The plugin client isn't documented as
+   * thread-safe, so each worker creates its own and reuses it for the simulations it starts.
+   */
+  private void startConcurrently(
+      List<String> names, DeploymentInfo deploymentInfo, RunComment runComment)
+      throws MojoFailureException {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(names.size(), maxConcurrentSimulations)),
+            r -> {
+              Thread thread = new Thread(r, "gatling-enterprise-start");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    final ThreadLocal<EnterprisePlugin> workerPlugins = new ThreadLocal<>();
+    final List<SimulationOutcome> outcomes = new ArrayList<>(names.size());
+    try {
+      final List<Future<SimulationOutcome>> futures = new ArrayList<>(names.size());
+      for (String name : names) {
+        futures.add(
+            executor.submit(() -> startAndWait(workerPlugins, name, deploymentInfo, runComment)));
+      }
+      for (Future<SimulationOutcome> future : futures) {
+        outcomes.add(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoFailureException("Interrupted while waiting for the simulations", e);
+    } catch (ExecutionException e) {
+      throw new MojoFailureException(
+          "Unexpected failure while starting the simulations", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    logSummary(outcomes);
+    final long failures = outcomes.stream().filter(outcome -> outcome.failure != null).count();
+    if (failures > 0) {
+      throw new MojoFailureException(
+          failures + " out of " + outcomes.size() + " simulations failed.");
+    }
+  }
+
+  private SimulationOutcome startAndWait(
+      ThreadLocal<EnterprisePlugin> workerPlugins,
+      String name,
+      DeploymentInfo deploymentInfo,
+      RunComment runComment) {
+    URL reportsUrl = null;
+    try {
+      EnterprisePlugin plugin = workerPlugins.get();
+      if (plugin == null) {
+        // never prompts: the workers would interleave their prompts on the console
+        plugin = initEnterprisePlugin(true);
+        workerPlugins.set(plugin);
+      }
+      final RunSummary runSummary;
+      try (BuildTrace.Span span = buildTrace.span("start " + name)) {
+        runSummary = plugin.startSimulation(name, deploymentInfo, runComment);
+      }
+      reportsUrl = WebAppUrlRenderer.toWebAppUrl(enterpriseWebAppUrl, runSummary.reportsUrl);
+      getLog().info("[" + name + "] " + CommonLogMessage.simulationStartSuccess(reportsUrl));
+      try (BuildTrace.Span span = buildTrace.span("run " + name)) {
+        waitForRunEnd(plugin, runSummary);
+      }
+      return new SimulationOutcome(name, reportsUrl, null);
+    } catch (EnterprisePluginException | MojoFailureException e) {
+      getLog().error("[" + name + "] " + e.getMessage());
+      return new SimulationOutcome(name, reportsUrl, e.getMessage());
+    }
+  }
+
+  private void logSummary(List<SimulationOutcome> outcomes) {
+    final int nameWidth =
+        outcomes.stream().mapToInt(outcome -> outcome.simulationName.length()).max().orElse(0);
+    final String format = "%-" + Math.max(nameWidth, "Simulation".length()) + "s  %-10s  %s";
+    getLog().info(String.format(format, "Simulation", "Result", "Reports"));
+    for (SimulationOutcome outcome : outcomes) {
+      final String result =
+          outcome.failure != null ? "FAILED" : waitForRunEnd ? "SUCCESSFUL" : "STARTED";
+      getLog()
+          .info(
+              String.format(
+                  format,
+                  outcome.simulationName,
+                  result,
+                  outcome.reportsUrl != null ? outcome.reportsUrl : "-"));
+    }
+  }
+
   private void waitForRunEnd(EnterprisePlugin plugin, RunSummary startedRun)
       throws MojoFailureException {
     if (waitForRunEnd) {
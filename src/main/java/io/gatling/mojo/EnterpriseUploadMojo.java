@@ -21,10 +21,10 @@ import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.Mojo;
 
 @Execute(goal = "enterprisePackage")
-@Mojo(name = "enterpriseUpload")
+@Mojo(name = "enterpriseUpload", threadSafe = true)
 public final class EnterpriseUploadMojo extends AbstractEnterprisePluginMojo {
   @Override
-  public void execute() throws MojoFailureException {
+  protected void executeGoal() throws MojoFailureException {
     throw new MojoFailureException(
         "The enterprise upload command is no longer supported. It has been replaced by the enterprise deploy command."
             + " Refer to the documentation for more information: https://docs.gatling.io/reference/integrations/build-tools/maven-plugin/#deploying-on-gatling-enterprise");
@@ -0,0 +1,157 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Mojo to export the requests of runs to a columnar binary format, see {@link ColumnarExport}, for
+ * offline analysis of many runs without parsing their simulation.log again.
+ *
+ * <p>Only runs of Gatling versions before 3.11 can be exported: later versions write a binary
+ * simulation.log, whose format is internal to Gatling. The goal fails when none of the runs could
+ * be exported for this reason.
+ */
+@Mojo(name = "export", threadSafe = true)
+public final class ExportMojo extends AbstractGatlingExecutionMojo {
+
+  /** The folder containing the run directories to export. The results folder when unset. */
+  @Parameter(property = "gatling.export.source")
+  private File source;
+
+  /** Where to write the exports, one file per run directory. */
+  @Parameter(
+      property = "gatling.export.directory",
+      defaultValue = "${project.build.directory}/gatling-export")
+  private File exportDirectory;
+
+  /** The number of runs exported at the same time. The number of processors when 0. */
+  @Parameter(property = "gatling.export.parallelism", defaultValue = "0")
+  private int parallelism;
+
+  @Override
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
+    if (skip) {
+      getLog().info("Skipping gatling-maven-plugin");
+      return;
+    }
+    File sourceFolder = source != null ? source : resultsFolder;
+    File[] runDirectories =
+        sourceFolder.listFiles(directory -> new File(directory, "simulation.log").isFile());
+    if (runDirectories == null || runDirectories.length == 0) {
+      getLog().info("No run to export in " + sourceFolder);
+      return;
+    }
+    Arrays.sort(runDirectories);
+    try {
+      Files.createDirectories(exportDirectory.toPath());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not create " + exportDirectory, e);
+    }
+
+    int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            Math.min(threads, runDirectories.length),
+            r -> {
+              Thread thread = new Thread(r, "gatling-export");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      Map<File, Future<Long>> exports = new LinkedHashMap<>();
+      for (File runDirectory : runDirectories) {
+        if (upToDate(runDirectory)) {
+          getLog().debug("Export of " + runDirectory.getName() + " is up to date");
+        } else {
+          exports.put(runDirectory, pool.submit(() -> export(runDirectory)));
+        }
+      }
+      List<String> failures = new ArrayList<>();
+      int binaryLogs = 0;
+      for (Map.Entry<File, Future<Long>> export : exports.entrySet()) {
+        String run = export.getKey().getName();
+        try {
+          long requests = export.getValue().get();
+          if (requests < 0) {
+            getLog().warn("Skipping " + run + ", its simulation.log isn't written as text");
+            binaryLogs++;
+          } else {
+            getLog().info("Exported " + requests + " requests of " + run);
+          }
+        } catch (ExecutionException e) {
+          getLog().error("Could not export " + run, e.getCause());
+          failures.add(run);
+        }
+      }
+      if (!failures.isEmpty()) {
+        throw new MojoExecutionException("Could not export " + String.join(", ", failures));
+      }
+      if (binaryLogs == runDirectories.length) {
+        throw new MojoFailureException(
+            "No run exported, their simulation.log is binary: only the runs of Gatling versions"
+                + " before 3.11 can be exported");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while exporting", e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private Path exportFile(File runDirectory) {
+    return exportDirectory.toPath().resolve(runDirectory.getName() + ColumnarExport.EXTENSION);
+  }
+
+  private boolean upToDate(File runDirectory) {
+    File file = exportFile(runDirectory).toFile();
+    return file.lastModified() > new File(runDirectory, "simulation.log").lastModified();
+  }
+
+  /**
+   * @return the number of exported requests, -1 if the run can't be exported
+   */
+  private long export(File runDirectory) throws IOException {
+    Path simulationLog = runDirectory.toPath().resolve("simulation.log");
+    Path file = exportFile(runDirectory);
+    // readers never see a partial export
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      long requests = ColumnarExport.export(simulationLog, temporary);
+      if (requests >= 0) {
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+      return requests;
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+}
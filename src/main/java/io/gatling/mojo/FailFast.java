@@ -0,0 +1,293 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Evaluates rules over a rolling window while a forked Gatling run is in progress, and terminates
+ * the fork once they're breached for long enough, instead of waiting for the assertions at the end
+ * of the run.
+ *
+ * <p>Request counts come from the console summary, which Gatling prints every few seconds. Response
+ * times come from simulation.log, so the p99 rule needs a Gatling version writing it as text.
+ */
+final class FailFast extends DecoratingLogger implements AutoCloseable {
+
+  private final Log log;
+  private final String simulation;
+  private final ForkId forkId;
+  private final long windowNanos;
+  private final long sustainedNanos;
+  private final Double maxErrorRatio;
+  private final Double maxP99;
+  private final Double minRequestsPerSecond;
+  private final SimulationLogTail tail;
+  private final LongSupplier nanoTime;
+
+  // nanos, OK and KO totals of each console summary
+  private final Deque<long[]> totals = new ArrayDeque<>();
+  // response time buckets per epoch second
+  private final NavigableMap<Long, int[]> responseTimes = new TreeMap<>();
+
+  private boolean inRequests;
+  private long firstOutputNanos = -1;
+  private boolean warnedInactive;
+  private long breachStartNanos = -1;
+  private boolean warnedBinary;
+  private boolean warnedNotFound;
+  private volatile String abortReason;
+
+  /**
+   * @param forkId the id the fork is started with, to find its process
+   * @param maxErrorRatio null for no limit
+   * @param maxP99 in milliseconds, null for no limit
+   * @param minRequestsPerSecond null for no limit
+   */
+  FailFast(
+      PluginLogger delegate,
+      Log log,
+      String simulation,
+      ForkId forkId,
+      File resultsFolder,
+      int windowSeconds,
+      int sustainedSeconds,
+      Double maxErrorRatio,
+      Double maxP99,
+      Double minRequestsPerSecond) {
+    this(
+        delegate,
+        log,
+        simulation,
+        forkId,
+        resultsFolder,
+        windowSeconds,
+        sustainedSeconds,
+        maxErrorRatio,
+        maxP99,
+        minRequestsPerSecond,
+        System::nanoTime);
+  }
+
+  /**
+   * @param nanoTime the clock the console summaries are timed with
+   */
+  FailFast(
+      PluginLogger delegate,
+      Log log,
+      String simulation,
+      ForkId forkId,
+      File resultsFolder,
+      int windowSeconds,
+      int sustainedSeconds,
+      Double maxErrorRatio,
+      Double maxP99,
+      Double minRequestsPerSecond,
+      LongSupplier nanoTime) {
+    super(delegate);
+    this.log = log;
+    this.simulation = simulation;
+    this.forkId = forkId;
+    this.windowNanos = TimeUnit.SECONDS.toNanos(windowSeconds);
+    this.sustainedNanos = TimeUnit.SECONDS.toNanos(sustainedSeconds);
+    this.maxErrorRatio = maxErrorRatio;
+    this.maxP99 = maxP99;
+    this.minRequestsPerSecond = minRequestsPerSecond;
+    this.tail = maxP99 != null ? new SimulationLogTail(resultsFolder, log, this::onRequest) : null;
+    this.nanoTime = nanoTime;
+  }
+
+  /**
+   * @return why the fork was terminated, null if it wasn't
+   */
+  String abortReason() {
+    return abortReason;
+  }
+
+  @Override
+  synchronized void onOutput(String line) {
+    checkActive(nanoTime.getAsLong());
+    Matcher matcher = ConsoleSummary.SECTION.matcher(line);
+    if (matcher.matches()) {
+      inRequests = matcher.group(1).equals(ConsoleSummary.REQUESTS_SECTION);
+      return;
+    }
+    if (!inRequests) {
+      return;
+    }
+    ConsoleSummary.Request request = ConsoleSummary.request(line);
+    if (request != null && request.name.equals(ConsoleSummary.GLOBAL)) {
+      inRequests = false;
+      onTotals(nanoTime.getAsLong(), request.ok, request.ko);
+    }
+  }
+
+  /**
+   * Warns when the fork printed output for a whole window without a console summary this class
+   * could parse, as the request count rules are then silently inactive, like with a console layout
+   * of a Gatling version it doesn't know.
+   */
+  private void checkActive(long now) {
+    if (firstOutputNanos < 0) {
+      firstOutputNanos = now;
+    }
+    if (!warnedInactive
+        && totals.isEmpty()
+        && (maxErrorRatio != null || minRequestsPerSecond != null)
+        && now - firstOutputNanos >= windowNanos) {
+      warnedInactive = true;
+      log.warn(
+          "No console summary of simulation "
+              + simulation
+              + " could be parsed in "
+              + TimeUnit.NANOSECONDS.toSeconds(windowNanos)
+              + " s, gatling.failFast.maxErrorRatio and gatling.failFast.minRequestsPerSecond"
+              + " are inactive");
+    }
+  }
+
+  /**
+   * @param nanos when the console summary with these totals was printed
+   */
+  synchronized void onTotals(long nanos, long ok, long ko) {
+    totals.addLast(new long[] {nanos, ok, ko});
+    evaluate(nanos);
+  }
+
+  private synchronized void onRequest(String request, long start, long end, boolean ok) {
+    long second = TimeUnit.MILLISECONDS.toSeconds(end);
+    int[] buckets = responseTimes.computeIfAbsent(second, s -> new int[ResponseTimeBuckets.COUNT]);
+    buckets[ResponseTimeBuckets.bucket(end - start)]++;
+    // keep one more second than the window, which the latest one may not have filled yet
+    long oldest = responseTimes.lastKey() - TimeUnit.NANOSECONDS.toSeconds(windowNanos);
+    responseTimes.headMap(oldest, false).clear();
+  }
+
+  private void evaluate(long now) {
+    long[] baseline = null;
+    for (long[] sample : totals) {
+      if (sample[0] <= now - windowNanos) {
+        baseline = sample;
+      }
+    }
+    if (baseline == null || abortReason != null) {
+      // not a whole window yet
+      return;
+    }
+    while (totals.peekFirst() != baseline) {
+      totals.removeFirst();
+    }
+    long[] latest = totals.peekLast();
+    long requests = latest[1] + latest[2] - baseline[1] - baseline[2];
+    long failed = latest[2] - baseline[2];
+    double seconds = (latest[0] - baseline[0]) / 1e9;
+    double requestsPerSecond = requests / seconds;
+    double errorRatio = requests > 0 ? (double) failed / requests : 0;
+    double p99 = p99();
+
+    List<String> breaches = new ArrayList<>();
+    if (maxErrorRatio != null && errorRatio > maxErrorRatio) {
+      breaches.add(
+          String.format(
+              Locale.ROOT, "error ratio %.2f%% > %.2f%%", errorRatio * 100, maxErrorRatio * 100));
+    }
+    if (maxP99 != null && p99 > maxP99) {
+      breaches.add(String.format(Locale.ROOT, "p99 %.0f ms > %.0f ms", p99, maxP99));
+    }
+    if (minRequestsPerSecond != null && requestsPerSecond < minRequestsPerSecond) {
+      breaches.add(
+          String.format(
+              Locale.ROOT,
+              "throughput %.1f req/s < %.1f req/s",
+              requestsPerSecond,
+              minRequestsPerSecond));
+    }
+    if (maxP99 != null && !warnedBinary && tail.binary()) {
+      warnedBinary = true;
+      log.warn("gatling.failFast.maxP99 can't be evaluated with this Gatling version, ignoring it");
+    }
+
+    if (breaches.isEmpty()) {
+      breachStartNanos = -1;
+      return;
+    }
+    if (breachStartNanos < 0) {
+      breachStartNanos = now;
+    }
+    if (now - breachStartNanos >= sustainedNanos) {
+      abort(
+          String.format(
+              Locale.ROOT,
+              "%s over the last %.0f s (%d requests, %d failed, %.1f req/s%s)",
+              String.join(", ", breaches),
+              seconds,
+              requests,
+              failed,
+              requestsPerSecond,
+              Double.isNaN(p99) ? "" : String.format(Locale.ROOT, ", p99 %.0f ms", p99)));
+    }
+  }
+
+  /**
+   * @return the 99th percentile of the response times of the window, NaN if unknown
+   */
+  private double p99() {
+    if (responseTimes.isEmpty()) {
+      return Double.NaN;
+    }
+    long[] counts = new long[ResponseTimeBuckets.COUNT];
+    long oldest = responseTimes.lastKey() - TimeUnit.NANOSECONDS.toSeconds(windowNanos);
+    for (int[] second : responseTimes.tailMap(oldest, false).values()) {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += second[i];
+      }
+    }
+    return ResponseTimeBuckets.percentile(counts, 99);
+  }
+
+  /** Tries again on the next console summary if the fork can't be terminated. */
+  private void abort(String reason) {
+    Optional<ProcessHandle> fork = forkId.find();
+    if (fork.isEmpty()) {
+      if (!warnedNotFound) {
+        warnedNotFound = true;
+        log.error("Could not find the process of simulation " + simulation + " to terminate it");
+      }
+      return;
+    }
+    log.error("Terminating simulation " + simulation + ": " + reason);
+    // before terminating, the fork may end before terminate returns
+    abortReason = reason;
+    if (!MojoUtils.terminate(fork.get())) {
+      abortReason = null;
+      log.error("Failed to terminate simulation " + simulation);
+    }
+  }
+
+  @Override
+  public void close() {
+    if (tail != null) {
+      tail.close();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tells a forked JVM apart from the other children of this one by a system property with a unique
+ * value, {@link #jvmArg()}, which the fork must be started with.
+ *
+ * <p>The Gatling arguments can't do it: the fork runs ForkMain, which reads them from a file, and
+ * they're the same for a warm-up run and the fork standing by for the next run anyway.
+ */
+final class ForkId {
+
+  static final String PROPERTY = "gatling.mojo.forkId";
+
+  private final String jvmArg = "-D" + PROPERTY + "=" + UUID.randomUUID();
+  // start instants are truncated to the clock ticks of the system
+  private final Instant created = Instant.now().minusSeconds(1);
+
+  /**
+   * @return the JVM option to start the fork with
+   */
+  String jvmArg() {
+    return jvmArg;
+  }
+
+  /**
+   * @return these JVM options, followed by {@link #jvmArg()}
+   */
+  List<String> jvmArgs(List<String> jvmArgs) {
+    List<String> withId = new ArrayList<>(jvmArgs);
+    withId.add(jvmArg);
+    return withId;
+  }
+
+  /**
+   * Falls back to the only child started after this id whose command line is unknown, as some
+   * systems don't always tell it, e.g. macOS.
+   *
+   * @return the fork, a direct child of this JVM, empty if it's not running
+   */
+  Optional<ProcessHandle> find() {
+    List<ProcessHandle> unreadable = new ArrayList<>();
+    for (ProcessHandle child : ProcessHandle.current().children().collect(Collectors.toList())) {
+      ProcessHandle.Info info = child.info();
+      Optional<Boolean> matches =
+          info.arguments()
+              .map(arguments -> Arrays.asList(arguments).contains(jvmArg))
+              .or(() -> info.commandLine().map(commandLine -> commandLine.contains(jvmArg)));
+      if (matches.isPresent()) {
+        if (matches.get()) {
+          return Optional.of(child);
+        }
+      } else if (info.startInstant().map(start -> !start.isBefore(created)).orElse(true)) {
+        unreadable.add(child);
+      }
+    }
+    return unreadable.size() == 1 ? Optional.of(unreadable.get(0)) : Optional.empty();
+  }
+
+  /**
+   * @return the fork once it's started, empty if it isn't within this timeout
+   */
+  Optional<ProcessHandle> await(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (true) {
+      Optional<ProcessHandle> fork = find();
+      if (fork.isPresent() || System.nanoTime() - deadline >= 0) {
+        return fork;
+      }
+      Thread.sleep(100);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return jvmArg;
+  }
+}
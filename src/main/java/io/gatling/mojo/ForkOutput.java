@@ -0,0 +1,212 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Relays the output of a forked process without ever blocking the thread that reads it, so that a
+ * slow Maven console can't back-pressure the forked process.
+ *
+ * <p>Every line is written to a log file. Lines are then handed over to the console through a
+ * bounded buffer: when the buffer is full or the console goes over its rate limit, lines are only
+ * counted, and the count is logged instead. Errors aren't rate limited.
+ */
+final class ForkOutput implements PluginLogger, AutoCloseable {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private enum Level {
+    DEBUG,
+    INFO,
+    ERROR
+  }
+
+  private static final class Line {
+    private final Level level;
+    private final String message;
+
+    private Line(Level level, String message) {
+      this.level = level;
+      this.message = message;
+    }
+  }
+
+  private static final Line END = new Line(Level.INFO, null);
+
+  private final Log log;
+  private final Path logFile;
+  private final BufferedWriter writer;
+  private final BlockingQueue<Line> buffer;
+  private final int maxLinesPerSecond;
+  private final AtomicLong overflowed = new AtomicLong();
+  private final Thread console;
+
+  private IOException writeError;
+  private long windowStartNanos = System.nanoTime();
+  private int windowLines;
+  private long skipped;
+  private long lastReportNanos = System.nanoTime();
+
+  /**
+   * @param logFile where to write the whole output, null to only relay it to the console
+   * @param bufferSize the number of lines waiting for the console before new ones get dropped
+   * @param maxLinesPerSecond the number of non error lines logged per second, 0 for no limit
+   */
+  ForkOutput(Log log, Path logFile, int bufferSize, int maxLinesPerSecond) {
+    this.log = log;
+    this.buffer = new ArrayBlockingQueue<>(Math.max(bufferSize, 1));
+    this.maxLinesPerSecond = maxLinesPerSecond;
+    BufferedWriter w = null;
+    if (logFile != null) {
+      try {
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        w = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        log.warn("Failed to create " + logFile + ", output will only go to the console: " + e);
+      }
+    }
+    this.writer = w;
+    this.logFile = w != null ? logFile : null;
+    this.console = new Thread(this::relay, "gatling-fork-output");
+    console.setDaemon(true);
+    console.start();
+  }
+
+  @Override
+  public void debug(String message) {
+    accept(Level.DEBUG, message);
+  }
+
+  @Override
+  public void info(String message) {
+    accept(Level.INFO, message);
+  }
+
+  @Override
+  public void error(String message) {
+    accept(Level.ERROR, message);
+  }
+
+  private void accept(Level level, String message) {
+    if (writer != null) {
+      synchronized (writer) {
+        try {
+          writer.write(message);
+          writer.newLine();
+        } catch (IOException e) {
+          // the console still gets the line, the error is reported when closing
+          if (writeError == null) {
+            writeError = e;
+          }
+        }
+      }
+    }
+    if (!buffer.offer(new Line(level, message))) {
+      overflowed.incrementAndGet();
+    }
+  }
+
+  private void relay() {
+    try {
+      while (true) {
+        Line line = buffer.poll(1, TimeUnit.SECONDS);
+        if (line == END) {
+          break;
+        }
+        if (line != null) {
+          show(line);
+        }
+        reportNotShown(false);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    reportNotShown(true);
+  }
+
+  private void show(Line line) {
+    if (line.level == Level.DEBUG) {
+      log.debug(line.message);
+      return;
+    }
+    if (line.level == Level.INFO && maxLinesPerSecond > 0) {
+      long now = System.nanoTime();
+      if (now - windowStartNanos >= NANOS_PER_SECOND) {
+        windowStartNanos = now;
+        windowLines = 0;
+      }
+      if (++windowLines > maxLinesPerSecond) {
+        skipped++;
+        return;
+      }
+    }
+    if (line.level == Level.ERROR) {
+      log.error(line.message);
+    } else {
+      log.info(line.message);
+    }
+  }
+
+  /** Summarizes the lines that were dropped, at most once per second. */
+  private void reportNotShown(boolean force) {
+    long now = System.nanoTime();
+    if (!force && now - lastReportNanos < NANOS_PER_SECOND) {
+      return;
+    }
+    lastReportNanos = now;
+    long notShown = skipped + overflowed.getAndSet(0);
+    skipped = 0;
+    if (notShown > 0) {
+      log.warn(
+          notShown
+              + " output lines not shown"
+              + (logFile != null
+                  ? ", see " + logFile
+                  : ", the output was too fast for the console"));
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      // unlike lines, the end marker must not be dropped, and the console is draining the buffer
+      buffer.put(END);
+      console.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (writer != null) {
+      synchronized (writer) {
+        writer.close();
+        if (writeError != null) {
+          log.warn("Output is incomplete in " + logFile + ": " + writeError.getMessage());
+        }
+      }
+    }
+  }
+}
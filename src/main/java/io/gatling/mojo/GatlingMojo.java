@@ -20,6 +20,7 @@ import static io.gatling.mojo.MojoConstants.*;
 
 import io.gatling.plugin.GatlingConstants;
 import io.gatling.plugin.SimulationSelector;
+import io.gatling.plugin.io.PluginLogger;
 import io.gatling.plugin.model.BuildPlugin;
 import io.gatling.plugin.util.Fork;
 import io.gatling.plugin.util.NoFork;
@@ -30,7 +31,11 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
@@ -40,13 +45,15 @@ import org.apache.maven.plugins.annotations.*;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.toolchain.Toolchain;
 import org.codehaus.plexus.util.ExceptionUtils;
+import org.codehaus.plexus.util.FileUtils;
 
 /** Mojo to execute Gatling. */
 @Execute(phase = LifecyclePhase.TEST_COMPILE)
 @Mojo(
     name = "test",
     defaultPhase = LifecyclePhase.INTEGRATION_TEST,
-    requiresDependencyResolution = ResolutionScope.TEST)
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
 public final class GatlingMojo extends AbstractGatlingExecutionMojo {
 
   /** A name of a Simulation class to run. */
@@ -97,6 +104,14 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
   @Parameter(property = "gatling.continueOnAssertionFailure", defaultValue = "false")
   private boolean continueOnAssertionFailure;
 
+  /**
+   * The order to run multiple simulations in, based on their previous runs recorded in the results
+   * folder: declared, failedFirst (previously failed, then fastest first), shortestFirst or
+   * longestFirst. Simulations without previous runs count as the longest.
+   */
+  @Parameter(property = "gatling.simulationsOrder", defaultValue = "declared")
+  private String simulationsOrder;
+
   /**
    * Extra JVM arguments to pass when running Gatling. See also gatling.ignoreDefaultGatlingJvmArgs
    */
@@ -119,6 +134,184 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
   @Parameter(property = "gatling.sameProcess", defaultValue = "false")
   private boolean sameProcess;
 
+  /**
+   * Number of times to run each simulation before the measured runs, to warm up the JIT and the
+   * caches of the system under test. Their results are discarded.
+   */
+  @Parameter(property = "gatling.warmUpRuns", defaultValue = "0")
+  private int warmUpRuns;
+
+  /**
+   * Number of measured runs of each simulation. With more than one, the mean response time of each
+   * request is logged with its 95% confidence interval across the runs.
+   */
+  @Parameter(property = "gatling.repetitions", defaultValue = "1")
+  private int repetitions;
+
+  /**
+   * With repetitions, the coefficient of variation (standard deviation relative to the mean) of a
+   * request's mean response time across the runs, above which its measurement is reported as
+   * unstable.
+   */
+  @Parameter(property = "gatling.maxCoefficientOfVariation", defaultValue = "0.1")
+  private double maxCoefficientOfVariation;
+
+  /**
+   * Sample the CPU, memory, network and disk usage of the host every this many milliseconds while
+   * Gatling runs, to tell a saturated injector host apart from a saturated system under test.
+   * Samples are stored in resources.bin in the run directory, summarized in resources.txt. Linux
+   * only, 0 to disable.
+   */
+  @Parameter(property = "gatling.resourceSamplingInterval", defaultValue = "0")
+  private long resourceSamplingInterval;
+
+  /**
+   * Relay the output of Gatling to the console from a separate thread, so that a slow console never
+   * slows down the simulation, and write the whole output to a log file in the results folder.
+   */
+  @Parameter(property = "gatling.asyncOutput", defaultValue = "true")
+  private boolean asyncOutput;
+
+  /**
+   * With asyncOutput, the number of output lines waiting for the console beyond which new lines are
+   * only written to the log file.
+   */
+  @Parameter(property = "gatling.outputBufferSize", defaultValue = "10000")
+  private int outputBufferSize;
+
+  /**
+   * With asyncOutput, the maximum number of output lines logged to the console per second, errors
+   * excepted. 0 for no limit.
+   */
+  @Parameter(property = "gatling.consoleMaxLinesPerSecond", defaultValue = "0")
+  private int consoleMaxLinesPerSecond;
+
+  /**
+   * With multiple simulations, generate the reports of each simulation in a separate fork while the
+   * next simulation runs, instead of before it starts. Not compatible with noReports, repetitions
+   * and sameProcess.
+   */
+  @Parameter(property = "gatling.pipelinedReports", defaultValue = "false")
+  private boolean pipelinedReports;
+
+  /**
+   * The number of processors the pipelined reports generation sizes its thread pools for. It also
+   * runs with nice, at a lower priority than the simulation, except on Windows.
+   */
+  @Parameter(property = "gatling.pipelinedReports.cpus", defaultValue = "1")
+  private int pipelinedReportsCpus;
+
+  /**
+   * Index the requests of each run per second in rollup.idx in its directory, detect its steady
+   * state from its throughput, and log the response times of the steady state only, without the
+   * ramp up and the ramp down. See the window goal to query other time ranges. Needs the text
+   * simulation.log of Gatling versions before 3.11.
+   */
+  @Parameter(property = "gatling.steadyState", defaultValue = "false")
+  private boolean steadyState;
+
+  /**
+   * Run each simulation once per combination of these system property values, e.g. {@code
+   * <users>100,500,1000</users>} and {@code <env>staging,prod</env>} make 6 runs, and log their
+   * throughput and response times side by side. The directory of each run gets the combination as a
+   * suffix and a matrix.properties file.
+   *
+   * <p>The combinations only run the simulation and collect its results: fail-fast, stall
+   * detection, live metrics, resource sampling, steady state analysis, repetitions and pipelined
+   * reports don't apply, and their output is relayed as it comes, whatever gatling.asyncOutput.
+   */
+  @Parameter private Map<String, String> matrix;
+
+  /**
+   * The number of combinations of gatling.matrix run at the same time, also bounded by
+   * gatling.maxConcurrentRuns.
+   */
+  @Parameter(property = "gatling.matrix.parallelism", defaultValue = "1")
+  private int matrixParallelism;
+
+  /**
+   * Run each simulation once per injector runtime, a JDK toolchain and JVM options, one after the
+   * other, and log their throughput, response times, CPU usage and garbage collections side by
+   * side, to compare the load they can generate. See {@link InjectorRuntime}. Not compatible with
+   * gatling.matrix.
+   *
+   * <p>As with gatling.matrix, the runtimes only run the simulation and collect its results.
+   */
+  @Parameter private List<InjectorRuntime> runtimes;
+
+  /**
+   * With multiple simulations, start the fork of each simulation while the previous one runs, so
+   * that it's ready to run as soon as the previous one ends. The standing by fork loads the Gatling
+   * classes at a low priority, and then waits idle, but holds the memory of a JVM meanwhile. Not
+   * compatible with sameProcess.
+   */
+  @Parameter(property = "gatling.hotStandby", defaultValue = "false")
+  private boolean hotStandby;
+
+  /**
+   * Serve the metrics of the simulations in progress on this port, at /metrics, in the OpenMetrics
+   * and Prometheus text formats. 0 for any available port. Not served when unset.
+   */
+  @Parameter(property = "gatling.metricsPort")
+  private Integer metricsPort;
+
+  /** The address the metrics are served on, with gatling.metricsPort. */
+  @Parameter(property = "gatling.metricsHost", defaultValue = "localhost")
+  private String metricsHost;
+
+  /**
+   * Terminate a simulation once its error ratio over the last gatling.failFast.window seconds has
+   * been over this value for gatling.failFast.sustainedFor seconds, and fail the build. Not
+   * evaluated when unset.
+   */
+  @Parameter(property = "gatling.failFast.maxErrorRatio")
+  private Double failFastMaxErrorRatio;
+
+  /**
+   * Same as gatling.failFast.maxErrorRatio, for the 99th percentile of the response times in
+   * milliseconds. Only available with Gatling versions before 3.11, whose simulation.log can be
+   * followed during the run.
+   */
+  @Parameter(property = "gatling.failFast.maxP99")
+  private Double failFastMaxP99;
+
+  /** Same as gatling.failFast.maxErrorRatio, for a minimum number of requests per second. */
+  @Parameter(property = "gatling.failFast.minRequestsPerSecond")
+  private Double failFastMinRequestsPerSecond;
+
+  /** The duration in seconds of the rolling window the fail-fast rules are evaluated over. */
+  @Parameter(property = "gatling.failFast.window", defaultValue = "60")
+  private int failFastWindow;
+
+  /** How long in seconds a fail-fast rule must be breached before the simulation is terminated. */
+  @Parameter(property = "gatling.failFast.sustainedFor", defaultValue = "30")
+  private int failFastSustainedFor;
+
+  /**
+   * The number of seconds without progress, i.e. without new requests, after which a simulation is
+   * considered stalled: thread dumps and a class histogram of the Gatling JVM are then captured
+   * with jcmd into the run directory. 0 to disable.
+   */
+  @Parameter(property = "gatling.stall.timeout", defaultValue = "0")
+  private int stallTimeout;
+
+  /** The number of thread dumps captured when a simulation stalls. */
+  @Parameter(property = "gatling.stall.threadDumps", defaultValue = "3")
+  private int stallThreadDumps;
+
+  /** The number of seconds between two thread dumps of a stalled simulation. */
+  @Parameter(property = "gatling.stall.threadDumpInterval", defaultValue = "5")
+  private int stallThreadDumpInterval;
+
+  /** Terminate stalled simulations and fail the build, once their thread dumps are captured. */
+  @Parameter(property = "gatling.stall.abort", defaultValue = "false")
+  private boolean stallAbort;
+
+  private LiveMetrics liveMetrics;
+
+  /** The forks started ahead of their simulation, with gatling.hotStandby. */
+  private Standbys standbys;
+
   @Parameter(defaultValue = "${plugin.artifacts}", readonly = true)
   private List<Artifact> artifacts;
 
@@ -129,6 +322,13 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
   @Parameter(defaultValue = "${project}", readonly = true)
   private MavenProject project;
 
+  /** Same as the timestamps of Gatling's run directories, for the files written next to them. */
+  private static final DateTimeFormatter LOG_FILE_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS", Locale.ROOT);
+
+  /** The niceness of the pipelined reports generation, the same as the fork standing by. */
+  private static final int REPORTS_NICENESS = 10;
+
   private static final class SaveSimulationResultToFileException extends Exception {
     public SaveSimulationResultToFileException(IOException cause) {
       super(cause);
@@ -142,11 +342,26 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
 
   /** Executes Gatling simulations. */
   @Override
-  public void execute() throws MojoExecutionException, MojoFailureException {
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
     if (skip) {
       getLog().info("Skipping gatling-maven-plugin");
       return;
     }
+    if (repetitions > 1 && noReports) {
+      throw new MojoFailureException(
+          "gatling.repetitions requires the reports, their statistics are compared across runs");
+    }
+    if (slos != null && !slos.isEmpty() && noReports) {
+      throw new MojoFailureException(
+          "slos require the reports, they're checked against the statistics of the runs");
+    }
+    if (steadyState && reportsOnly == null && !textSimulationLog()) {
+      getLog()
+          .warn(
+              "Ignoring gatling.steadyState, this Gatling version writes a binary simulation.log:"
+                  + " only the runs of Gatling versions before 3.11 can be indexed");
+      steadyState = false;
+    }
 
     // Create results directories
     if (!resultsFolder.exists() && !resultsFolder.mkdirs()) {
@@ -155,23 +370,48 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
     }
     Set<File> preExistingRunDirectories = runDirectories();
 
+    if (metricsPort != null && !sameProcess) {
+      try {
+        liveMetrics = LiveMetrics.start(getLog(), metricsHost, metricsPort);
+      } catch (IOException e) {
+        throw new MojoExecutionException(
+            "Could not serve metrics on " + metricsHost + ":" + metricsPort, e);
+      }
+    }
+
     try {
-      List<String> testClasspath = buildTestClasspath();
+      List<String> testClasspath;
+      try (BuildTrace.Span span = buildTrace.span("classpath resolution")) {
+        testClasspath = buildTestClasspath();
+      }
 
       Toolchain toolchain = toolchainManager.getToolchainFromBuildContext("jdk", session);
 
       List<String> jvmArgs = gatlingJvmArgs();
 
       if (reportsOnly != null) {
-        executeGatling(jvmArgs, gatlingArgs(null), testClasspath, toolchain);
+        executeGatling(
+            reportsOnly + "-reports", jvmArgs, gatlingArgs(null), testClasspath, toolchain);
 
       } else {
-        List<String> simulations = simulations();
-        iterateBySimulations(toolchain, jvmArgs, testClasspath, simulations);
+        List<String> simulations;
+        try (BuildTrace.Span span = buildTrace.span("simulation selection")) {
+          simulations = simulations();
+        }
+        List<String> sloBreaches;
+        try {
+          iterateBySimulations(toolchain, jvmArgs, testClasspath, simulations);
+        } finally {
+          sloBreaches = checkSlos(newRunDirectories(preExistingRunDirectories));
+        }
+        if (!sloBreaches.isEmpty()) {
+          throw new MojoFailureException("SLOs breached: " + String.join("; ", sloBreaches));
+        }
       }
+      recordReactorRun(preExistingRunDirectories, null);
 
       if (!failOnError) {
-        try {
+        try (BuildTrace.Span span = buildTrace.span("result bookkeeping")) {
           saveSimulationResultToFile(preExistingRunDirectories, null);
         } catch (IOException e) {
           throw new SaveSimulationResultToFileException(e);
@@ -181,6 +421,7 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
       // don't recatch and re-try to save result
       throw new MojoExecutionException("Could not record simulation results.", e.getCause());
     } catch (Exception e) {
+      recordReactorRun(preExistingRunDirectories, e);
       if (failOnError) {
         if (e instanceof GatlingSimulationAssertionsFailedException) {
           throw new MojoFailureException(e.getMessage(), e);
@@ -194,36 +435,245 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
       } else {
         getLog()
             .warn(
-                "There were some errors while running your simulation, but failOnError was set to false won't fail your build.");
+                "There were some errors while running your simulation, but failOnError was set to"
+                    + " false won't fail your build.");
         try {
           saveSimulationResultToFile(preExistingRunDirectories, e);
         } catch (IOException newE) {
           throw new MojoExecutionException("Could not record simulation results.", newE);
         }
       }
+    } finally {
+      if (liveMetrics != null) {
+        liveMetrics.close();
+      }
     }
   }
 
-  private Set<File> runDirectories() {
-    File[] directories = resultsFolder.listFiles(File::isDirectory);
-    return directories == null ? Set.of() : Set.of(directories);
-  }
-
   private void iterateBySimulations(
       Toolchain toolchain,
       List<String> jvmArgs,
       List<String> testClasspath,
       List<String> simulations)
       throws Exception {
+    SimulationHistory.Order order;
+    try {
+      order = SimulationHistory.Order.parse(simulationsOrder);
+    } catch (IllegalArgumentException e) {
+      throw new MojoFailureException(e.getMessage(), e);
+    }
+    Path historyFile = resultsFolder.toPath().resolve(SimulationHistory.FILE);
+    SimulationHistory history = SimulationHistory.read(historyFile);
+    if (order != SimulationHistory.Order.DECLARED && simulations.size() > 1) {
+      simulations = history.order(simulations, order);
+      getLog().info("Running simulations in " + simulationsOrder + " order: " + simulations);
+    }
+
+    if (matrix != null && !matrix.isEmpty() && runtimes != null && !runtimes.isEmpty()) {
+      throw new MojoFailureException("gatling.matrix and runtimes can't be combined");
+    }
+    if (matrix != null && !matrix.isEmpty()) {
+      warnIgnoredByVariants("gatling.matrix");
+      // the value of the first module to run Gatling applies to the whole build
+      int concurrentRuns = ReactorRuns.of(session, maxConcurrentRuns).maxConcurrentRuns();
+      if (concurrentRuns > 0 && matrixParallelism > concurrentRuns) {
+        getLog()
+            .warn(
+                "gatling.matrix.parallelism="
+                    + matrixParallelism
+                    + " is bounded by gatling.maxConcurrentRuns="
+                    + concurrentRuns
+                    + ", fewer combinations will run at the same time");
+      }
+    } else if (runtimes != null && !runtimes.isEmpty()) {
+      warnIgnoredByVariants("runtimes");
+    }
+    ExecutorService reportsPipeline = reportsPipeline();
+    List<Future<?>> pipelinedReports = new ArrayList<>();
+    boolean reportsFailed = false;
+    if (hotStandby && sameProcess) {
+      getLog().warn("Ignoring gatling.hotStandby, not compatible with sameProcess");
+    }
+    // the combinations of a matrix and the runtimes run in forks of their own
+    if (hotStandby
+        && !sameProcess
+        && (matrix == null || matrix.isEmpty())
+        && (runtimes == null || runtimes.isEmpty())) {
+      standbys =
+          new Standbys(
+              getLog(),
+              GATLING_MAIN_CLASS,
+              (standbyJvmArgs, standbyArgs, logger) ->
+                  newFork(
+                      HotStandbyMain.class.getName(),
+                      testClasspath,
+                      standbyJvmArgs,
+                      standbyArgs,
+                      toolchain,
+                      workingDirectory,
+                      logger));
+    }
+    try {
+      runSimulations(
+          toolchain,
+          jvmArgs,
+          testClasspath,
+          simulations,
+          history,
+          reportsPipeline,
+          pipelinedReports);
+    } finally {
+      if (standbys != null) {
+        standbys.close();
+      }
+      try {
+        history.write(historyFile);
+      } catch (IOException e) {
+        getLog().warn("Failed to record the simulations history: " + e.getMessage());
+      }
+      if (reportsPipeline != null) {
+        reportsFailed = awaitReports(reportsPipeline, pipelinedReports);
+      }
+    }
+    if (reportsFailed) {
+      throw new MojoExecutionException("Failed to generate reports, see the errors above");
+    }
+  }
+
+  /**
+   * Warns about the options set for the goal that don't apply to the forks of the variants, which
+   * only run the simulation and collect its results.
+   *
+   * @param variants the option that runs variants
+   */
+  private void warnIgnoredByVariants(String variants) {
+    List<String> ignored = new ArrayList<>();
+    if (failFastMaxErrorRatio != null
+        || failFastMaxP99 != null
+        || failFastMinRequestsPerSecond != null) {
+      ignored.add("gatling.failFast");
+    }
+    if (stallTimeout > 0) {
+      ignored.add("gatling.stall.timeout");
+    }
+    if (metricsPort != null) {
+      ignored.add("gatling.metricsPort");
+    }
+    if (resourceSamplingInterval > 0) {
+      ignored.add("gatling.resourceSamplingInterval");
+    }
+    if (steadyState) {
+      ignored.add("gatling.steadyState");
+    }
+    if (repetitions > 1) {
+      ignored.add("gatling.repetitions");
+    }
+    if (pipelinedReports) {
+      ignored.add("gatling.pipelinedReports");
+    }
+    if (consoleMaxLinesPerSecond > 0) {
+      ignored.add("gatling.consoleMaxLinesPerSecond");
+    }
+    for (String option : ignored) {
+      getLog().warn("Ignoring " + option + ", not compatible with " + variants);
+    }
+  }
+
+  /**
+   * @return where to generate the reports while the next simulations run, null to generate them in
+   *     the simulations' forks
+   */
+  private ExecutorService reportsPipeline() {
+    if (!pipelinedReports) {
+      return null;
+    }
+    if (noReports || repetitions > 1 || sameProcess) {
+      getLog()
+          .warn(
+              "Ignoring gatling.pipelinedReports, not compatible with noReports, repetitions and"
+                  + " sameProcess");
+      return null;
+    }
+    return Executors.newSingleThreadExecutor(
+        r -> {
+          Thread thread = new Thread(r, "gatling-reports-pipeline");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * @param reportsPipeline where to generate the reports, null to generate them in the simulations'
+   *     forks
+   * @param pipelinedReports the reports being generated by reportsPipeline
+   */
+  private void runSimulations(
+      Toolchain toolchain,
+      List<String> jvmArgs,
+      List<String> testClasspath,
+      List<String> simulations,
+      SimulationHistory history,
+      ExecutorService reportsPipeline,
+      List<Future<?>> pipelinedReports)
+      throws Exception {
     Exception exc = null;
     int simulationsCount = simulations.size();
     for (int i = 0; i < simulationsCount; i++) {
+      String selectedSimulation = simulations.get(i);
+      long start = System.nanoTime();
+      boolean failed = true;
+      if (standbys != null && i + 1 < simulationsCount) {
+        standbys.startNext(
+            simulations.get(i + 1),
+            jvmArgs,
+            simulationArgs(simulations.get(i + 1), reportsPipeline));
+      }
       try {
-        String selectedSimulation = simulations.get(i);
 
-        List<String> gatlingArgs = gatlingArgs(selectedSimulation);
-        getLog().info("Running simulation " + selectedSimulation + ".");
-        executeGatling(jvmArgs, gatlingArgs, testClasspath, toolchain);
+        List<String> gatlingArgs = simulationArgs(selectedSimulation, reportsPipeline);
+        for (int run = 1; run <= warmUpRuns; run++) {
+          getLog()
+              .info(
+                  "Warming up with simulation "
+                      + selectedSimulation
+                      + " ("
+                      + run
+                      + "/"
+                      + warmUpRuns
+                      + ").");
+          warmUp(selectedSimulation, jvmArgs, gatlingArgs, testClasspath, toolchain);
+        }
+        if (matrix != null && !matrix.isEmpty()) {
+          variantRuns(testClasspath)
+              .runMatrix(selectedSimulation, matrix, matrixParallelism, jvmArgs, toolchain);
+        } else if (runtimes != null && !runtimes.isEmpty()) {
+          variantRuns(testClasspath)
+              .runRuntimes(selectedSimulation, runtimes, runtimeToolchains(toolchain), jvmArgs);
+        } else if (repetitions > 1) {
+          runRepeatedly(selectedSimulation, jvmArgs, gatlingArgs, testClasspath, toolchain);
+        } else {
+          getLog().info("Running simulation " + selectedSimulation + ".");
+          Set<File> preExistingRunDirectories = runDirectories();
+          boolean completed = false;
+          try (BuildTrace.Span span = buildTrace.span(selectedSimulation)) {
+            executeGatling(selectedSimulation, jvmArgs, gatlingArgs, testClasspath, toolchain);
+            completed = true;
+          } catch (GatlingSimulationAssertionsFailedException e) {
+            // the reports tell why
+            completed = true;
+            throw e;
+          } finally {
+            analyzeSteadyState(preExistingRunDirectories);
+            if (reportsPipeline != null && completed) {
+              for (String runDirectory : newRunDirectories(preExistingRunDirectories)) {
+                pipelinedReports.add(
+                    reportsPipeline.submit(
+                        () -> generateReports(runDirectory, jvmArgs, testClasspath, toolchain)));
+              }
+            }
+          }
+        }
+        failed = false;
       } catch (GatlingSimulationAssertionsFailedException e) {
         if (exc == null && i == simulationsCount - 1) {
           throw e;
@@ -237,18 +687,407 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
           continue;
         }
         throw e;
+      } finally {
+        history.record(
+            selectedSimulation, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed);
+        if (standbys != null) {
+          standbys.advance();
+        }
       }
     }
 
     if (exc != null) {
       getLog()
           .warn(
-              "There were some errors while running your simulation, but continueOnAssertionFailure was set to true, so your simulations continue to perform.");
+              "There were some errors while running your simulation, but continueOnAssertionFailure"
+                  + " was set to true, so your simulations continue to perform.");
       throw exc;
     }
   }
 
+  private List<String> simulationArgs(String simulation, ExecutorService reportsPipeline)
+      throws Exception {
+    List<String> gatlingArgs = gatlingArgs(simulation);
+    if (reportsPipeline != null) {
+      gatlingArgs.add(GatlingCliOptions.NoReports.shortOption());
+    }
+    return gatlingArgs;
+  }
+
+  /**
+   * Generates the reports of a finished run in a fork that sizes its thread pools for
+   * gatling.pipelinedReports.cpus processors, and that runs at a lower priority except on Windows,
+   * so that it doesn't slow down the simulation running meanwhile.
+   */
+  private Void generateReports(
+      String runDirectory, List<String> jvmArgs, List<String> testClasspath, Toolchain toolchain)
+      throws Exception {
+    List<String> reportsJvmArgs = new ArrayList<>(jvmArgs);
+    reportsJvmArgs.add("-XX:ActiveProcessorCount=" + pipelinedReportsCpus);
+    List<String> args =
+        new ArrayList<>(
+            List.of(
+                GatlingCliOptions.ResultsFolder.shortOption(),
+                resultsFolder.getCanonicalPath(),
+                GatlingCliOptions.ReportsOnly.shortOption(),
+                runDirectory));
+    args.addAll(launcherArgs());
+
+    PluginLogger logger =
+        new PluginLogger() {
+          @Override
+          public void debug(String message) {
+            getLog().debug(message);
+          }
+
+          @Override
+          public void info(String message) {
+            // would interleave with the output of the simulation running meanwhile
+            getLog().debug(message);
+          }
+
+          @Override
+          public void error(String message) {
+            getLog().error(runDirectory + ": " + message);
+          }
+        };
+    Path niceJava = MojoUtils.niceJava(javaExecutable(toolchain), REPORTS_NICENESS);
+    Fork fork =
+        new Fork(
+            GATLING_MAIN_CLASS,
+            testClasspath,
+            reportsJvmArgs,
+            args,
+            niceJava != null ? niceJava.toFile() : javaExecutable(toolchain),
+            logger,
+            workingDirectory);
+    try (BuildTrace.Span span = buildTrace.span(runDirectory + " reports")) {
+      fork.run();
+    } catch (Fork.ForkException e) {
+      // the assertions were already checked by the simulation's run
+      if (e.exitValue != 2) {
+        throw e;
+      }
+    } finally {
+      if (niceJava != null) {
+        Files.deleteIfExists(niceJava);
+      }
+    }
+    getLog()
+        .info(
+            "Reports generated: "
+                + new File(new File(resultsFolder, runDirectory), "index.html").toURI());
+    return null;
+  }
+
+  /**
+   * @return true if some reports failed to be generated
+   */
+  private boolean awaitReports(ExecutorService reportsPipeline, List<Future<?>> pipelinedReports)
+      throws InterruptedException {
+    reportsPipeline.shutdown();
+    if (!pipelinedReports.isEmpty()) {
+      getLog().info("Waiting for the reports generation to end.");
+    }
+    boolean failed = false;
+    for (Future<?> report : pipelinedReports) {
+      try {
+        report.get();
+      } catch (ExecutionException e) {
+        failed = true;
+        getLog().error("Failed to generate reports: " + e.getCause().getMessage(), e.getCause());
+      }
+    }
+    return failed;
+  }
+
+  private void warmUp(
+      String simulation,
+      List<String> jvmArgs,
+      List<String> gatlingArgs,
+      List<String> testClasspath,
+      Toolchain toolchain)
+      throws Exception {
+    List<String> warmUpArgs = new ArrayList<>(gatlingArgs);
+    if (!noReports) {
+      warmUpArgs.add(GatlingCliOptions.NoReports.shortOption());
+    }
+    Set<File> preExistingRunDirectories = runDirectories();
+    try (BuildTrace.Span span = buildTrace.span(simulation + " warm-up")) {
+      executeGatling(simulation, jvmArgs, warmUpArgs, testClasspath, toolchain);
+    } catch (GatlingSimulationAssertionsFailedException e) {
+      getLog().info("Ignoring the assertions of the warm-up run");
+    } finally {
+      for (File directory : runDirectories()) {
+        if (!preExistingRunDirectories.contains(directory)) {
+          FileUtils.deleteDirectory(directory);
+        }
+      }
+    }
+  }
+
+  private void runRepeatedly(
+      String simulation,
+      List<String> jvmArgs,
+      List<String> gatlingArgs,
+      List<String> testClasspath,
+      Toolchain toolchain)
+      throws Exception {
+    List<Map<String, RunStatistics.Request>> runs = new ArrayList<>(repetitions);
+    GatlingSimulationAssertionsFailedException assertionsFailed = null;
+    for (int run = 1; run <= repetitions; run++) {
+      getLog().info("Running simulation " + simulation + " (" + run + "/" + repetitions + ").");
+      Set<File> preExistingRunDirectories = runDirectories();
+      try (BuildTrace.Span span = buildTrace.span(simulation + " #" + run)) {
+        executeGatling(simulation, jvmArgs, gatlingArgs, testClasspath, toolchain);
+      } catch (GatlingSimulationAssertionsFailedException e) {
+        // still measured, the failure is reported once all the runs are done
+        if (assertionsFailed == null) {
+          assertionsFailed = e;
+        }
+      } finally {
+        analyzeSteadyState(preExistingRunDirectories);
+      }
+      for (File directory : runDirectories()) {
+        if (!preExistingRunDirectories.contains(directory)) {
+          runs.add(RunStatistics.read(directory));
+        }
+      }
+    }
+    logRepetitions(simulation, runs);
+    if (assertionsFailed != null) {
+      throw assertionsFailed;
+    }
+  }
+
+  private void logRepetitions(String simulation, List<Map<String, RunStatistics.Request>> runs) {
+    Map<String, RunStatistics.Variation> variations = new LinkedHashMap<>();
+    for (Map<String, RunStatistics.Request> run : runs) {
+      for (String request : run.keySet()) {
+        variations.computeIfAbsent(
+            request,
+            name ->
+                RunStatistics.variation(
+                    runs.stream()
+                        .map(r -> r.get(name))
+                        .filter(r -> r != null && r.count > 0)
+                        .mapToDouble(r -> r.meanResponseTime)
+                        .toArray()));
+      }
+    }
+
+    int nameWidth =
+        Math.max(variations.keySet().stream().mapToInt(String::length).max().orElse(0), 7);
+    String format = "%-" + nameWidth + "s  %10s  %10s  %7s  %s";
+    getLog()
+        .info(
+            "Mean response times of "
+                + simulation
+                + " across "
+                + runs.size()
+                + " runs, with their 95% confidence interval:");
+    getLog().info(String.format(format, "Request", "Mean (ms)", "+/- (ms)", "CV", ""));
+    List<String> unstable = new ArrayList<>();
+    for (Map.Entry<String, RunStatistics.Variation> entry : variations.entrySet()) {
+      RunStatistics.Variation variation = entry.getValue();
+      boolean isUnstable = variation.coefficientOfVariation() > maxCoefficientOfVariation;
+      if (isUnstable) {
+        unstable.add(entry.getKey());
+      }
+      getLog()
+          .info(
+              String.format(
+                  Locale.ROOT,
+                  format,
+                  entry.getKey(),
+                  String.format(Locale.ROOT, "%.1f", variation.mean),
+                  String.format(Locale.ROOT, "%.1f", variation.confidenceInterval),
+                  String.format(Locale.ROOT, "%.1f%%", variation.coefficientOfVariation() * 100),
+                  isUnstable ? "UNSTABLE" : ""));
+    }
+    if (!unstable.isEmpty()) {
+      getLog()
+          .warn(
+              String.format(
+                  Locale.ROOT,
+                  "Unstable measurements, varying by more than %.1f%% across runs: %s. Consider"
+                      + " more warm-up runs or repetitions.",
+                  maxCoefficientOfVariation * 100,
+                  String.join(", ", unstable)));
+    }
+  }
+
+  private VariantRuns variantRuns(List<String> testClasspath) {
+    return new VariantRuns(
+        getLog(),
+        buildTrace,
+        resultsFolder,
+        new File(mavenProject.getBuild().getDirectory()),
+        runDescription,
+        noReports,
+        launcherArgs(),
+        new VariantRuns.Forks() {
+          @Override
+          public AutoCloseable acquireRun() throws InterruptedException {
+            return GatlingMojo.this.acquireRun();
+          }
+
+          @Override
+          public void run(
+              List<String> jvmArgs, List<String> args, Toolchain toolchain, PluginLogger logger)
+              throws Exception {
+            newFork(
+                    GATLING_MAIN_CLASS,
+                    testClasspath,
+                    jvmArgs,
+                    args,
+                    toolchain,
+                    workingDirectory,
+                    logger)
+                .run();
+          }
+        });
+  }
+
+  private List<Toolchain> runtimeToolchains(Toolchain buildToolchain) throws MojoFailureException {
+    // before running anything, a missing JDK would only fail its own runtime otherwise
+    List<Toolchain> toolchains = new ArrayList<>();
+    for (InjectorRuntime runtime : runtimes) {
+      toolchains.add(toolchain(runtime, buildToolchain));
+    }
+    return toolchains;
+  }
+
+  /**
+   * @return the toolchain of the runtime, the toolchain of the build when it has no requirements
+   */
+  private Toolchain toolchain(InjectorRuntime runtime, Toolchain buildToolchain)
+      throws MojoFailureException {
+    Map<String, String> requirements = runtime.requirements();
+    if (requirements.isEmpty()) {
+      return buildToolchain;
+    }
+    List<Toolchain> toolchains = toolchainManager.getToolchains(session, "jdk", requirements);
+    if (toolchains.isEmpty()) {
+      throw new MojoFailureException(
+          "No JDK toolchain matching "
+              + requirements
+              + " for runtime "
+              + runtime.label()
+              + ", declare one in toolchains.xml");
+    }
+    return toolchains.get(0);
+  }
+
+  private void analyzeSteadyState(Set<File> preExistingRunDirectories) {
+    if (!steadyState) {
+      return;
+    }
+    for (String runDirectory : newRunDirectories(preExistingRunDirectories)) {
+      Path directory = resultsFolder.toPath().resolve(runDirectory);
+      Path simulationLog = directory.resolve("simulation.log");
+      if (!Files.isRegularFile(simulationLog)) {
+        continue;
+      }
+      Path indexFile = directory.resolve(RollupIndex.FILE);
+      try (BuildTrace.Span span = buildTrace.span(runDirectory + " rollup");
+          RollupIndex index = RollupIndex.build(simulationLog, indexFile)) {
+        if (index == null) {
+          getLog()
+              .warn(
+                  "Can't detect the steady state of "
+                      + runDirectory
+                      + ": this Gatling version writes a binary simulation.log");
+          continue;
+        }
+        int[] range = RollupIndex.steadyState(index.requestsPerSecond(), steadyStateTolerance);
+        if (range == null) {
+          getLog()
+              .info(
+                  "No steady state in "
+                      + runDirectory
+                      + ": its throughput never varied by less than "
+                      + Math.round(steadyStateTolerance * 100)
+                      + "% for "
+                      + RollupIndex.MIN_STEADY_STATE_SECONDS
+                      + " s");
+          continue;
+        }
+        RollupIndex.Window window = index.window(range[0], range[1]);
+        getLog()
+            .info(
+                "Steady state of "
+                    + runDirectory
+                    + ", from "
+                    + window.from
+                    + " s to "
+                    + window.to
+                    + " s of "
+                    + index.seconds()
+                    + " s: "
+                    + window.summary());
+      } catch (IOException e) {
+        getLog().warn("Failed to index " + simulationLog + ": " + e.getMessage());
+      }
+    }
+  }
+
   private void executeGatling(
+      String runName,
+      List<String> gatlingJvmArgs,
+      List<String> gatlingArgs,
+      List<String> testClasspath,
+      Toolchain toolchain)
+      throws Exception {
+    try (AutoCloseable run = acquireRun()) {
+      if (resourceSamplingInterval <= 0) {
+        runGatling(runName, gatlingJvmArgs, gatlingArgs, testClasspath, toolchain);
+        return;
+      }
+      Set<File> preExistingRunDirectories = runDirectories();
+      ResourceSampler sampler =
+          ResourceSampler.start(
+              resultsFolder.toPath().resolve(runFileName(runName, "-resources.bin")),
+              resourceSamplingInterval,
+              getLog());
+      try {
+        runGatling(runName, gatlingJvmArgs, gatlingArgs, testClasspath, toolchain);
+      } finally {
+        if (sampler != null) {
+          stopResourceSampling(sampler, preExistingRunDirectories);
+        }
+      }
+    }
+  }
+
+  private void stopResourceSampling(ResourceSampler sampler, Set<File> preExistingRunDirectories) {
+    try {
+      sampler.close();
+      List<String> summary = sampler.summary();
+      summary.forEach(getLog()::info);
+      boolean moved = false;
+      for (File directory : runDirectories()) {
+        if (!preExistingRunDirectories.contains(directory)) {
+          Path runDirectory = directory.toPath();
+          Files.move(
+              sampler.file(),
+              runDirectory.resolve("resources.bin"),
+              StandardCopyOption.REPLACE_EXISTING);
+          Files.write(runDirectory.resolve("resources.txt"), summary);
+          moved = true;
+        }
+      }
+      if (!moved) {
+        // e.g. the run failed before creating its directory
+        Files.deleteIfExists(sampler.file());
+      }
+    } catch (IOException e) {
+      getLog().warn("Failed to save the resource samples: " + e.getMessage());
+    }
+  }
+
+  private void runGatling(
+      String runName,
       List<String> gatlingJvmArgs,
       List<String> gatlingArgs,
       List<String> testClasspath,
@@ -261,16 +1100,37 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
               testClasspath.stream().map(File::new).collect(Collectors.toList()))
           .run();
     } else {
-      Fork forkedGatling =
-          newFork(
-              GATLING_MAIN_CLASS,
-              testClasspath,
+      HotStandby released =
+          standbys != null ? standbys.take(runName, gatlingJvmArgs, gatlingArgs) : null;
+      // the fork replacing the standby if it ended early takes over its id
+      ForkId forkId = released != null ? released.forkId() : new ForkId();
+      try (ForkOutput forkOutput = forkOutput(runName);
+          LiveMetrics.Run liveRun = liveMetricsRun(runName, outputLogger(forkOutput));
+          FailFast failFast = failFast(runName, forkId, outputLogger(liveRun, forkOutput));
+          StallDetector stallDetector =
+              stallDetector(runName, forkId, outputLogger(failFast, liveRun, forkOutput));
+          BuildTrace.ForkPhases forkPhases =
+              buildTrace.forkPhases(outputLogger(stallDetector, failFast, liveRun, forkOutput))) {
+        try {
+          runFork(
+              runName,
+              released,
+              forkId,
               gatlingJvmArgs,
               gatlingArgs,
+              testClasspath,
               toolchain,
-              workingDirectory);
-      try {
-        forkedGatling.run();
+              forkPhases);
+        } catch (Fork.ForkException e) {
+          if (terminationReason(failFast, stallDetector) == null) {
+            throw e;
+          }
+        }
+        String terminationReason = terminationReason(failFast, stallDetector);
+        if (terminationReason != null) {
+          throw new MojoFailureException(
+              "Simulation " + runName + " was terminated: " + terminationReason);
+        }
       } catch (Fork.ForkException e) {
         if (e.exitValue == 2) throw new GatlingSimulationAssertionsFailedException(e);
         else throw e; /* issue 1482 */
@@ -278,26 +1138,160 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
     }
   }
 
+  /**
+   * Runs the fork standing by for this run if any, or a new one.
+   *
+   * @param released the fork standing by for this run, null if there's none
+   */
+  private void runFork(
+      String runName,
+      HotStandby released,
+      ForkId forkId,
+      List<String> gatlingJvmArgs,
+      List<String> gatlingArgs,
+      List<String> testClasspath,
+      Toolchain toolchain,
+      PluginLogger logger)
+      throws Exception {
+    if (released != null) {
+      try (released) {
+        if (released.run(logger)) {
+          return;
+        }
+      }
+      getLog().debug("The fork standing by for " + runName + " ended early, starting a new one");
+    }
+    newFork(
+            GATLING_MAIN_CLASS,
+            testClasspath,
+            forkId.jvmArgs(gatlingJvmArgs),
+            gatlingArgs,
+            toolchain,
+            workingDirectory,
+            logger)
+        .run();
+  }
+
+  private ForkOutput forkOutput(String runName) {
+    if (!asyncOutput) {
+      return null;
+    }
+    return new ForkOutput(
+        getLog(),
+        resultsFolder.toPath().resolve(runFileName(runName, ".log")),
+        outputBufferSize,
+        consoleMaxLinesPerSecond);
+  }
+
+  /**
+   * @param loggers the wrappers of the fork output, outermost first, null when not enabled
+   * @return the outermost wrapper, or a logger relaying the output to the console
+   */
+  private PluginLogger outputLogger(PluginLogger... loggers) {
+    for (PluginLogger logger : loggers) {
+      if (logger != null) {
+        return logger;
+      }
+    }
+    return newPluginLogger();
+  }
+
+  private LiveMetrics.Run liveMetricsRun(String runName, PluginLogger delegate) {
+    if (liveMetrics == null) {
+      return null;
+    }
+    return liveMetrics.run(runName, delegate, resultsFolder);
+  }
+
+  private FailFast failFast(String runName, ForkId forkId, PluginLogger delegate) {
+    if (failFastMaxErrorRatio == null
+        && failFastMaxP99 == null
+        && failFastMinRequestsPerSecond == null) {
+      return null;
+    }
+    return new FailFast(
+        delegate,
+        getLog(),
+        runName,
+        forkId,
+        resultsFolder,
+        failFastWindow,
+        failFastSustainedFor,
+        failFastMaxErrorRatio,
+        failFastMaxP99,
+        failFastMinRequestsPerSecond);
+  }
+
+  private StallDetector stallDetector(String runName, ForkId forkId, PluginLogger delegate) {
+    if (stallTimeout <= 0) {
+      return null;
+    }
+    return new StallDetector(
+        delegate,
+        getLog(),
+        runName,
+        forkId,
+        resultsFolder,
+        stallTimeout,
+        stallThreadDumps,
+        stallThreadDumpInterval,
+        stallAbort);
+  }
+
+  /**
+   * @return why the fork was terminated before its end, null if it wasn't
+   */
+  private static String terminationReason(FailFast failFast, StallDetector stallDetector) {
+    if (failFast != null && failFast.abortReason() != null) {
+      return failFast.abortReason();
+    }
+    return stallDetector != null ? stallDetector.abortReason() : null;
+  }
+
+  static String runFileName(String runName, String suffix) {
+    return runName.substring(runName.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT)
+        + "-"
+        + LOG_FILE_TIMESTAMP.format(LocalDateTime.now())
+        + suffix;
+  }
+
   private void saveSimulationResultToFile(Set<File> preExistingRunDirectories, Exception exception)
       throws IOException {
     Path resultsFile = resultsFolder.toPath().resolve(LAST_RUN_FILE);
 
     try (BufferedWriter writer = Files.newBufferedWriter(resultsFile)) {
-      for (File directory : runDirectories()) {
-        if (!preExistingRunDirectories.contains(directory)) {
-          writer.write(directory.getName() + System.lineSeparator());
-        }
+      for (String directory : newRunDirectories(preExistingRunDirectories)) {
+        writer.write(directory + System.lineSeparator());
       }
       if (exception != null) {
-        String error =
-            exception instanceof GatlingSimulationAssertionsFailedException
-                ? "Gatling simulation assertions failed!"
-                : getRecursiveCauses(exception);
-        writer.write(LAST_RUN_FILE_ERROR_LINE + error + System.lineSeparator());
+        writer.write(LAST_RUN_FILE_ERROR_LINE + error(exception) + System.lineSeparator());
       }
     }
   }
 
+  /** Records the outcome of this module's runs for the aggregate verification of the reactor. */
+  private void recordReactorRun(Set<File> preExistingRunDirectories, Exception exception) {
+    ReactorRuns.of(session, maxConcurrentRuns)
+        .record(
+            mavenProject,
+            newRunDirectories(preExistingRunDirectories),
+            exception != null ? error(exception) : null);
+  }
+
+  private List<String> newRunDirectories(Set<File> preExistingRunDirectories) {
+    return runDirectories().stream()
+        .filter(directory -> !preExistingRunDirectories.contains(directory))
+        .map(File::getName)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+
+  private static String error(Exception exception) {
+    return exception instanceof GatlingSimulationAssertionsFailedException
+        ? "Gatling simulation assertions failed!"
+        : getRecursiveCauses(exception);
+  }
+
   private static String getRecursiveCauses(Throwable e) {
     return Arrays.stream(ExceptionUtils.getThrowables(e))
         .map(
@@ -351,7 +1345,9 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
           break;
         case MoreThanOneSimulationInNonInteractiveMode:
           errorMessage =
-              "Running in non-interactive mode, yet more than 1 simulation is available. Either specify one with -Dgatling.simulationClass=<className> or run them all sequentially with -Dgatling.runMultipleSimulations=true.";
+              "Running in non-interactive mode, yet more than 1 simulation is available. Either"
+                  + " specify one with -Dgatling.simulationClass=<className> or run them all"
+                  + " sequentially with -Dgatling.runMultipleSimulations=true.";
           break;
         case TooManyInteractiveAttempts:
           errorMessage = "Max attempts of reading simulation number reached. Aborting.";
@@ -388,21 +1384,7 @@ public final class GatlingMojo extends AbstractGatlingExecutionMojo {
       args.add(GatlingCliOptions.NoReports.shortOption());
     }
 
-    String[] gatlingVersion =
-        MojoUtils.findByGroupIdAndArtifactId(
-                mavenProject.getArtifacts(), GATLING_GROUP_ID, GATLING_MODULE_APP)
-            .getVersion()
-            .split("\\.");
-    int gatlingMajorVersion = Integer.parseInt(gatlingVersion[0]);
-    int gatlingMinorVersion = Integer.parseInt(gatlingVersion[1]);
-
-    if ((gatlingMajorVersion == 3 && gatlingMinorVersion >= 8) || gatlingMajorVersion > 4) {
-      args.addAll(List.of(GatlingCliOptions.Launcher.shortOption(), "maven"));
-      args.addAll(
-          List.of(
-              GatlingCliOptions.BuildToolVersion.shortOption(),
-              MavenProject.class.getPackage().getImplementationVersion()));
-    }
+    args.addAll(launcherArgs());
 
     return args;
   }
@@ -0,0 +1,195 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import io.gatling.plugin.util.Fork;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * A Gatling fork started ahead of its simulation, while the previous simulation runs, so that the
+ * JVM startup and the loading of the Gatling classes don't add up between simulations. It waits for
+ * a single byte on a loopback connection before running the simulation, see {@link HotStandbyMain}.
+ *
+ * <p>Its output is held back until it's released, and then relayed to the logger of the run. It's
+ * started with its own {@link ForkId}, so that it's never mistaken for the fork of the run in
+ * progress, which may have the same arguments, e.g. a warm-up run of the same simulation.
+ */
+final class HotStandby implements AutoCloseable {
+
+  /** Creates the fork running HotStandbyMain. */
+  interface ForkFactory {
+    Fork create(List<String> jvmArgs, List<String> args, PluginLogger logger);
+  }
+
+  private final String simulation;
+  private final ForkId forkId;
+  private final List<String> jvmArgs;
+  private final List<String> args;
+  private final ServerSocket server;
+  private final FutureTask<Void> fork;
+
+  private final List<Consumer<PluginLogger>> heldBack = new ArrayList<>();
+  private PluginLogger logger;
+
+  /**
+   * @param forkId the id to start the fork with
+   * @param jvmArgs the JVM options of the run, without the fork id
+   */
+  HotStandby(
+      String simulation,
+      ForkId forkId,
+      String mainClass,
+      List<String> jvmArgs,
+      List<String> args,
+      ForkFactory forkFactory)
+      throws IOException {
+    this.simulation = simulation;
+    this.forkId = forkId;
+    this.jvmArgs = jvmArgs;
+    this.args = args;
+    this.server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+
+    List<String> standbyArgs = new ArrayList<>();
+    standbyArgs.add(Integer.toString(server.getLocalPort()));
+    standbyArgs.add(simulation);
+    standbyArgs.add(mainClass);
+    standbyArgs.addAll(args);
+    Fork standby = forkFactory.create(forkId.jvmArgs(jvmArgs), standbyArgs, relay());
+    this.fork =
+        new FutureTask<>(
+            () -> {
+              standby.run();
+              return null;
+            });
+    Thread thread = new Thread(fork, "gatling-hot-standby");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * @return the id the fork was started with, to find its process
+   */
+  ForkId forkId() {
+    return forkId;
+  }
+
+  /**
+   * @return true if this standby was started for this run of this simulation
+   */
+  boolean matches(String simulation, List<String> jvmArgs, List<String> args) {
+    return this.simulation.equals(simulation)
+        && this.jvmArgs.equals(jvmArgs)
+        && this.args.equals(args);
+  }
+
+  /**
+   * Releases the fork and waits for it to end.
+   *
+   * @param logger where to relay the output of the fork
+   * @return false if the fork ended before being released, and didn't run the simulation
+   */
+  boolean run(PluginLogger logger) throws Exception {
+    try (Socket connection = accept()) {
+      if (connection == null) {
+        return false;
+      }
+      synchronized (this) {
+        heldBack.forEach(line -> line.accept(logger));
+        heldBack.clear();
+        this.logger = logger;
+      }
+      connection.getOutputStream().write(1);
+      connection.getOutputStream().flush();
+      try {
+        fork.get();
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof Exception) {
+          throw (Exception) e.getCause();
+        }
+        throw e;
+      }
+      return true;
+    }
+  }
+
+  /**
+   * @return the connection of the fork, null if it ended without connecting
+   */
+  private Socket accept() throws IOException {
+    server.setSoTimeout(100);
+    while (!fork.isDone()) {
+      try {
+        return server.accept();
+      } catch (SocketTimeoutException e) {
+        // still starting
+      }
+    }
+    return null;
+  }
+
+  private PluginLogger relay() {
+    return new PluginLogger() {
+      @Override
+      public void debug(String message) {
+        relay(logger -> logger.debug(message));
+      }
+
+      @Override
+      public void info(String message) {
+        relay(logger -> logger.info(message));
+      }
+
+      @Override
+      public void error(String message) {
+        relay(logger -> logger.error(message));
+      }
+    };
+  }
+
+  private synchronized void relay(Consumer<PluginLogger> line) {
+    if (logger != null) {
+      line.accept(logger);
+    } else {
+      heldBack.add(line);
+    }
+  }
+
+  /** Makes the fork exit if it wasn't released, by closing its connection. */
+  @Override
+  public void close() throws IOException {
+    server.close();
+    try {
+      fork.get(10, TimeUnit.SECONDS);
+    } catch (ExecutionException | TimeoutException e) {
+      // not running a simulation, nothing to report
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
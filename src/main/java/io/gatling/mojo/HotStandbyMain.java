@@ -0,0 +1,171 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * The main class of a {@link HotStandby} fork: connects back to the plugin, loads the Gatling
+ * classes at a low priority while waiting, then runs the actual main class once released. Exits
+ * without running it when the connection is closed instead.
+ *
+ * <p>Arguments: the port to connect to on the loopback address, the simulation class, the actual
+ * main class, and its arguments.
+ */
+public final class HotStandbyMain {
+
+  private static final String CLASSES_PACKAGE = "io/gatling/";
+  // loaded by the reports generation and the recorder, or by the plugin itself
+  private static final List<String> SKIPPED_PACKAGES =
+      List.of(
+          "io/gatling/charts/", "io/gatling/recorder/", "io/gatling/mojo/", "io/gatling/plugin/");
+
+  private static volatile boolean released;
+
+  private HotStandbyMain() {}
+
+  public static void main(String[] args) throws Throwable {
+    int port = Integer.parseInt(args[0]);
+    String simulation = args[1];
+    String mainClass = args[2];
+    String[] mainArgs = Arrays.copyOfRange(args, 3, args.length);
+
+    Thread warmUp = new Thread(() -> warmUp(simulation, mainClass), "gatling-hot-standby-warm-up");
+    warmUp.setDaemon(true);
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      warmUp.start();
+      InputStream in = socket.getInputStream();
+      if (in.read() < 0) {
+        return;
+      }
+    } catch (IOException e) {
+      // the plugin is gone
+      return;
+    }
+    released = true;
+    warmUp.join();
+
+    try {
+      Class.forName(mainClass).getMethod("main", String[].class).invoke(null, (Object) mainArgs);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void warmUp(String simulation, String mainClass) {
+    lowerPriority();
+    ClassLoader classLoader = HotStandbyMain.class.getClassLoader();
+    load(mainClass, classLoader);
+    load(simulation, classLoader);
+    for (Path jar : classpathJars()) {
+      String fileName = jar.getFileName().toString();
+      if (!fileName.startsWith("gatling-") || !Files.isRegularFile(jar)) {
+        continue;
+      }
+      try (JarFile jarFile = new JarFile(jar.toFile())) {
+        for (JarEntry entry : Collections.list(jarFile.entries())) {
+          if (released) {
+            return;
+          }
+          String name = entry.getName();
+          if (name.startsWith(CLASSES_PACKAGE)
+              && name.endsWith(".class")
+              && SKIPPED_PACKAGES.stream().noneMatch(name::startsWith)) {
+            load(
+                name.substring(0, name.length() - ".class".length()).replace('/', '.'),
+                classLoader);
+          }
+        }
+      } catch (IOException e) {
+        // only an optimization
+      }
+    }
+  }
+
+  /** Loads without initializing, which could have side effects. */
+  private static void load(String className, ClassLoader classLoader) {
+    try {
+      Class.forName(className, false, classLoader);
+    } catch (LinkageError | ClassNotFoundException e) {
+      // optional dependency missing, will fail the same way when actually used
+    }
+  }
+
+  /** Lowers the priority of the calling thread only, which Linux supports with renice. */
+  private static void lowerPriority() {
+    try {
+      // <pid>/task/<tid>
+      String threadId =
+          Files.readSymbolicLink(Path.of("/proc/thread-self")).getFileName().toString();
+      new ProcessBuilder("renice", "-n", "10", "-p", threadId)
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+          .redirectError(ProcessBuilder.Redirect.DISCARD)
+          .start()
+          .waitFor();
+    } catch (IOException | UnsupportedOperationException e) {
+      // not Linux
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return the jars of the classpath, including the ones referenced by the manifest of a pathing
+   *     jar
+   */
+  private static List<Path> classpathJars() {
+    List<Path> jars = new ArrayList<>();
+    for (String element : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      Path jar = Path.of(element);
+      if (!element.endsWith(".jar") || !Files.isRegularFile(jar)) {
+        continue;
+      }
+      jars.add(jar);
+      try (JarFile jarFile = new JarFile(jar.toFile())) {
+        Manifest manifest = jarFile.getManifest();
+        String classPath =
+            manifest != null
+                ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH)
+                : null;
+        if (classPath != null) {
+          for (String url : classPath.trim().split("\\s+")) {
+            try {
+              jars.add(Path.of(jar.toUri().resolve(url)));
+            } catch (IllegalArgumentException e) {
+              // not a file
+            }
+          }
+        }
+      } catch (IOException e) {
+        // only an optimization
+      }
+    }
+    return jars;
+  }
+}
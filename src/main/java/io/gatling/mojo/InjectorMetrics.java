@@ -0,0 +1,166 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The resources a forked Gatling run used to generate its load: the CPU time of its process,
+ * sampled while it runs until it starts generating its reports, and the collections and pauses of
+ * its garbage collector, from the GC log it writes with {@link #gcLogOption(File)}.
+ */
+final class InjectorMetrics extends DecoratingLogger implements AutoCloseable {
+
+  static final String GC_LOG = "gc.log";
+
+  private static final Pattern COLLECTION = Pattern.compile("\\bGC\\((\\d+)\\)");
+  // e.g. GC(3) Pause Young (Normal) (G1 Evacuation Pause) 25M->5M(256M) 3.456ms
+  private static final Pattern PAUSE = Pattern.compile("\\bPause\\b.*?(\\d+(?:\\.\\d+)?)ms\\s*$");
+
+  static final class GcLog {
+    final int collections;
+    final double pauseMillis;
+
+    GcLog(int collections, double pauseMillis) {
+      this.collections = collections;
+      this.pauseMillis = pauseMillis;
+    }
+  }
+
+  private final ForkId forkId;
+  private final Clock clock;
+  private final ScheduledExecutorService sampler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "gatling-injector-metrics");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private boolean loadOver;
+  private volatile Duration cpu;
+  // since the start of the fork
+  private volatile Duration elapsed;
+
+  /**
+   * @param forkId the id the fork is started with, to find its process
+   */
+  InjectorMetrics(PluginLogger delegate, ForkId forkId) {
+    this(delegate, forkId, Clock.systemUTC());
+  }
+
+  /**
+   * @param clock the clock the time elapsed since the start of the fork is measured with
+   */
+  InjectorMetrics(PluginLogger delegate, ForkId forkId, Clock clock) {
+    super(delegate);
+    this.forkId = forkId;
+    this.clock = clock;
+    sampler.scheduleWithFixedDelay(this::sample, 0, 500, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return the JVM option logging the collections and their phases to the GC log of the directory
+   */
+  static String gcLogOption(File directory) {
+    // quoted, for the colons of Windows paths
+    return "-Xlog:gc,gc+phases:file=\"" + new File(directory, GC_LOG).getAbsolutePath() + "\"";
+  }
+
+  @Override
+  void onOutput(String line) {
+    if (line.contains(ConsoleSummary.GENERATING_REPORTS)) {
+      synchronized (this) {
+        // the load is over, a sample in progress is dropped
+        loadOver = true;
+      }
+      sampler.shutdown();
+    }
+  }
+
+  /** Samples the CPU time of the fork, every 500 ms until the load is over. */
+  void sample() {
+    Optional<ProcessHandle.Info> fork = forkId.find().map(ProcessHandle::info);
+    if (fork.isPresent()
+        && fork.get().startInstant().isPresent()
+        && fork.get().totalCpuDuration().isPresent()) {
+      Instant now = clock.instant();
+      Duration totalCpu = fork.get().totalCpuDuration().get();
+      synchronized (this) {
+        if (!loadOver) {
+          elapsed = Duration.between(fork.get().startInstant().get(), now);
+          cpu = totalCpu;
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the CPU seconds of the fork at its last sample, NaN if it couldn't be sampled
+   */
+  double cpuSeconds() {
+    return cpu != null ? cpu.toNanos() / 1e9 : Double.NaN;
+  }
+
+  /**
+   * @return the average number of processors the fork kept busy, NaN if unknown
+   */
+  double cpuCores() {
+    return cpu != null && elapsed.toNanos() > 0
+        ? (double) cpu.toNanos() / elapsed.toNanos()
+        : Double.NaN;
+  }
+
+  static GcLog readGcLog(Path file) throws IOException {
+    Set<String> collections = new HashSet<>();
+    double pauseMillis = 0;
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        Matcher collection = COLLECTION.matcher(line);
+        if (collection.find()) {
+          collections.add(collection.group(1));
+        }
+        Matcher pause = PAUSE.matcher(line);
+        if (pause.find()) {
+          pauseMillis += Double.parseDouble(pause.group(1));
+        }
+      }
+    }
+    return new GcLog(collections.size(), pauseMillis);
+  }
+
+  @Override
+  public void close() {
+    sampler.shutdownNow();
+  }
+}
@@ -0,0 +1,125 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.*;
+
+/**
+ * A JDK and JVM options to run the simulations with, to compare the load generation capacity of
+ * injector runtimes, from the {@code <runtimes>} configuration, e.g.:
+ *
+ * <pre>{@code
+ * <runtime>
+ *   <name>jdk21-zgc</name>
+ *   <jdkVersion>21</jdkVersion>
+ *   <jvmArgs>
+ *     <jvmArg>-XX:+UseZGC</jvmArg>
+ *   </jvmArgs>
+ * </runtime>
+ * }</pre>
+ *
+ * The JDKs come from the toolchains of the build, configured in toolchains.xml.
+ */
+public final class InjectorRuntime {
+
+  /**
+   * Names the runtime in the comparison and its run directories. Derived from the rest when unset.
+   */
+  private String name;
+
+  /** The version of the JDK toolchain, e.g. 21 or [17,18). The JDK of the build when unset. */
+  private String jdkVersion;
+
+  /** The vendor of the JDK toolchain. Any vendor when unset. */
+  private String jdkVendor;
+
+  /** Added to the JVM options of the simulations. */
+  private List<String> jvmArgs;
+
+  List<String> jvmArgs() {
+    return jvmArgs != null ? jvmArgs : List.of();
+  }
+
+  /**
+   * @return the requirements of the JDK toolchain, empty for the JDK of the build
+   */
+  Map<String, String> requirements() {
+    Map<String, String> requirements = new LinkedHashMap<>();
+    if (jdkVersion != null) {
+      requirements.put("version", jdkVersion);
+    }
+    if (jdkVendor != null) {
+      requirements.put("vendor", jdkVendor);
+    }
+    return requirements;
+  }
+
+  /**
+   * @return how the runtime was configured, to record it with its runs
+   */
+  Map<String, String> properties() {
+    Map<String, String> properties = new LinkedHashMap<>();
+    properties.put("name", label());
+    if (jdkVersion != null) {
+      properties.put("jdkVersion", jdkVersion);
+    }
+    if (jdkVendor != null) {
+      properties.put("jdkVendor", jdkVendor);
+    }
+    properties.put("jvmArgs", String.join(" ", jvmArgs()));
+    return properties;
+  }
+
+  /**
+   * @return e.g. jdk21-zgc, or jdk 21 -XX:+UseZGC when unnamed
+   */
+  String label() {
+    if (name != null) {
+      return name;
+    }
+    List<String> parts = new ArrayList<>();
+    parts.add(jdkVersion != null ? "jdk " + jdkVersion : "build jdk");
+    if (jdkVendor != null) {
+      parts.add(jdkVendor);
+    }
+    parts.addAll(jvmArgs());
+    return String.join(" ", parts);
+  }
+
+  /**
+   * @return the label as a file name suffix
+   */
+  String suffix() {
+    return label().replaceAll("[^A-Za-z0-9.-]", "-");
+  }
+
+  /** For tests, Maven sets the fields directly. */
+  InjectorRuntime name(String name) {
+    this.name = name;
+    return this;
+  }
+
+  InjectorRuntime jdkVersion(String jdkVersion) {
+    this.jdkVersion = jdkVersion;
+    return this;
+  }
+
+  InjectorRuntime jvmArgs(List<String> jvmArgs) {
+    this.jvmArgs = jvmArgs;
+    return this;
+  }
+}
@@ -0,0 +1,250 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for the few documents the plugin needs to read, and string quoting for the
+ * few it writes, so that it doesn't have to depend on a JSON library. Objects are read as {@link
+ * Map}, arrays as {@link List}, numbers as {@link Double}.
+ */
+final class Json {
+
+  private final String input;
+  private int position;
+
+  private Json(String input) {
+    this.input = input;
+  }
+
+  static Object parse(String input) {
+    Json json = new Json(input);
+    json.skipWhitespace();
+    Object value = json.readValue();
+    json.skipWhitespace();
+    if (json.position != input.length()) {
+      throw json.error("Unexpected trailing content");
+    }
+    return value;
+  }
+
+  /**
+   * Navigates through nested objects.
+   *
+   * @return the value at the given path, or null if any element of the path is missing
+   */
+  static Object path(Object root, String... keys) {
+    Object current = root;
+    for (String key : keys) {
+      if (!(current instanceof Map)) {
+        return null;
+      }
+      current = ((Map<?, ?>) current).get(key);
+    }
+    return current;
+  }
+
+  /**
+   * @return the value as a JSON string literal, with its quotes
+   */
+  static String quote(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.append('"').toString();
+  }
+
+  private Object readValue() {
+    if (position >= input.length()) {
+      throw error("Unexpected end of input");
+    }
+    char c = input.charAt(position);
+    switch (c) {
+      case '{':
+        return readObject();
+      case '[':
+        return readArray();
+      case '"':
+        return readString();
+      case 't':
+        expect("true");
+        return Boolean.TRUE;
+      case 'f':
+        expect("false");
+        return Boolean.FALSE;
+      case 'n':
+        expect("null");
+        return null;
+      default:
+        return readNumber();
+    }
+  }
+
+  private Map<String, Object> readObject() {
+    Map<String, Object> object = new LinkedHashMap<>();
+    position++;
+    skipWhitespace();
+    if (peek() == '}') {
+      position++;
+      return object;
+    }
+    while (true) {
+      skipWhitespace();
+      String key = readString();
+      skipWhitespace();
+      consume(':');
+      skipWhitespace();
+      object.put(key, readValue());
+      skipWhitespace();
+      if (peek() == ',') {
+        position++;
+      } else {
+        consume('}');
+        return object;
+      }
+    }
+  }
+
+  private List<Object> readArray() {
+    List<Object> array = new ArrayList<>();
+    position++;
+    skipWhitespace();
+    if (peek() == ']') {
+      position++;
+      return array;
+    }
+    while (true) {
+      skipWhitespace();
+      array.add(readValue());
+      skipWhitespace();
+      if (peek() == ',') {
+        position++;
+      } else {
+        consume(']');
+        return array;
+      }
+    }
+  }
+
+  private String readString() {
+    consume('"');
+    StringBuilder sb = new StringBuilder();
+    while (true) {
+      if (position >= input.length()) {
+        throw error("Unterminated string");
+      }
+      char c = input.charAt(position++);
+      if (c == '"') {
+        return sb.toString();
+      } else if (c == '\\') {
+        char escaped = input.charAt(position++);
+        switch (escaped) {
+          case 'b':
+            sb.append('\b');
+            break;
+          case 'f':
+            sb.append('\f');
+            break;
+          case 'n':
+            sb.append('\n');
+            break;
+          case 'r':
+            sb.append('\r');
+            break;
+          case 't':
+            sb.append('\t');
+            break;
+          case 'u':
+            sb.append((char) Integer.parseInt(input.substring(position, position + 4), 16));
+            position += 4;
+            break;
+          default:
+            sb.append(escaped);
+        }
+      } else {
+        sb.append(c);
+      }
+    }
+  }
+
+  private Double readNumber() {
+    int start = position;
+    while (position < input.length() && "+-0123456789.eE".indexOf(input.charAt(position)) >= 0) {
+      position++;
+    }
+    if (start == position) {
+      throw error("Unexpected character '" + input.charAt(position) + "'");
+    }
+    return Double.valueOf(input.substring(start, position));
+  }
+
+  private void expect(String literal) {
+    if (!input.startsWith(literal, position)) {
+      throw error("Expected " + literal);
+    }
+    position += literal.length();
+  }
+
+  private void consume(char c) {
+    if (peek() != c) {
+      throw error("Expected '" + c + "'");
+    }
+    position++;
+  }
+
+  private char peek() {
+    return position < input.length() ? input.charAt(position) : 0;
+  }
+
+  private void skipWhitespace() {
+    while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+      position++;
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at position " + position);
+  }
+}
@@ -0,0 +1,308 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.gatling.plugin.io.PluginLogger;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Serves the metrics of the simulations in progress over HTTP, in the OpenMetrics and Prometheus
+ * text formats, so that they can be scraped during long runs.
+ *
+ * <p>Request, error and user counts are parsed from the console summary Gatling prints every few
+ * seconds, in the layouts of {@link ConsoleSummary}. Response time histograms come from tailing
+ * simulation.log, which is only possible with the text format of Gatling versions before 3.11:
+ * there are none with later versions.
+ */
+final class LiveMetrics implements AutoCloseable {
+
+  static final String PATH = "/metrics";
+
+  private static final String OPENMETRICS_CONTENT_TYPE =
+      "application/openmetrics-text; version=1.0.0; charset=utf-8";
+  private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final long[] BUCKETS_MILLIS = {
+    5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000
+  };
+
+  /** A response time histogram, whose buckets are summed up when rendered. */
+  private static final class Histogram {
+    private final LongAdder[] buckets = new LongAdder[BUCKETS_MILLIS.length + 1];
+    private final LongAdder sum = new LongAdder();
+
+    private Histogram() {
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] = new LongAdder();
+      }
+    }
+
+    private void record(long millis) {
+      int i = 0;
+      while (i < BUCKETS_MILLIS.length && millis > BUCKETS_MILLIS[i]) {
+        i++;
+      }
+      buckets[i].increment();
+      sum.add(millis);
+    }
+  }
+
+  private final Log log;
+  private final HttpServer server;
+
+  // metric family -> labels -> value, the labels being already rendered
+  private final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> counters =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> gauges =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Histogram> responseTimes = new ConcurrentHashMap<>();
+
+  private LiveMetrics(Log log, String host, int port) throws IOException {
+    this.log = log;
+    this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+    server.createContext(PATH, this::handle);
+    server.start();
+  }
+
+  /**
+   * @param port the port to listen to, 0 for any available one
+   */
+  static LiveMetrics start(Log log, String host, int port) throws IOException {
+    LiveMetrics metrics = new LiveMetrics(log, host, port);
+    log.info(
+        "Serving live metrics on http://"
+            + host
+            + ":"
+            + metrics.server.getAddress().getPort()
+            + PATH);
+    return metrics;
+  }
+
+  int port() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  /**
+   * Collects the metrics of one Gatling run from its output, and from the simulation.log file of
+   * the run directory it creates in the results folder.
+   */
+  final class Run extends DecoratingLogger implements AutoCloseable {
+    private final String simulation;
+    private final SimulationLogTail tail;
+
+    private String section = "";
+    private String scenario;
+    private boolean warnedLayout;
+
+    private Run(String simulation, PluginLogger delegate, File resultsFolder) {
+      super(delegate);
+      this.simulation = simulation;
+      gauge("gatling_simulation_running", "simulation", simulation).set(1);
+      this.tail = new SimulationLogTail(resultsFolder, log, this::onRequest);
+    }
+
+    /** Parses the console summary, whose counts are totals since the start of the run. */
+    @Override
+    synchronized void onOutput(String line) {
+      if (line.startsWith("=====")) {
+        section = "";
+        return;
+      }
+      Matcher matcher = ConsoleSummary.SECTION.matcher(line);
+      if (matcher.matches()) {
+        section = matcher.group(1);
+        scenario =
+            section.equals(ConsoleSummary.REQUESTS_SECTION)
+                    || section.equals(ConsoleSummary.ERRORS_SECTION)
+                ? null
+                : section;
+        return;
+      }
+      if (section.equals(ConsoleSummary.REQUESTS_SECTION)) {
+        ConsoleSummary.Request request = ConsoleSummary.request(line);
+        if (request != null) {
+          counter(
+                  "gatling_requests",
+                  "simulation",
+                  simulation,
+                  "request",
+                  request.name,
+                  "status",
+                  "ok")
+              .set(request.ok);
+          counter(
+                  "gatling_requests",
+                  "simulation",
+                  simulation,
+                  "request",
+                  request.name,
+                  "status",
+                  "ko")
+              .set(request.ko);
+        } else if (!warnedLayout && ConsoleSummary.unknownLayout(line)) {
+          warnedLayout = true;
+          log.warn(
+              "Unknown layout of the console summary, the live metrics of simulation "
+                  + simulation
+                  + " won't count its requests: "
+                  + line);
+        }
+      } else if (section.equals(ConsoleSummary.ERRORS_SECTION)) {
+        matcher = ConsoleSummary.ERROR.matcher(line);
+        if (matcher.matches()) {
+          counter("gatling_errors", "simulation", simulation, "error", matcher.group(1))
+              .set(Long.parseLong(matcher.group(2)));
+        }
+      } else if (scenario != null) {
+        matcher = ConsoleSummary.USERS.matcher(line);
+        while (matcher.find()) {
+          gauge(
+                  "gatling_users",
+                  "simulation",
+                  simulation,
+                  "scenario",
+                  scenario,
+                  "state",
+                  matcher.group(1))
+              .set(Long.parseLong(matcher.group(2)));
+        }
+      }
+    }
+
+    private void onRequest(String request, long start, long end, boolean ok) {
+      responseTimes
+          .computeIfAbsent(
+              labels("simulation", simulation, "request", request), labels -> new Histogram())
+          .record(end - start);
+    }
+
+    @Override
+    public void close() {
+      tail.close();
+      gauge("gatling_simulation_running", "simulation", simulation).set(0);
+    }
+  }
+
+  /**
+   * @param delegate where to relay the output of the run
+   */
+  Run run(String simulation, PluginLogger delegate, File resultsFolder) {
+    return new Run(simulation, delegate, resultsFolder);
+  }
+
+  private AtomicLong counter(String family, String... labels) {
+    return counters
+        .computeIfAbsent(family, f -> new ConcurrentHashMap<>())
+        .computeIfAbsent(labels(labels), l -> new AtomicLong());
+  }
+
+  private AtomicLong gauge(String family, String... labels) {
+    return gauges
+        .computeIfAbsent(family, f -> new ConcurrentHashMap<>())
+        .computeIfAbsent(labels(labels), l -> new AtomicLong());
+  }
+
+  private static String labels(String... namesAndValues) {
+    StringJoiner joiner = new StringJoiner(",");
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      String value =
+          namesAndValues[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+      joiner.add(namesAndValues[i] + "=\"" + value + "\"");
+    }
+    return joiner.toString();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String accept = exchange.getRequestHeaders().getFirst("Accept");
+      boolean openMetrics = accept != null && accept.contains("application/openmetrics-text");
+      byte[] body = render(openMetrics).getBytes(StandardCharsets.UTF_8);
+      exchange
+          .getResponseHeaders()
+          .set("Content-Type", openMetrics ? OPENMETRICS_CONTENT_TYPE : PROMETHEUS_CONTENT_TYPE);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  String render(boolean openMetrics) {
+    StringBuilder out = new StringBuilder();
+    for (String family : new TreeSet<>(counters.keySet())) {
+      // OpenMetrics names counter families without their _total suffix, Prometheus with it
+      out.append("# TYPE ").append(family).append(openMetrics ? "" : "_total").append(" counter\n");
+      new TreeMap<>(counters.get(family))
+          .forEach(
+              (labels, value) ->
+                  sample(out, family + "_total", labels, Long.toString(value.get())));
+    }
+    for (String family : new TreeSet<>(gauges.keySet())) {
+      out.append("# TYPE ").append(family).append(" gauge\n");
+      new TreeMap<>(gauges.get(family))
+          .forEach((labels, value) -> sample(out, family, labels, Long.toString(value.get())));
+    }
+    if (!responseTimes.isEmpty()) {
+      String family = "gatling_response_time_milliseconds";
+      out.append("# TYPE ").append(family).append(" histogram\n");
+      new TreeMap<>(responseTimes)
+          .forEach(
+              (labels, histogram) -> {
+                long cumulated = 0;
+                for (int i = 0; i < histogram.buckets.length; i++) {
+                  cumulated += histogram.buckets[i].sum();
+                  String le = i < BUCKETS_MILLIS.length ? Long.toString(BUCKETS_MILLIS[i]) : "+Inf";
+                  sample(
+                      out,
+                      family + "_bucket",
+                      labels + ",le=\"" + le + "\"",
+                      Long.toString(cumulated));
+                }
+                sample(out, family + "_count", labels, Long.toString(cumulated));
+                sample(out, family + "_sum", labels, Long.toString(histogram.sum.sum()));
+              });
+    }
+    if (openMetrics) {
+      out.append("# EOF\n");
+    }
+    return out.toString();
+  }
+
+  private static void sample(StringBuilder out, String name, String labels, String value) {
+    out.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+  }
+}
@@ -16,16 +16,24 @@
  */
 package io.gatling.mojo;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.maven.artifact.Artifact;
 
 public final class MojoUtils {
 
+  private static final long GRACEFUL_TERMINATION_SECONDS = 30;
+
   private MojoUtils() {}
 
   private static final Pattern FILE_URL_PATTERN = Pattern.compile("^.*file:(.*)!.*$");
@@ -66,4 +74,79 @@ public final class MojoUtils {
         .findFirst()
         .orElse(null);
   }
+
+  /**
+   * @param patterns groupId:artifactId patterns where both parts can be '*', may be null
+   */
+  static boolean matchingNone(Artifact artifact, Collection<String> patterns) {
+    if (patterns == null) {
+      return true;
+    }
+    for (String pattern : patterns) {
+      String[] parts = pattern.trim().split(":");
+      if (parts.length == 2
+          && (parts[0].equals("*") || parts[0].equals(artifact.getGroupId()))
+          && (parts[1].equals("*") || parts[1].equals(artifact.getArtifactId()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Asks a process to terminate, which lets a JVM run its shutdown hooks, and kills it if it's
+   * still alive after {@value #GRACEFUL_TERMINATION_SECONDS} seconds. Doesn't wait.
+   *
+   * @return false if the process couldn't be asked to terminate, nor killed
+   */
+  static boolean terminate(ProcessHandle process) {
+    if (!process.destroy()) {
+      return process.destroyForcibly();
+    }
+    process
+        .onExit()
+        .completeOnTimeout(null, GRACEFUL_TERMINATION_SECONDS, TimeUnit.SECONDS)
+        .thenRun(
+            () -> {
+              if (process.isAlive()) {
+                process.destroyForcibly();
+              }
+            });
+    return true;
+  }
+
+  /**
+   * Nice values are per thread on Linux, so renicing a started JVM only lowers the priority of its
+   * main thread: starting it with nice lowers the priority of every thread it creates.
+   *
+   * @return a script that runs this java executable with nice at this niceness, to be deleted once
+   *     the JVM ended, null on Windows, which has no nice
+   */
+  static Path niceJava(File java, int niceness) throws IOException {
+    if (System.getProperty("os.name").startsWith("Windows")) {
+      return null;
+    }
+    Path script =
+        Files.createTempFile(
+            "gatling-nice-java",
+            ".sh",
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+    Files.writeString(
+        script,
+        "#!/bin/sh\nexec nice -n "
+            + niceness
+            + " '"
+            + java.getAbsolutePath().replace("'", "'\\''")
+            + "' \"$@\"\n");
+    return script;
+  }
+
+  static String humanReadableSize(long bytes) {
+    if (bytes < 1024) {
+      return bytes + " B";
+    }
+    int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+    return String.format(
+        Locale.ROOT, "%.1f %siB", (double) bytes / (1L << (unit * 10)), "KMGTPE".charAt(unit - 1));
+  }
 }
@@ -0,0 +1,248 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.maven.artifact.Artifact;
+
+/**
+ * Computes which dependencies of an Enterprise package are reachable from the compiled simulations,
+ * by following the class references found in the constant pools of the class files.
+ *
+ * <p>Classes only loaded by reflection can't be detected: they must be declared as extra roots.
+ * Providers declared in {@code META-INF/services} are considered reachable as soon as their service
+ * interface is.
+ */
+final class PackageAnalyzer implements Closeable {
+
+  private static final String CLASS_SUFFIX = ".class";
+  private static final String SERVICES_PREFIX = "META-INF/services/";
+
+  static final class DependencyReport {
+    final Artifact artifact;
+    final long size;
+    final int classes;
+    final int reachableClasses;
+
+    private DependencyReport(Artifact artifact, long size, int classes, int reachableClasses) {
+      this.artifact = artifact;
+      this.size = size;
+      this.classes = classes;
+      this.reachableClasses = reachableClasses;
+    }
+
+    /** Jars without any class (e.g. resources only) can't be judged and are always reachable. */
+    boolean isReachable() {
+      return classes == 0 || reachableClasses > 0;
+    }
+  }
+
+  /** Where a class comes from: either a class directory or a dependency jar. */
+  private static final class Origin {
+    final Path directory;
+    final ZipFile jar;
+    final Artifact artifact;
+
+    Origin(Path directory, ZipFile jar, Artifact artifact) {
+      this.directory = directory;
+      this.jar = jar;
+      this.artifact = artifact;
+    }
+
+    InputStream open(String internalName) throws IOException {
+      String path = internalName + CLASS_SUFFIX;
+      return directory != null
+          ? Files.newInputStream(directory.resolve(path))
+          : jar.getInputStream(jar.getEntry(path));
+    }
+  }
+
+  private final Map<String, Origin> classIndex = new HashMap<>();
+  private final Map<String, List<String>> serviceProviders = new HashMap<>();
+  private final Map<Artifact, Integer> classCounts = new LinkedHashMap<>();
+  private final List<ZipFile> openJars = new ArrayList<>();
+
+  PackageAnalyzer(List<File> classDirectories, Collection<Artifact> dependencies)
+      throws IOException {
+    for (File classDirectory : classDirectories) {
+      indexDirectory(classDirectory.toPath());
+    }
+    for (Artifact dependency : dependencies) {
+      indexJar(dependency);
+    }
+  }
+
+  private void indexDirectory(Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    Origin origin = new Origin(directory, null, null);
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        String relativePath =
+            directory.relativize(file).toString().replace(File.separatorChar, '/');
+        if (relativePath.endsWith(CLASS_SUFFIX)) {
+          classIndex.putIfAbsent(internalName(relativePath), origin);
+        } else if (relativePath.startsWith(SERVICES_PREFIX)) {
+          try (InputStream is = Files.newInputStream(file)) {
+            indexServices(relativePath, is);
+          }
+        }
+      }
+    }
+  }
+
+  private void indexJar(Artifact dependency) throws IOException {
+    File file = dependency.getFile();
+    if (file == null || !file.isFile()) {
+      classCounts.put(dependency, 0);
+      return;
+    }
+    ZipFile jar = new ZipFile(file);
+    openJars.add(jar);
+    Origin origin = new Origin(null, jar, dependency);
+    int classes = 0;
+    Enumeration<? extends ZipEntry> entries = jar.entries();
+    while (entries.hasMoreElements()) {
+      ZipEntry entry = entries.nextElement();
+      String name = entry.getName();
+      if (name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/")) {
+        classes++;
+        classIndex.putIfAbsent(internalName(name), origin);
+      } else if (name.startsWith(SERVICES_PREFIX) && !entry.isDirectory()) {
+        try (InputStream is = jar.getInputStream(entry)) {
+          indexServices(name, is);
+        }
+      }
+    }
+    classCounts.put(dependency, classes);
+  }
+
+  private void indexServices(String path, InputStream is) throws IOException {
+    String service = path.substring(SERVICES_PREFIX.length()).replace('.', '/');
+    BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      int comment = line.indexOf('#');
+      String provider = (comment >= 0 ? line.substring(0, comment) : line).trim();
+      if (!provider.isEmpty()) {
+        serviceProviders
+            .computeIfAbsent(service, k -> new ArrayList<>())
+            .add(provider.replace('.', '/'));
+      }
+    }
+  }
+
+  private static String internalName(String classFilePath) {
+    return classFilePath.substring(0, classFilePath.length() - CLASS_SUFFIX.length());
+  }
+
+  /**
+   * @param rootDirectory the directory whose classes are the roots of the analysis, typically the
+   *     test classes directory containing the simulations
+   * @param extraRoots fully qualified class names, or package prefixes ending with '.', of classes
+   *     that are loaded reflectively
+   */
+  List<DependencyReport> analyze(File rootDirectory, Collection<String> extraRoots)
+      throws IOException {
+    Path rootPath = rootDirectory.toPath();
+    Deque<String> queue = new ArrayDeque<>();
+    classIndex.forEach(
+        (className, origin) -> {
+          if (rootPath.equals(origin.directory) || matchesAny(className, extraRoots)) {
+            queue.add(className);
+          }
+        });
+
+    Set<String> reachable = new HashSet<>();
+    while (!queue.isEmpty()) {
+      String className = queue.poll();
+      if (!reachable.add(className)) {
+        continue;
+      }
+      Origin origin = classIndex.get(className);
+      Set<String> references;
+      try (InputStream is = new BufferedInputStream(origin.open(className))) {
+        references = ClassFileReferences.read(is);
+      }
+      for (String reference : references) {
+        enqueue(reference, reachable, queue);
+        // the service interface may live outside the package, e.g. java.sql.Driver
+        for (String provider : serviceProviders.getOrDefault(reference, List.of())) {
+          enqueue(provider, reachable, queue);
+        }
+      }
+    }
+
+    Map<Artifact, Integer> reachableCounts = new HashMap<>();
+    for (String className : reachable) {
+      Artifact artifact = classIndex.get(className).artifact;
+      if (artifact != null) {
+        reachableCounts.merge(artifact, 1, Integer::sum);
+      }
+    }
+
+    return classCounts.entrySet().stream()
+        .map(
+            e -> {
+              File file = e.getKey().getFile();
+              long size = file != null ? file.length() : 0;
+              return new DependencyReport(
+                  e.getKey(), size, e.getValue(), reachableCounts.getOrDefault(e.getKey(), 0));
+            })
+        .sorted(Comparator.comparingLong((DependencyReport r) -> r.size).reversed())
+        .collect(Collectors.toList());
+  }
+
+  private void enqueue(String className, Set<String> reachable, Deque<String> queue) {
+    if (classIndex.containsKey(className) && !reachable.contains(className)) {
+      queue.add(className);
+    }
+  }
+
+  private static boolean matchesAny(String internalName, Collection<String> patterns) {
+    String className = internalName.replace('/', '.');
+    for (String pattern : patterns) {
+      if (pattern.endsWith(".") ? className.startsWith(pattern) : className.equals(pattern)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOException failure = null;
+    for (ZipFile jar : openJars) {
+      try {
+        jar.close();
+      } catch (IOException e) {
+        failure = e;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The combinations of system property values to run a simulation with, e.g. {@code users} with
+ * {@code 100,500} and {@code env} with {@code staging,prod} make 4 combinations.
+ */
+final class ParameterMatrix {
+
+  static final class Combination {
+    /** Sorted by name. */
+    final Map<String, String> properties;
+
+    Combination(Map<String, String> properties) {
+      this.properties = Collections.unmodifiableMap(new TreeMap<>(properties));
+    }
+
+    /**
+     * @return e.g. env=staging, users=100
+     */
+    String label() {
+      return properties.entrySet().stream()
+          .map(property -> property.getKey() + "=" + property.getValue())
+          .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @return the label as a file name suffix, e.g. env-staging_users-100
+     */
+    String suffix() {
+      return properties.entrySet().stream()
+          .map(property -> property.getKey() + "-" + property.getValue())
+          .map(part -> part.replaceAll("[^A-Za-z0-9.-]", "-"))
+          .collect(Collectors.joining("_"));
+    }
+
+    List<String> jvmArgs() {
+      return properties.entrySet().stream()
+          .map(property -> "-D" + property.getKey() + "=" + property.getValue())
+          .collect(Collectors.toList());
+    }
+  }
+
+  private ParameterMatrix() {}
+
+  /**
+   * @param matrix the comma separated values of each system property
+   * @return every combination of the values, the last property by name varying the fastest
+   */
+  static List<Combination> expand(Map<String, String> matrix) {
+    List<Map<String, String>> combinations = new ArrayList<>();
+    combinations.add(Map.of());
+    for (Map.Entry<String, String> property : new TreeMap<>(matrix).entrySet()) {
+      List<String> values =
+          Arrays.stream(property.getValue().split(","))
+              .map(String::trim)
+              .filter(value -> !value.isEmpty())
+              .collect(Collectors.toList());
+      if (values.isEmpty()) {
+        throw new IllegalArgumentException(
+            "No values for " + property.getKey() + " in gatling.matrix");
+      }
+      List<Map<String, String>> expanded = new ArrayList<>();
+      for (Map<String, String> combination : combinations) {
+        for (String value : values) {
+          Map<String, String> properties = new HashMap<>(combination);
+          properties.put(property.getKey().trim(), value);
+          expanded.add(properties);
+        }
+      }
+      combinations = expanded;
+    }
+    return combinations.stream().map(Combination::new).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,107 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * State shared by the Gatling goals of all the modules of a reactor build, which may run
+ * concurrently with -T: a limit on the number of concurrent Gatling runs, and the outcome of each
+ * module's runs for the aggregate verification.
+ */
+final class ReactorRuns {
+
+  private static final String SESSION_DATA_KEY = ReactorRuns.class.getName();
+
+  static final class ModuleRuns {
+    final String module;
+    final List<String> runDirectories;
+
+    /** Why the module's runs failed, null if they succeeded. */
+    final String error;
+
+    private ModuleRuns(String module, List<String> runDirectories, String error) {
+      this.module = module;
+      this.runDirectories = runDirectories;
+      this.error = error;
+    }
+  }
+
+  private final Map<String, ModuleRuns> modules = new ConcurrentHashMap<>();
+  private final Semaphore runs;
+  private final int maxConcurrentRuns;
+
+  private ReactorRuns(int maxConcurrentRuns) {
+    this.maxConcurrentRuns = maxConcurrentRuns;
+    this.runs = maxConcurrentRuns > 0 ? new Semaphore(maxConcurrentRuns, true) : null;
+  }
+
+  /**
+   * @param maxConcurrentRuns only used by the first module to get the state, 0 for no limit
+   */
+  static ReactorRuns of(MavenSession session, int maxConcurrentRuns) {
+    return (ReactorRuns)
+        session
+            .getRepositorySession()
+            .getData()
+            .computeIfAbsent(SESSION_DATA_KEY, () -> new ReactorRuns(maxConcurrentRuns));
+  }
+
+  int maxConcurrentRuns() {
+    return maxConcurrentRuns;
+  }
+
+  boolean tryAcquireRun() {
+    return runs == null || runs.tryAcquire();
+  }
+
+  /** Waits until fewer than the maximum number of Gatling runs are in progress in the reactor. */
+  void acquireRun() throws InterruptedException {
+    if (runs != null) {
+      runs.acquire();
+    }
+  }
+
+  void releaseRun() {
+    if (runs != null) {
+      runs.release();
+    }
+  }
+
+  void record(MavenProject project, List<String> runDirectories, String error) {
+    String module = project.getGroupId() + ":" + project.getArtifactId();
+    modules.put(module, new ModuleRuns(module, List.copyOf(runDirectories), error));
+  }
+
+  /**
+   * @return the runs recorded so far, in the reactor order
+   */
+  List<ModuleRuns> modules(MavenSession session) {
+    List<ModuleRuns> ordered = new ArrayList<>();
+    for (MavenProject project : session.getProjects()) {
+      ModuleRuns moduleRuns = modules.get(project.getGroupId() + ":" + project.getArtifactId());
+      if (moduleRuns != null) {
+        ordered.add(moduleRuns);
+      }
+    }
+    return ordered;
+  }
+}
@@ -19,13 +19,20 @@ package io.gatling.mojo;
 import static io.gatling.mojo.MojoConstants.RECORDER_MAIN_CLASS;
 
 import io.gatling.plugin.GatlingConstants;
+import io.gatling.plugin.io.PluginLogger;
 import io.gatling.plugin.util.Fork;
 import io.gatling.shared.cli.RecorderCliOptions;
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -39,7 +46,8 @@ import org.apache.maven.toolchain.Toolchain;
 @Mojo(
     name = "recorder",
     defaultPhase = LifecyclePhase.INTEGRATION_TEST,
-    requiresDependencyResolution = ResolutionScope.TEST)
+    requiresDependencyResolution = ResolutionScope.TEST,
+    threadSafe = true)
 public final class RecorderMojo extends AbstractGatlingMojo {
 
   /** The package of the generated class. */
@@ -53,8 +61,38 @@ public final class RecorderMojo extends AbstractGatlingMojo {
   @Parameter(property = "gatling.recorder.className", alias = "cn")
   private String className;
 
+  /**
+   * A directory of HAR files to convert into simulations without launching the recorder UI, one
+   * simulation per file, named after the file.
+   */
+  @Parameter(property = "gatling.recorder.harDirectory")
+  private File harDirectory;
+
+  /** The number of HAR files converted at the same time, 0 for the number of processors. */
+  @Parameter(property = "gatling.recorder.parallelism", defaultValue = "0")
+  private int parallelism;
+
+  // not in RecorderCliOptions, which only covers the options the plugins used so far
+  private static final String MODE_OPTION = "--mode";
+  private static final String HAR_MODE = "Har";
+  private static final String HAR_FILE_OPTION = "--har-file";
+  private static final String HEADLESS_OPTION = "--headless";
+
+  private static final class Conversion {
+    private final Path harFile;
+    private final String className;
+    private final List<String> output = Collections.synchronizedList(new ArrayList<>());
+    private long durationMillis;
+    private Exception error;
+
+    private Conversion(Path harFile, String className) {
+      this.harFile = harFile;
+      this.className = className;
+    }
+  }
+
   @Override
-  public void execute() throws MojoExecutionException, MojoFailureException {
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
 
     List<Path> testResourcesDirectories =
         mavenProject.getTestResources().stream()
@@ -108,10 +146,18 @@ public final class RecorderMojo extends AbstractGatlingMojo {
     }
 
     try {
-      List<String> testClasspath = buildTestClasspath();
-      List<String> recorderArgs =
-          recorderArgs(simulationsDirectory, format, testResourcesDirectory);
+      List<String> testClasspath;
+      try (BuildTrace.Span span = buildTrace.span("classpath resolution")) {
+        testClasspath = buildTestClasspath();
+      }
       Toolchain toolchain = toolchainManager.getToolchainFromBuildContext("jdk", session);
+      if (harDirectory != null) {
+        convertHarFiles(
+            simulationsDirectory, format, testResourcesDirectory, testClasspath, toolchain);
+        return;
+      }
+      List<String> recorderArgs =
+          recorderArgs(simulationsDirectory, format, testResourcesDirectory, className);
       Fork forkedRecorder =
           newFork(
               RECORDER_MAIN_CLASS,
@@ -120,7 +166,9 @@ public final class RecorderMojo extends AbstractGatlingMojo {
               recorderArgs,
               toolchain,
               null);
-      forkedRecorder.run();
+      try (BuildTrace.Span span = buildTrace.span("recorder")) {
+        forkedRecorder.run();
+      }
     } catch (MojoExecutionException | MojoFailureException e) {
       throw e;
     } catch (Exception e) {
@@ -128,8 +176,219 @@ public final class RecorderMojo extends AbstractGatlingMojo {
     }
   }
 
+  private void convertHarFiles(
+      Path simulationsDirectory,
+      String format,
+      Path testResourcesDirectory,
+      List<String> testClasspath,
+      Toolchain toolchain)
+      throws Exception {
+    List<Path> harFiles;
+    try (Stream<Path> files = Files.list(harDirectory.toPath())) {
+      harFiles =
+          files
+              .filter(
+                  file ->
+                      Files.isRegularFile(file)
+                          && file.getFileName()
+                              .toString()
+                              .toLowerCase(Locale.ROOT)
+                              .endsWith(".har"))
+              .sorted()
+              .collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not list the HAR files of " + harDirectory, e);
+    }
+    if (harFiles.isEmpty()) {
+      throw new MojoFailureException("No .har files in " + harDirectory);
+    }
+    if (className != null) {
+      getLog().warn("Ignoring gatling.recorder.className, simulations are named after HAR files");
+    }
+
+    Set<String> classNames = new HashSet<>();
+    List<Conversion> conversions = new ArrayList<>();
+    for (Path harFile : harFiles) {
+      String base = harClassName(harFile);
+      String name = base;
+      for (int i = 2; !classNames.add(name); i++) {
+        name = base + i;
+      }
+      conversions.add(new Conversion(harFile, name));
+    }
+
+    int threads =
+        Math.min(
+            parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+            conversions.size());
+    getLog()
+        .info(
+            "Converting "
+                + conversions.size()
+                + " HAR files from "
+                + harDirectory
+                + " into "
+                + simulationsDirectory
+                + ", "
+                + threads
+                + " at a time");
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            threads,
+            r -> {
+              Thread thread = new Thread(r, "gatling-har-conversion");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try (BuildTrace.Span span = buildTrace.span("har conversion")) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (Conversion conversion : conversions) {
+        futures.add(
+            pool.submit(
+                () ->
+                    convert(
+                        conversion,
+                        recorderArgs(
+                            simulationsDirectory,
+                            format,
+                            testResourcesDirectory,
+                            conversion.className),
+                        testClasspath,
+                        toolchain)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    logConversions(conversions);
+  }
+
+  private Void convert(
+      Conversion conversion,
+      List<String> recorderArgs,
+      List<String> testClasspath,
+      Toolchain toolchain)
+      throws IOException {
+    List<String> args = new ArrayList<>(recorderArgs);
+    args.addAll(
+        List.of(
+            MODE_OPTION,
+            HAR_MODE,
+            HAR_FILE_OPTION,
+            conversion.harFile.toFile().getCanonicalPath(),
+            HEADLESS_OPTION,
+            "true"));
+    // the output of concurrent conversions would interleave: only the failed ones' is shown
+    PluginLogger logger =
+        new PluginLogger() {
+          @Override
+          public void debug(String message) {
+            conversion.output.add(message);
+          }
+
+          @Override
+          public void info(String message) {
+            conversion.output.add(message);
+          }
+
+          @Override
+          public void error(String message) {
+            conversion.output.add(message);
+          }
+        };
+    long start = System.nanoTime();
+    try {
+      newFork(
+              RECORDER_MAIN_CLASS,
+              testClasspath,
+              GatlingConstants.DEFAULT_JVM_OPTIONS_BASE,
+              args,
+              toolchain,
+              null,
+              logger)
+          .run();
+    } catch (Exception e) {
+      conversion.error = e;
+    }
+    conversion.durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    return null;
+  }
+
+  private void logConversions(List<Conversion> conversions) throws MojoFailureException {
+    int nameWidth =
+        Math.max(
+            conversions.stream()
+                .mapToInt(conversion -> conversion.harFile.getFileName().toString().length())
+                .max()
+                .orElse(0),
+            8);
+    String format = "%-" + nameWidth + "s  %-40s  %9s  %s";
+    getLog().info(String.format(format, "HAR file", "Simulation", "Time (ms)", "Result"));
+    List<String> failed = new ArrayList<>();
+    for (Conversion conversion : conversions) {
+      String harFileName = conversion.harFile.getFileName().toString();
+      getLog()
+          .info(
+              String.format(
+                  format,
+                  harFileName,
+                  packageName + "." + conversion.className,
+                  conversion.durationMillis,
+                  conversion.error == null ? "OK" : "KO"));
+      if (conversion.error != null) {
+        failed.add(harFileName);
+      }
+    }
+    for (Conversion conversion : conversions) {
+      if (conversion.error != null) {
+        getLog()
+            .error(
+                "Failed to convert " + conversion.harFile + ": " + conversion.error.getMessage());
+        synchronized (conversion.output) {
+          conversion.output.forEach(getLog()::error);
+        }
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new MojoFailureException(
+          "Failed to convert "
+              + failed.size()
+              + " of "
+              + conversions.size()
+              + " HAR files: "
+              + String.join(", ", failed));
+    }
+  }
+
+  /**
+   * @return the HAR file name as a class name, e.g. Checkout for checkout.har and CheckoutFlow for
+   *     checkout-flow.har
+   */
+  static String harClassName(Path harFile) {
+    String fileName = harFile.getFileName().toString();
+    String baseName = fileName.substring(0, fileName.length() - ".har".length());
+    StringBuilder className = new StringBuilder();
+    boolean upperCase = true;
+    for (char c : baseName.toCharArray()) {
+      if (Character.isJavaIdentifierPart(c) && c != '_' && c != '$') {
+        className.append(upperCase ? Character.toUpperCase(c) : c);
+        upperCase = false;
+      } else {
+        upperCase = true;
+      }
+    }
+    if (className.length() == 0 || !Character.isJavaIdentifierStart(className.charAt(0))) {
+      className.insert(0, "Har");
+    }
+    return className.toString();
+  }
+
   private List<String> recorderArgs(
-      Path simulationsDirectory, String format, Path testResourcesDirectory) throws Exception {
+      Path simulationsDirectory, String format, Path testResourcesDirectory, String className)
+      throws IOException {
     List<String> args =
         new ArrayList<>(
             List.of(
@@ -0,0 +1,147 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Rewrites a jar so that its bytes only depend on its content: entries are sorted by name, their
+ * timestamps are all set to the same instant and the manifest attributes are written in a stable
+ * order.
+ */
+final class ReproducibleJar {
+
+  /** Used when {@code project.build.outputTimestamp} is not configured. */
+  static final Instant DEFAULT_OUTPUT_TIMESTAMP = Instant.parse("1980-01-01T00:00:02Z");
+
+  private ReproducibleJar() {}
+
+  /**
+   * Parses {@code project.build.outputTimestamp} the same way the Maven archiver does.
+   *
+   * @return the parsed timestamp, or null if the value is not set or explicitly disabled (a single
+   *     non digit character)
+   */
+  static Instant parseOutputTimestamp(String outputTimestamp) {
+    if (outputTimestamp == null
+        || outputTimestamp.isEmpty()
+        || (outputTimestamp.length() == 1 && !Character.isDigit(outputTimestamp.charAt(0)))) {
+      return null;
+    }
+    if (outputTimestamp.chars().allMatch(Character::isDigit)) {
+      return Instant.ofEpochSecond(Long.parseLong(outputTimestamp));
+    }
+    try {
+      return OffsetDateTime.parse(outputTimestamp, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+          .toInstant();
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException(
+          "Invalid project.build.outputTimestamp '"
+              + outputTimestamp
+              + "', expected an ISO-8601 date with an offset (e.g. 2024-01-01T00:00:00Z) or a"
+              + " number of seconds since the epoch",
+          e);
+    }
+  }
+
+  static void normalize(File jar, Instant timestamp) throws IOException {
+    Path source = jar.toPath();
+    Path target = Files.createTempFile(source.toAbsolutePath().getParent(), jar.getName(), ".tmp");
+    try {
+      try (ZipFile zipFile = new ZipFile(jar);
+          ZipOutputStream out =
+              new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+        // keep the local DOS time fields equal to the UTC ones, whatever the host time zone
+        long time = timestamp.toEpochMilli();
+        time -= TimeZone.getDefault().getOffset(time);
+
+        for (String name : sortedEntryNames(zipFile)) {
+          ZipEntry entry = new ZipEntry(name);
+          entry.setTime(time);
+          out.putNextEntry(entry);
+          if (name.equals(JarFile.MANIFEST_NAME)) {
+            writeManifest(zipFile, zipFile.getEntry(name), out);
+          } else if (!name.endsWith("/")) {
+            try (InputStream is = zipFile.getInputStream(zipFile.getEntry(name))) {
+              is.transferTo(out);
+            }
+          }
+          out.closeEntry();
+        }
+      }
+      Files.move(target, source, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(target);
+    }
+  }
+
+  private static List<String> sortedEntryNames(ZipFile zipFile) {
+    Set<String> names = new TreeSet<>();
+    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+    while (entries.hasMoreElements()) {
+      names.add(entries.nextElement().getName());
+    }
+
+    // JarInputStream expects the manifest to be the first entry, possibly after its directory
+    List<String> sorted = new ArrayList<>(names.size());
+    for (String first : List.of("META-INF/", JarFile.MANIFEST_NAME)) {
+      if (names.remove(first)) {
+        sorted.add(first);
+      }
+    }
+    sorted.addAll(names);
+    return sorted;
+  }
+
+  private static void writeManifest(ZipFile zipFile, ZipEntry entry, OutputStream out)
+      throws IOException {
+    Manifest original;
+    try (InputStream is = zipFile.getInputStream(entry)) {
+      original = new Manifest(is);
+    }
+
+    Manifest manifest = new Manifest();
+    copySorted(original.getMainAttributes(), manifest.getMainAttributes());
+    new TreeMap<>(original.getEntries())
+        .forEach(
+            (name, attributes) -> {
+              Attributes copy = new Attributes();
+              copySorted(attributes, copy);
+              manifest.getEntries().put(name, copy);
+            });
+    manifest.write(out);
+  }
+
+  private static void copySorted(Attributes from, Attributes to) {
+    from.entrySet().stream()
+        .sorted(Comparator.comparing(e -> e.getKey().toString()))
+        .forEach(e -> to.put(e.getKey(), e.getValue()));
+  }
+}
@@ -0,0 +1,303 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Samples the CPU, memory, network and disk usage of the host from /proc at a fixed interval, so
+ * that a saturated host can be told apart from a saturated system under test. Linux only.
+ *
+ * <p>Samples are written to a binary file, big-endian:
+ *
+ * <ul>
+ *   <li>header: int magic "GRS1", short version 1, int interval in ms, long start epoch ms, long
+ *       total memory in bytes, int CPU count
+ *   <li>then one 28 bytes record per sample: int ms since start, short CPU busy and short CPU
+ *       iowait in hundredths of percent, int used memory in MiB, then float network received,
+ *       network sent, disk read and disk written, in bytes per second since the previous sample
+ * </ul>
+ */
+final class ResourceSampler implements AutoCloseable {
+
+  private static final int MAGIC = 0x47525331;
+  private static final short VERSION = 1;
+  private static final long MIB = 1024 * 1024;
+  private static final int SECTOR_SIZE = 512;
+
+  private static final Path PROC_STAT = Path.of("/proc/stat");
+  private static final Path PROC_MEMINFO = Path.of("/proc/meminfo");
+  private static final Path PROC_NET_DEV = Path.of("/proc/net/dev");
+  private static final Path PROC_DISKSTATS = Path.of("/proc/diskstats");
+  private static final Path SYS_BLOCK = Path.of("/sys/block");
+
+  /** Cumulative counters read at one point in time. */
+  private static final class Counters {
+    private final long nanos = System.nanoTime();
+    private long cpuTotal;
+    private long cpuIdle;
+    private long cpuIoWait;
+    private long memoryTotal;
+    private long memoryAvailable;
+    private long networkReceived;
+    private long networkSent;
+    private long diskRead;
+    private long diskWritten;
+  }
+
+  /** Average and peak of one metric. */
+  private static final class Stat {
+    private double sum;
+    private double max;
+    private int count;
+
+    private void add(double value) {
+      sum += value;
+      max = count == 0 ? value : Math.max(max, value);
+      count++;
+    }
+
+    private double average() {
+      return count > 0 ? sum / count : 0;
+    }
+  }
+
+  private final Path file;
+  private final Log log;
+  private final DataOutputStream out;
+  private final long startNanos = System.nanoTime();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "gatling-resource-sampler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Stat cpuBusy = new Stat();
+  private final Stat cpuIoWait = new Stat();
+  private final Stat memoryUsed = new Stat();
+  private final Stat networkReceived = new Stat();
+  private final Stat networkSent = new Stat();
+  private final Stat diskRead = new Stat();
+  private final Stat diskWritten = new Stat();
+
+  private Counters previous;
+  private IOException error;
+
+  private ResourceSampler(Path file, long intervalMillis, Log log) throws IOException {
+    this.file = file;
+    this.log = log;
+    this.previous = read();
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    out.writeInt(MAGIC);
+    out.writeShort(VERSION);
+    out.writeInt((int) intervalMillis);
+    out.writeLong(System.currentTimeMillis());
+    out.writeLong(previous.memoryTotal);
+    out.writeInt(Runtime.getRuntime().availableProcessors());
+    scheduler.scheduleAtFixedRate(
+        this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @return the started sampler, or null if the host has no /proc to sample
+   */
+  static ResourceSampler start(Path file, long intervalMillis, Log log) {
+    if (!Files.isReadable(PROC_STAT)) {
+      log.warn("Resource sampling is only available on Linux, skipping it");
+      return null;
+    }
+    try {
+      return new ResourceSampler(file, intervalMillis, log);
+    } catch (IOException e) {
+      log.warn("Failed to start resource sampling: " + e.getMessage());
+      return null;
+    }
+  }
+
+  Path file() {
+    return file;
+  }
+
+  private synchronized void sample() {
+    if (error != null) {
+      return;
+    }
+    try {
+      Counters current = read();
+      double seconds = (current.nanos - previous.nanos) / 1e9;
+      long cpuTotal = current.cpuTotal - previous.cpuTotal;
+      double busy = cpuTotal > 0 ? 1 - (double) (current.cpuIdle - previous.cpuIdle) / cpuTotal : 0;
+      double ioWait =
+          cpuTotal > 0 ? (double) (current.cpuIoWait - previous.cpuIoWait) / cpuTotal : 0;
+      long used = current.memoryTotal - current.memoryAvailable;
+      float received = (float) ((current.networkReceived - previous.networkReceived) / seconds);
+      float sent = (float) ((current.networkSent - previous.networkSent) / seconds);
+      float read = (float) ((current.diskRead - previous.diskRead) / seconds);
+      float written = (float) ((current.diskWritten - previous.diskWritten) / seconds);
+      previous = current;
+
+      out.writeInt((int) TimeUnit.NANOSECONDS.toMillis(current.nanos - startNanos));
+      out.writeShort((int) Math.round(busy * 10_000));
+      out.writeShort((int) Math.round(ioWait * 10_000));
+      out.writeInt((int) (used / MIB));
+      out.writeFloat(received);
+      out.writeFloat(sent);
+      out.writeFloat(read);
+      out.writeFloat(written);
+
+      cpuBusy.add(busy);
+      cpuIoWait.add(ioWait);
+      memoryUsed.add(used);
+      networkReceived.add(received);
+      networkSent.add(sent);
+      diskRead.add(read);
+      diskWritten.add(written);
+    } catch (IOException e) {
+      error = e;
+    }
+  }
+
+  private static Counters read() throws IOException {
+    Counters counters = new Counters();
+
+    // cpu  user nice system idle iowait irq softirq steal guest guest_nice
+    String[] cpu = Files.readAllLines(PROC_STAT).get(0).trim().split("\\s+");
+    for (int i = 1; i <= 8 && i < cpu.length; i++) {
+      counters.cpuTotal += Long.parseLong(cpu[i]);
+    }
+    counters.cpuIoWait = Long.parseLong(cpu[5]);
+    counters.cpuIdle = Long.parseLong(cpu[4]) + counters.cpuIoWait;
+
+    for (String line : Files.readAllLines(PROC_MEMINFO)) {
+      if (line.startsWith("MemTotal:")) {
+        counters.memoryTotal = kibibytes(line);
+      } else if (line.startsWith("MemAvailable:")) {
+        counters.memoryAvailable = kibibytes(line);
+      }
+    }
+
+    List<String> interfaces = Files.readAllLines(PROC_NET_DEV);
+    // the first two lines are headers
+    for (String line : interfaces.subList(Math.min(2, interfaces.size()), interfaces.size())) {
+      int colon = line.indexOf(':');
+      if (colon < 0 || line.substring(0, colon).trim().equals("lo")) {
+        continue;
+      }
+      String[] fields = line.substring(colon + 1).trim().split("\\s+");
+      counters.networkReceived += Long.parseLong(fields[0]);
+      counters.networkSent += Long.parseLong(fields[8]);
+    }
+
+    if (Files.isReadable(PROC_DISKSTATS)) {
+      for (String line : Files.readAllLines(PROC_DISKSTATS)) {
+        String[] fields = line.trim().split("\\s+");
+        String device = fields[2];
+        // only whole devices, whose partitions would otherwise be counted twice
+        if (device.startsWith("loop")
+            || device.startsWith("ram")
+            || !Files.exists(SYS_BLOCK.resolve(device))) {
+          continue;
+        }
+        counters.diskRead += Long.parseLong(fields[5]) * SECTOR_SIZE;
+        counters.diskWritten += Long.parseLong(fields[9]) * SECTOR_SIZE;
+      }
+    }
+    return counters;
+  }
+
+  private static long kibibytes(String meminfoLine) {
+    String[] fields = meminfoLine.trim().split("\\s+");
+    return Long.parseLong(fields[1]) * 1024;
+  }
+
+  @Override
+  public void close() throws IOException {
+    // not interrupting a sample in progress, its reads of /proc would fail
+    scheduler.shutdown();
+    try {
+      if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+        scheduler.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      scheduler.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    synchronized (this) {
+      out.close();
+      if (error != null) {
+        log.warn("Resource sampling stopped early: " + error.getMessage());
+      }
+    }
+  }
+
+  /**
+   * @return the average and peak of each metric, one per line
+   */
+  synchronized List<String> summary() {
+    String format = "%-18s  %12s  %12s";
+    return List.of(
+        String.format(format, "Host resource", "average", "peak"),
+        row(format, "CPU busy", percent(cpuBusy.average()), percent(cpuBusy.max)),
+        row(format, "CPU iowait", percent(cpuIoWait.average()), percent(cpuIoWait.max)),
+        row(format, "Memory used", bytes(memoryUsed.average()), bytes(memoryUsed.max)),
+        row(
+            format,
+            "Network received",
+            bytesPerSecond(networkReceived.average()),
+            bytesPerSecond(networkReceived.max)),
+        row(
+            format,
+            "Network sent",
+            bytesPerSecond(networkSent.average()),
+            bytesPerSecond(networkSent.max)),
+        row(format, "Disk read", bytesPerSecond(diskRead.average()), bytesPerSecond(diskRead.max)),
+        row(
+            format,
+            "Disk written",
+            bytesPerSecond(diskWritten.average()),
+            bytesPerSecond(diskWritten.max)));
+  }
+
+  private static String row(String format, String name, String average, String peak) {
+    return String.format(format, name, average, peak);
+  }
+
+  private static String percent(double ratio) {
+    return String.format(Locale.ROOT, "%.1f%%", ratio * 100);
+  }
+
+  private static String bytes(double bytes) {
+    return MojoUtils.humanReadableSize((long) bytes);
+  }
+
+  private static String bytesPerSecond(double bytes) {
+    return bytes(bytes) + "/s";
+  }
+}
@@ -0,0 +1,75 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+/**
+ * Response time histogram buckets: one per millisecond up to 64 ms, then 32 buckets per power of 2,
+ * so about 3% wide, up to 2^31 ms.
+ */
+final class ResponseTimeBuckets {
+
+  private static final int SUB_BUCKETS = 32;
+  private static final int MAX_EXPONENT = 30;
+
+  static final int COUNT = 2 * SUB_BUCKETS + (MAX_EXPONENT - 5) * SUB_BUCKETS;
+
+  private ResponseTimeBuckets() {}
+
+  static int bucket(long millis) {
+    long value = Math.min(Math.max(millis, 0), (1L << (MAX_EXPONENT + 1)) - 1);
+    if (value < 2 * SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - 5;
+    return 2 * SUB_BUCKETS + (exponent - 6) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+  }
+
+  /**
+   * @return the highest value of a bucket
+   */
+  static long upperBound(int bucket) {
+    if (bucket < 2 * SUB_BUCKETS) {
+      return bucket;
+    }
+    int k = bucket - 2 * SUB_BUCKETS;
+    int shift = k / SUB_BUCKETS + 1;
+    long subBucket = k % SUB_BUCKETS + SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  /**
+   * @param counts the count of each bucket
+   * @param percentile between 0 and 100
+   * @return the upper bound of the bucket of the percentile, NaN if there are no values
+   */
+  static double percentile(long[] counts, double percentile) {
+    long total = 0;
+    for (long count : counts) {
+      total += count;
+    }
+    long rank = Math.max((long) Math.ceil(total * percentile / 100), 1);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return Double.NaN;
+  }
+}
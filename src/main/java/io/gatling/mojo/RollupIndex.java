@@ -0,0 +1,339 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * The requests of a run rolled up per second, in a memory-mapped file: the OK and KO counts of each
+ * second and a histogram of its response times, so that the statistics of any time range can be
+ * computed without parsing simulation.log again.
+ *
+ * <p>Layout: a header of a magic number, the number of buckets, the epoch second the run started at
+ * and the number of seconds, followed by a record per second of the OK count, the KO count and the
+ * count of each bucket, all ints. Only the text simulation.log of Gatling versions before 3.11 can
+ * be indexed, later versions write a binary file, whose format is internal to Gatling.
+ */
+final class RollupIndex implements AutoCloseable {
+
+  static final String FILE = "rollup.idx";
+
+  /** The shortest steady state, in seconds. */
+  static final int MIN_STEADY_STATE_SECONDS = 10;
+
+  private static final int MAGIC = 0x47524958;
+  private static final int HEADER_BYTES = 2 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+  private static final int RECORD_BYTES = (2 + ResponseTimeBuckets.COUNT) * Integer.BYTES;
+  private static final int GROWTH_SECONDS = 300;
+
+  /** The throughput is averaged over this many seconds before looking for a steady state. */
+  private static final int SMOOTHING_SECONDS = 10;
+
+  /** The statistics of a range of seconds. */
+  static final class Window {
+    /** Seconds since the start of the run, inclusive. */
+    final int from;
+
+    /** Seconds since the start of the run, exclusive. */
+    final int to;
+
+    final long ok;
+    final long ko;
+    private final long[] histogram;
+
+    private Window(int from, int to, long ok, long ko, long[] histogram) {
+      this.from = from;
+      this.to = to;
+      this.ok = ok;
+      this.ko = ko;
+      this.histogram = histogram;
+    }
+
+    double requestsPerSecond() {
+      return to > from ? (double) (ok + ko) / (to - from) : 0;
+    }
+
+    double errorRatio() {
+      return ok + ko > 0 ? (double) ko / (ok + ko) : 0;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return in milliseconds, about 3% above the actual value, NaN without requests
+     */
+    double percentile(double percentile) {
+      return ResponseTimeBuckets.percentile(histogram, percentile);
+    }
+
+    /**
+     * @return e.g. 1000 requests, 33.3 req/s, 0.10% errors, p50 12 ms, p95 45 ms, p99 80 ms, max
+     *     210 ms
+     */
+    String summary() {
+      return String.format(
+          Locale.ROOT,
+          "%d requests, %.1f req/s, %.2f%% errors, p50 %.0f ms, p95 %.0f ms, p99 %.0f ms, max %.0f"
+              + " ms",
+          ok + ko,
+          requestsPerSecond(),
+          errorRatio() * 100,
+          percentile(50),
+          percentile(95),
+          percentile(99),
+          percentile(100));
+    }
+  }
+
+  private final FileChannel channel;
+  private final long startSecond;
+  private MappedByteBuffer buffer;
+  private int seconds;
+
+  private RollupIndex(FileChannel channel, MappedByteBuffer buffer, long startSecond, int seconds) {
+    this.channel = channel;
+    this.buffer = buffer;
+    this.startSecond = startSecond;
+    this.seconds = seconds;
+  }
+
+  /**
+   * Indexes simulation.log in a single pass.
+   *
+   * @return the index, open, null if simulation.log isn't in the text format
+   */
+  static RollupIndex build(Path simulationLog, Path file) throws IOException {
+    // a binary file isn't even valid UTF-8
+    if (!SimulationLogTail.isText(simulationLog)) {
+      return null;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(simulationLog, StandardCharsets.UTF_8)) {
+      String header = reader.readLine();
+      FileChannel channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      RollupIndex index = new RollupIndex(channel, null, startSecond(header), 0);
+      try {
+        index.grow(GROWTH_SECONDS);
+        String line;
+        while ((line = reader.readLine()) != null) {
+          SimulationLogTail.onRecord(line, (request, start, end, ok) -> index.add(start, end, ok));
+        }
+        index.buffer.putInt(0, MAGIC);
+        index.buffer.putInt(Integer.BYTES, ResponseTimeBuckets.COUNT);
+        index.buffer.putLong(2 * Integer.BYTES, index.startSecond);
+        index.buffer.putInt(2 * Integer.BYTES + Long.BYTES, index.seconds);
+        index.buffer.force();
+        return index;
+      } catch (UncheckedIOException e) {
+        index.close();
+        throw e.getCause();
+      } catch (IOException | RuntimeException e) {
+        index.close();
+        throw e;
+      }
+    }
+  }
+
+  /** RUN, simulation class, simulation id, start epoch millis, description, Gatling version */
+  private static long startSecond(String header) throws IOException {
+    String[] fields = header.split("\t");
+    for (int i = 1; i < fields.length; i++) {
+      try {
+        return Math.floorDiv(Long.parseLong(fields[i]), 1000);
+      } catch (NumberFormatException e) {
+        // not the start yet
+      }
+    }
+    throw new IOException("No start time in the run record of simulation.log");
+  }
+
+  static RollupIndex open(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.capacity() < HEADER_BYTES
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(Integer.BYTES) != ResponseTimeBuckets.COUNT) {
+        throw new IOException(file + " isn't a rollup index of this plugin version");
+      }
+      int seconds = buffer.getInt(2 * Integer.BYTES + Long.BYTES);
+      if (buffer.capacity() < HEADER_BYTES + (long) seconds * RECORD_BYTES) {
+        throw new IOException(file + " is truncated");
+      }
+      return new RollupIndex(channel, buffer, buffer.getLong(2 * Integer.BYTES), seconds);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void add(long start, long end, boolean ok) {
+    int second = (int) Math.max(Math.floorDiv(end, 1000) - startSecond, 0);
+    if (second >= seconds) {
+      seconds = second + 1;
+      grow(seconds);
+    }
+    int record = HEADER_BYTES + second * RECORD_BYTES;
+    increment(record + (ok ? 0 : Integer.BYTES));
+    increment(record + (2 + ResponseTimeBuckets.bucket(end - start)) * Integer.BYTES);
+  }
+
+  private void increment(int offset) {
+    buffer.putInt(offset, buffer.getInt(offset) + 1);
+  }
+
+  /** Maps enough of the file for this many seconds, and more, so as to not remap every second. */
+  private void grow(int seconds) {
+    long size = HEADER_BYTES + (long) seconds * RECORD_BYTES;
+    if (buffer != null && size <= buffer.capacity()) {
+      return;
+    }
+    size += (long) GROWTH_SECONDS * RECORD_BYTES;
+    if (size > Integer.MAX_VALUE) {
+      throw new UncheckedIOException(new IOException("Run too long to be indexed"));
+    }
+    try {
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return the epoch second the run started at
+   */
+  long startSecond() {
+    return startSecond;
+  }
+
+  int seconds() {
+    return seconds;
+  }
+
+  long[] requestsPerSecond() {
+    long[] requests = new long[seconds];
+    for (int second = 0; second < seconds; second++) {
+      int record = HEADER_BYTES + second * RECORD_BYTES;
+      requests[second] = buffer.getInt(record) + buffer.getInt(record + Integer.BYTES);
+    }
+    return requests;
+  }
+
+  /**
+   * @param from seconds since the start of the run, inclusive
+   * @param to seconds since the start of the run, exclusive
+   */
+  Window window(int from, int to) {
+    int first = Math.max(from, 0);
+    int last = Math.min(to, seconds);
+    long ok = 0;
+    long ko = 0;
+    long[] histogram = new long[ResponseTimeBuckets.COUNT];
+    for (int second = first; second < last; second++) {
+      int record = HEADER_BYTES + second * RECORD_BYTES;
+      ok += buffer.getInt(record);
+      ko += buffer.getInt(record + Integer.BYTES);
+      for (int bucket = 0; bucket < histogram.length; bucket++) {
+        histogram[bucket] += buffer.getInt(record + (2 + bucket) * Integer.BYTES);
+      }
+    }
+    return new Window(first, Math.max(first, last), ok, ko, histogram);
+  }
+
+  /**
+   * Looks for the longest range of seconds whose throughput, averaged over {@value
+   * #SMOOTHING_SECONDS} seconds, varies by no more than the tolerance: ramp ups and ramp downs,
+   * whose throughput keeps on changing, are left out.
+   *
+   * @param tolerance how much higher than the lowest throughput of the range the highest may be,
+   *     e.g. 0.2 for 20%
+   * @return the range of seconds, from inclusive and to exclusive, null if none lasts at least
+   *     {@value #MIN_STEADY_STATE_SECONDS} seconds
+   */
+  static int[] steadyState(long[] requestsPerSecond, double tolerance) {
+    int length = requestsPerSecond.length;
+    long[] cumulated = new long[length + 1];
+    for (int second = 0; second < length; second++) {
+      cumulated[second + 1] = cumulated[second] + requestsPerSecond[second];
+    }
+    double[] smoothed = new double[length];
+    for (int second = 0; second < length; second++) {
+      int start = Math.max(second - SMOOTHING_SECONDS / 2, 0);
+      int end = Math.min(start + SMOOTHING_SECONDS, length);
+      smoothed[second] = (double) (cumulated[end] - cumulated[start]) / (end - start);
+    }
+
+    // sliding range, with the candidates for its lowest and highest throughputs
+    Deque<Integer> lowest = new ArrayDeque<>();
+    Deque<Integer> highest = new ArrayDeque<>();
+    int from = 0;
+    int bestFrom = 0;
+    int bestTo = 0;
+    for (int to = 0; to < length; to++) {
+      double value = smoothed[to];
+      if (value <= 0) {
+        // idle, can't be part of a steady state
+        lowest.clear();
+        highest.clear();
+        from = to + 1;
+        continue;
+      }
+      while (!lowest.isEmpty() && smoothed[lowest.peekLast()] >= value) {
+        lowest.pollLast();
+      }
+      lowest.addLast(to);
+      while (!highest.isEmpty() && smoothed[highest.peekLast()] <= value) {
+        highest.pollLast();
+      }
+      highest.addLast(to);
+      while (smoothed[highest.peekFirst()] > smoothed[lowest.peekFirst()] * (1 + tolerance)) {
+        from++;
+        if (lowest.peekFirst() < from) {
+          lowest.pollFirst();
+        }
+        if (highest.peekFirst() < from) {
+          highest.pollFirst();
+        }
+      }
+      if (to + 1 - from > bestTo - bestFrom) {
+        bestFrom = from;
+        bestTo = to + 1;
+      }
+    }
+    return bestTo - bestFrom >= MIN_STEADY_STATE_SECONDS ? new int[] {bestFrom, bestTo} : null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,206 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Per-request statistics of finished runs, and how they vary across repeated runs.
+ *
+ * <p>Statistics are read from the js/stats.json file of the run's report rather than from
+ * simulation.log, whose format is internal to Gatling and changes between versions.
+ */
+final class RunStatistics {
+
+  static final String GLOBAL = "All Requests";
+  static final String STATS_FILE = "js/stats.json";
+
+  /** Two-sided 95% Student t values, indexed by degrees of freedom. */
+  private static final double[] T_95 = {
+    Double.NaN,
+    12.706,
+    4.303,
+    3.182,
+    2.776,
+    2.571,
+    2.447,
+    2.365,
+    2.306,
+    2.262,
+    2.228,
+    2.201,
+    2.179,
+    2.160,
+    2.145,
+    2.131,
+    2.120,
+    2.110,
+    2.101,
+    2.093,
+    2.086,
+    2.080,
+    2.074,
+    2.069,
+    2.064,
+    2.060,
+    2.056,
+    2.052,
+    2.048,
+    2.045,
+    2.042
+  };
+
+  private static final double Z_95 = 1.96;
+
+  static final class Request {
+    final long count;
+    final long failed;
+    final double meanResponseTime;
+
+    /** The third percentile of the reports, the 95th unless changed in gatling.conf. */
+    final double p95;
+
+    /** The highest percentile of the reports, the 99th unless changed in gatling.conf. */
+    final double p99;
+
+    final double requestsPerSecond;
+
+    Request(
+        long count,
+        long failed,
+        double meanResponseTime,
+        double p95,
+        double p99,
+        double requestsPerSecond) {
+      this.count = count;
+      this.failed = failed;
+      this.meanResponseTime = meanResponseTime;
+      this.p95 = p95;
+      this.p99 = p99;
+      this.requestsPerSecond = requestsPerSecond;
+    }
+
+    double errorRatio() {
+      return count > 0 ? (double) failed / count : 0;
+    }
+  }
+
+  /** Mean of a sample with its 95% confidence interval. */
+  static final class Variation {
+    final int samples;
+    final double mean;
+    final double standardDeviation;
+    final double confidenceInterval;
+
+    private Variation(int samples, double mean, double standardDeviation) {
+      this.samples = samples;
+      this.mean = mean;
+      this.standardDeviation = standardDeviation;
+      this.confidenceInterval =
+          samples > 1 ? tValue(samples - 1) * standardDeviation / Math.sqrt(samples) : Double.NaN;
+    }
+
+    /**
+     * @return the standard deviation relative to the mean
+     */
+    double coefficientOfVariation() {
+      return mean != 0 ? standardDeviation / mean : 0;
+    }
+  }
+
+  private RunStatistics() {}
+
+  /**
+   * @return the statistics of the requests of a run, keyed by their path, groups and requests
+   *     separated with " / ", plus the {@value #GLOBAL} total
+   */
+  static Map<String, Request> read(File runDirectory) throws IOException {
+    Path statsFile = runDirectory.toPath().resolve(STATS_FILE);
+    if (!Files.isRegularFile(statsFile)) {
+      throw new IOException("Missing " + statsFile + ", were the reports generated?");
+    }
+    Object root;
+    try {
+      root = Json.parse(Files.readString(statsFile, StandardCharsets.UTF_8));
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Failed to parse " + statsFile + ": " + e.getMessage(), e);
+    }
+    Map<String, Request> requests = new LinkedHashMap<>();
+    requests.put(GLOBAL, request(Json.path(root, "stats")));
+    collect(Json.path(root, "contents"), "", requests);
+    return requests;
+  }
+
+  private static void collect(Object contents, String prefix, Map<String, Request> requests) {
+    if (!(contents instanceof Map)) {
+      return;
+    }
+    for (Object element : ((Map<?, ?>) contents).values()) {
+      String name = prefix + Json.path(element, "name");
+      if ("GROUP".equals(Json.path(element, "type"))) {
+        collect(Json.path(element, "contents"), name + " / ", requests);
+      } else {
+        requests.put(name, request(Json.path(element, "stats")));
+      }
+    }
+  }
+
+  private static Request request(Object stats) {
+    return new Request(
+        (long) number(stats, "numberOfRequests", "total"),
+        (long) number(stats, "numberOfRequests", "ko"),
+        number(stats, "meanResponseTime", "total"),
+        number(stats, "percentiles3", "total"),
+        number(stats, "percentiles4", "total"),
+        number(stats, "meanNumberOfRequestsPerSecond", "total"));
+  }
+
+  /** Depending on the Gatling version, numbers are either JSON numbers or strings. */
+  private static double number(Object root, String... keys) {
+    Object value = Json.path(root, keys);
+    if (value instanceof Double) {
+      return (Double) value;
+    }
+    if (value instanceof String) {
+      try {
+        return Double.parseDouble((String) value);
+      } catch (NumberFormatException e) {
+        // "-" when there's no value
+      }
+    }
+    return 0;
+  }
+
+  static Variation variation(double[] values) {
+    double mean = Arrays.stream(values).average().orElse(0);
+    double squares = 0;
+    for (double value : values) {
+      squares += (value - mean) * (value - mean);
+    }
+    double standardDeviation = values.length > 1 ? Math.sqrt(squares / (values.length - 1)) : 0;
+    return new Variation(values.length, mean, standardDeviation);
+  }
+
+  private static double tValue(int degreesOfFreedom) {
+    return degreesOfFreedom < T_95.length ? T_95[degreesOfFreedom] : Z_95;
+  }
+}
@@ -0,0 +1,156 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The duration and outcome of the last run of each simulation, used to order the simulations of the
+ * next runs.
+ *
+ * <p>Stored as a text file with one {@code simulation<TAB>duration in ms<TAB>OK|KO} line per
+ * simulation.
+ */
+final class SimulationHistory {
+
+  static final String FILE = "simulations-history.txt";
+
+  enum Order {
+    /** As selected, i.e. as listed or discovered. */
+    DECLARED,
+    /** Simulations that failed last time first, then the fastest ones, for quick feedback. */
+    FAILED_FIRST,
+    SHORTEST_FIRST,
+    /** The longest simulations first, so that parallel runs end at about the same time. */
+    LONGEST_FIRST;
+
+    /**
+     * @param name the name in camel case, e.g. failedFirst
+     */
+    static Order parse(String name) {
+      for (Order order : values()) {
+        if (order.name().replace("_", "").equalsIgnoreCase(name.trim())) {
+          return order;
+        }
+      }
+      throw new IllegalArgumentException(
+          "Unknown simulations order "
+              + name
+              + ", expected one of declared, failedFirst, shortestFirst and longestFirst");
+    }
+  }
+
+  static final class Entry {
+    final long durationMillis;
+    final boolean failed;
+
+    Entry(long durationMillis, boolean failed) {
+      this.durationMillis = durationMillis;
+      this.failed = failed;
+    }
+  }
+
+  private final Map<String, Entry> entries;
+
+  SimulationHistory(Map<String, Entry> entries) {
+    this.entries = new TreeMap<>(entries);
+  }
+
+  /**
+   * @return the history, empty if the file doesn't exist
+   */
+  static SimulationHistory read(Path file) throws IOException {
+    Map<String, Entry> entries = new HashMap<>();
+    if (Files.isRegularFile(file)) {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        String[] fields = line.split("\t");
+        if (fields.length != 3) {
+          continue;
+        }
+        try {
+          entries.put(fields[0], new Entry(Long.parseLong(fields[1]), "KO".equals(fields[2])));
+        } catch (NumberFormatException e) {
+          // written by a future version, or corrupted: ignored like a missing entry
+        }
+      }
+    }
+    return new SimulationHistory(entries);
+  }
+
+  void write(Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        writer.write(
+            entry.getKey()
+                + "\t"
+                + entry.getValue().durationMillis
+                + "\t"
+                + (entry.getValue().failed ? "KO" : "OK"));
+        writer.newLine();
+      }
+    }
+  }
+
+  Entry get(String simulation) {
+    return entries.get(simulation);
+  }
+
+  void record(String simulation, long durationMillis, boolean failed) {
+    entries.put(simulation, new Entry(durationMillis, failed));
+  }
+
+  /**
+   * Simulations without history are considered the longest ones: they run last when running the
+   * shortest first, first when running the longest first. Otherwise, the declared order is kept.
+   *
+   * @return the simulations in the order to run them
+   */
+  List<String> order(List<String> simulations, Order order) {
+    Comparator<String> shortestFirst =
+        Comparator.comparingLong(
+            simulation -> {
+              Entry entry = entries.get(simulation);
+              return entry != null ? entry.durationMillis : Long.MAX_VALUE;
+            });
+    List<String> ordered = new ArrayList<>(simulations);
+    switch (order) {
+      case FAILED_FIRST:
+        ordered.sort(
+            Comparator.<String, Boolean>comparing(
+                    simulation -> {
+                      Entry entry = entries.get(simulation);
+                      return entry == null || !entry.failed;
+                    })
+                .thenComparing(shortestFirst));
+        break;
+      case SHORTEST_FIRST:
+        ordered.sort(shortestFirst);
+        break;
+      case LONGEST_FIRST:
+        ordered.sort(shortestFirst.reversed());
+        break;
+      default:
+        break;
+    }
+    return ordered;
+  }
+}
@@ -0,0 +1,244 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Follows the simulation.log file of the run directory a Gatling run creates in the results folder,
+ * and hands over its requests as they're written.
+ *
+ * <p>Only the text format of Gatling versions before 3.11 can be followed: later versions write a
+ * binary file, whose format is internal to Gatling.
+ */
+final class SimulationLogTail implements AutoCloseable {
+
+  /** The start of the text format, whose first record describes the run. */
+  static final String TEXT_HEADER = "RUN\t";
+
+  private static final int READ_SIZE = 1 << 20;
+
+  interface Listener {
+    /**
+     * @param start the epoch millis the request was sent at
+     * @param end the epoch millis its response was received at
+     */
+    void onRequest(String request, long start, long end, boolean ok);
+  }
+
+  private final File resultsFolder;
+  private final Set<File> preExistingRunDirectories;
+  private final Log log;
+  private final Listener listener;
+  private final Thread thread;
+
+  private volatile boolean closed;
+  private volatile boolean binary;
+  private RandomAccessFile simulationLog;
+
+  /** Whether the rest of a record longer than READ_SIZE is still to be skipped. */
+  private boolean skippingRecord;
+
+  /**
+   * @param resultsFolder where the run will create its directory, which mustn't exist yet
+   */
+  SimulationLogTail(File resultsFolder, Log log, Listener listener) {
+    this.resultsFolder = resultsFolder;
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    this.preExistingRunDirectories = directories == null ? Set.of() : Set.of(directories);
+    this.log = log;
+    this.listener = listener;
+    this.thread = new Thread(this::tail, "gatling-simulation-log-tail");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * @return true once the simulation.log file turned out to be binary
+   */
+  boolean binary() {
+    return binary;
+  }
+
+  private void tail() {
+    try {
+      while (!closed) {
+        read();
+        try {
+          TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+          // closed, one last read for the end of the run
+          break;
+        }
+      }
+      read();
+    } catch (IOException e) {
+      log.warn("Stopped following simulation.log: " + e.getMessage());
+    } finally {
+      if (simulationLog != null) {
+        try {
+          simulationLog.close();
+        } catch (IOException e) {
+          // only read
+        }
+      }
+    }
+  }
+
+  private void read() throws IOException {
+    if (binary || simulationLog == null && !open()) {
+      return;
+    }
+    while (true) {
+      long position = simulationLog.getFilePointer();
+      long length = simulationLog.length();
+      if (length <= position) {
+        return;
+      }
+      byte[] bytes = new byte[(int) Math.min(length - position, READ_SIZE)];
+      simulationLog.readFully(bytes);
+      int start = 0;
+      if (skippingRecord) {
+        while (start < bytes.length && bytes[start] != '\n') {
+          start++;
+        }
+        if (start == bytes.length) {
+          continue;
+        }
+        skippingRecord = false;
+        start++;
+      }
+      // only complete lines, the last one may still be being written
+      int end = bytes.length;
+      while (end > start && bytes[end - 1] != '\n') {
+        end--;
+      }
+      if (end == start) {
+        if (bytes.length - start == READ_SIZE) {
+          // e.g. a KO message with a whole response body, only its timestamps would matter
+          log.debug("Skipping a record of simulation.log longer than " + READ_SIZE + " bytes");
+          skippingRecord = true;
+          continue;
+        }
+        simulationLog.seek(position + start);
+        return;
+      }
+      simulationLog.seek(position + end);
+      for (String line :
+          new String(bytes, start, end - start, StandardCharsets.UTF_8).split("\n")) {
+        onRecord(line, listener);
+      }
+    }
+  }
+
+  private boolean open() throws IOException {
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    if (directories == null) {
+      return false;
+    }
+    for (File directory : directories) {
+      Path file = directory.toPath().resolve("simulation.log");
+      if (!preExistingRunDirectories.contains(directory) && Files.isRegularFile(file)) {
+        RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r");
+        byte[] start = new byte[4];
+        if (raf.read(start) < start.length) {
+          // the header isn't written yet
+          raf.close();
+          return false;
+        }
+        if (!new String(start, StandardCharsets.US_ASCII).equals(TEXT_HEADER)) {
+          raf.close();
+          log.info(
+              "This Gatling version writes a binary simulation.log, response times can't be"
+                  + " followed during the run");
+          binary = true;
+          return false;
+        }
+        raf.seek(0);
+        simulationLog = raf;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true if simulation.log is written as text, false if it's binary or still empty
+   */
+  static boolean isText(Path simulationLog) throws IOException {
+    byte[] start = new byte[TEXT_HEADER.length()];
+    try (InputStream in = Files.newInputStream(simulationLog)) {
+      return in.readNBytes(start, 0, start.length) == start.length
+          && new String(start, StandardCharsets.US_ASCII).equals(TEXT_HEADER);
+    }
+  }
+
+  /** REQUEST, [user id,] group, name, start, end, OK|KO, message */
+  static void onRecord(String line, Listener listener) {
+    String[] fields = line.split("\t");
+    int start = requestStart(fields);
+    if (start > 0) {
+      listener.onRequest(
+          fields[start - 1],
+          Long.parseLong(fields[start]),
+          Long.parseLong(fields[start + 1]),
+          fields[start + 2].equals("OK"));
+    }
+  }
+
+  /**
+   * @return the index of the start timestamp of a request record, followed by its end timestamp
+   *     and its status, and preceded by its name, -1 if it's not a request record
+   */
+  static int requestStart(String[] fields) {
+    if (!fields[0].equals("REQUEST")) {
+      return -1;
+    }
+    for (int i = 2; i + 2 < fields.length; i++) {
+      if (fields[i + 2].equals("OK") || fields[i + 2].equals("KO")) {
+        try {
+          Long.parseLong(fields[i]);
+          Long.parseLong(fields[i + 1]);
+          return i;
+        } catch (NumberFormatException e) {
+          // not the timestamps yet
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    thread.interrupt();
+    try {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
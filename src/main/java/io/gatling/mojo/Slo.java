@@ -0,0 +1,111 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+/**
+ * A service level objective evaluated against the statistics of each run, from the {@code <slos>}
+ * configuration, e.g.:
+ *
+ * <pre>{@code
+ * <slo>
+ *   <request>search*</request>
+ *   <maxP95>500</maxP95>
+ *   <maxErrorRatio>0.01</maxErrorRatio>
+ * </slo>
+ * }</pre>
+ *
+ * Unset limits aren't checked.
+ */
+public final class Slo {
+
+  /**
+   * The requests the limits apply to, each one separately: a name, or a pattern where * matches any
+   * characters, grouped requests being named {@code group / request}. The total of all the requests
+   * when unset.
+   */
+  private String request;
+
+  /** In milliseconds. */
+  private Double maxMean;
+
+  /** In milliseconds, the third percentile of the reports, the 95th unless changed. */
+  private Double maxP95;
+
+  /** In milliseconds, the fourth percentile of the reports, the 99th unless changed. */
+  private Double maxP99;
+
+  /** The ratio of failed requests, e.g. 0.01 for 1%. */
+  private Double maxErrorRatio;
+
+  /** In requests per second. */
+  private Double minThroughput;
+
+  String request() {
+    return request;
+  }
+
+  Double maxMean() {
+    return maxMean;
+  }
+
+  Double maxP95() {
+    return maxP95;
+  }
+
+  Double maxP99() {
+    return maxP99;
+  }
+
+  Double maxErrorRatio() {
+    return maxErrorRatio;
+  }
+
+  Double minThroughput() {
+    return minThroughput;
+  }
+
+  /** For tests, Maven sets the fields directly. */
+  Slo request(String request) {
+    this.request = request;
+    return this;
+  }
+
+  Slo maxMean(Double maxMean) {
+    this.maxMean = maxMean;
+    return this;
+  }
+
+  Slo maxP95(Double maxP95) {
+    this.maxP95 = maxP95;
+    return this;
+  }
+
+  Slo maxP99(Double maxP99) {
+    this.maxP99 = maxP99;
+    return this;
+  }
+
+  Slo maxErrorRatio(Double maxErrorRatio) {
+    this.maxErrorRatio = maxErrorRatio;
+    return this;
+  }
+
+  Slo minThroughput(Double minThroughput) {
+    this.minThroughput = minThroughput;
+    return this;
+  }
+}
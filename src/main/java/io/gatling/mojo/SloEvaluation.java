@@ -0,0 +1,206 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Evaluates {@link Slo}s against the statistics of a run, and writes the outcome as a JUnit XML
+ * report, one test case per limit and request, so that CI servers show them like tests.
+ */
+final class SloEvaluation {
+
+  static final String JUNIT_FILE = "TEST-slos.xml";
+
+  static final class Check {
+    final String request;
+    final String metric;
+    final String operator;
+    final double limit;
+    final String unit;
+
+    /** NaN when no request matches the SLO. */
+    final double actual;
+
+    private Check(
+        String request, String metric, String operator, double limit, String unit, double actual) {
+      this.request = request;
+      this.metric = metric;
+      this.operator = operator;
+      this.limit = limit;
+      this.unit = unit;
+      this.actual = actual;
+    }
+
+    boolean skipped() {
+      return Double.isNaN(actual);
+    }
+
+    boolean passed() {
+      return skipped() || (operator.equals("<=") ? actual <= limit : actual >= limit);
+    }
+
+    /**
+     * @return e.g. search: p95 <= 500 ms
+     */
+    String name() {
+      return skipped()
+          ? request + ": " + metric
+          : request + ": " + metric + " " + operator + " " + format(limit) + unit;
+    }
+
+    /**
+     * @return e.g. search: p95 was 612 ms, expected <= 500 ms
+     */
+    String describe() {
+      if (skipped()) {
+        return request + ": no such request";
+      }
+      return request
+          + ": "
+          + metric
+          + " was "
+          + format(actual)
+          + unit
+          + ", expected "
+          + operator
+          + " "
+          + format(limit)
+          + unit;
+    }
+  }
+
+  private SloEvaluation() {}
+
+  /**
+   * @param requests the statistics of a run, see {@link RunStatistics#read}
+   */
+  static List<Check> evaluate(List<Slo> slos, Map<String, RunStatistics.Request> requests) {
+    List<Check> checks = new ArrayList<>();
+    for (Slo slo : slos) {
+      String pattern = slo.request() != null ? slo.request() : RunStatistics.GLOBAL;
+      Pattern regex = glob(pattern);
+      boolean matched = false;
+      for (Map.Entry<String, RunStatistics.Request> entry : requests.entrySet()) {
+        String name = entry.getKey();
+        // the total only when explicitly asked for, not with patterns such as *
+        if (!regex.matcher(name).matches()
+            || name.equals(RunStatistics.GLOBAL) && !pattern.equals(RunStatistics.GLOBAL)) {
+          continue;
+        }
+        matched = true;
+        RunStatistics.Request request = entry.getValue();
+        check(checks, name, "mean", "<=", slo.maxMean(), " ms", request.meanResponseTime);
+        check(checks, name, "p95", "<=", slo.maxP95(), " ms", request.p95);
+        check(checks, name, "p99", "<=", slo.maxP99(), " ms", request.p99);
+        check(checks, name, "error ratio", "<=", slo.maxErrorRatio(), "", request.errorRatio());
+        check(
+            checks,
+            name,
+            "throughput",
+            ">=",
+            slo.minThroughput(),
+            " req/s",
+            request.requestsPerSecond);
+      }
+      if (!matched) {
+        checks.add(new Check(pattern, "any limit", "", Double.NaN, "", Double.NaN));
+      }
+    }
+    return checks;
+  }
+
+  private static void check(
+      List<Check> checks,
+      String request,
+      String metric,
+      String operator,
+      Double limit,
+      String unit,
+      double actual) {
+    if (limit != null) {
+      checks.add(new Check(request, metric, operator, limit, unit, actual));
+    }
+  }
+
+  static Pattern glob(String glob) {
+    StringBuilder regex = new StringBuilder();
+    for (String part : glob.split("\\*", -1)) {
+      if (regex.length() > 0) {
+        regex.append(".*");
+      }
+      regex.append(Pattern.quote(part));
+    }
+    return Pattern.compile(regex.toString());
+  }
+
+  private static String format(double value) {
+    return value == Math.rint(value)
+        ? Long.toString((long) value)
+        : String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  static void writeJUnit(Path file, String suite, List<Check> checks) throws IOException {
+    long failures = checks.stream().filter(check -> !check.passed()).count();
+    long skipped = checks.stream().filter(Check::skipped).count();
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      writer.write(
+          "<testsuite name=\""
+              + escape(suite)
+              + "\" tests=\""
+              + checks.size()
+              + "\" failures=\""
+              + failures
+              + "\" errors=\"0\" skipped=\""
+              + skipped
+              + "\">\n");
+      for (Check check : checks) {
+        writer.write(
+            "  <testcase classname=\""
+                + escape(suite)
+                + "\" name=\""
+                + escape(check.name())
+                + "\"");
+        if (check.skipped()) {
+          writer.write(">\n    <skipped message=\"" + escape(check.describe()) + "\"/>\n");
+          writer.write("  </testcase>\n");
+        } else if (!check.passed()) {
+          writer.write(">\n    <failure message=\"" + escape(check.describe()) + "\"/>\n");
+          writer.write("  </testcase>\n");
+        } else {
+          writer.write("/>\n");
+        }
+      }
+      writer.write("</testsuite>\n");
+    }
+  }
+
+  private static String escape(String value) {
+    return value
+        .replace("&", "&amp;")
+        .replace("<", "&lt;")
+        .replace(">", "&gt;")
+        .replace("\"", "&quot;");
+  }
+}
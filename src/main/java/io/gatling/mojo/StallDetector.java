@@ -0,0 +1,304 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Watches a forked Gatling run for progress, and captures thread dumps and a class histogram of the
+ * fork with jcmd when it makes none for too long, e.g. because of a deadlocked feeder or an
+ * exhausted connection pool. Optionally terminates the fork.
+ *
+ * <p>A run makes progress when the request totals of the console summary change or when its
+ * simulation.log grows. It's watched from its first console summary until its reports are being
+ * generated.
+ */
+final class StallDetector extends DecoratingLogger implements AutoCloseable {
+
+  private static final DateTimeFormatter DIRECTORY_TIMESTAMP =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss", Locale.ROOT);
+
+  private final Log log;
+  private final String simulation;
+  private final ForkId forkId;
+  private final File resultsFolder;
+  private final Set<File> preExistingRunDirectories;
+  private final long timeoutNanos;
+  private final int threadDumps;
+  private final long threadDumpIntervalMillis;
+  private final boolean abort;
+  private final LongSupplier nanoTime;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "gatling-stall-detector");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private boolean inRequests;
+  private boolean watching;
+  private long requests = -1;
+  private long simulationLogSize = -1;
+  private long lastProgressNanos;
+  private boolean stalled;
+  private boolean warnedLayout;
+  private volatile String abortReason;
+
+  /**
+   * @param forkId the id the fork is started with, to find its process
+   * @param resultsFolder where the run will create its directory, which mustn't exist yet
+   */
+  StallDetector(
+      PluginLogger delegate,
+      Log log,
+      String simulation,
+      ForkId forkId,
+      File resultsFolder,
+      int timeoutSeconds,
+      int threadDumps,
+      int threadDumpIntervalSeconds,
+      boolean abort) {
+    this(
+        delegate,
+        log,
+        simulation,
+        forkId,
+        resultsFolder,
+        timeoutSeconds,
+        threadDumps,
+        threadDumpIntervalSeconds,
+        abort,
+        System::nanoTime);
+  }
+
+  /**
+   * @param nanoTime the clock the progress is timed with
+   */
+  StallDetector(
+      PluginLogger delegate,
+      Log log,
+      String simulation,
+      ForkId forkId,
+      File resultsFolder,
+      int timeoutSeconds,
+      int threadDumps,
+      int threadDumpIntervalSeconds,
+      boolean abort,
+      LongSupplier nanoTime) {
+    super(delegate);
+    this.log = log;
+    this.simulation = simulation;
+    this.forkId = forkId;
+    this.resultsFolder = resultsFolder;
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    this.preExistingRunDirectories = directories == null ? Set.of() : Set.of(directories);
+    this.timeoutNanos = TimeUnit.SECONDS.toNanos(timeoutSeconds);
+    this.threadDumps = threadDumps;
+    this.threadDumpIntervalMillis = TimeUnit.SECONDS.toMillis(threadDumpIntervalSeconds);
+    this.abort = abort;
+    this.nanoTime = nanoTime;
+    scheduler.scheduleWithFixedDelay(this::check, 1, 1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * @return why the fork was terminated, null if it wasn't
+   */
+  String abortReason() {
+    return abortReason;
+  }
+
+  @Override
+  synchronized void onOutput(String line) {
+    if (line.contains(ConsoleSummary.GENERATING_REPORTS)) {
+      watching = false;
+      scheduler.shutdown();
+      return;
+    }
+    Matcher matcher = ConsoleSummary.SECTION.matcher(line);
+    if (matcher.matches()) {
+      inRequests = matcher.group(1).equals(ConsoleSummary.REQUESTS_SECTION);
+      return;
+    }
+    if (!inRequests) {
+      return;
+    }
+    if (!warnedLayout && ConsoleSummary.unknownLayout(line)) {
+      warnedLayout = true;
+      log.warn(
+          "Unknown layout of the console summary, the stall detection of simulation "
+              + simulation
+              + " can't follow its requests: "
+              + line);
+    }
+    ConsoleSummary.Request request = ConsoleSummary.request(line);
+    if (request != null && request.name.equals(ConsoleSummary.GLOBAL)) {
+      inRequests = false;
+      long total = request.ok + request.ko;
+      if (!watching && !scheduler.isShutdown()) {
+        watching = true;
+        lastProgressNanos = nanoTime.getAsLong();
+      }
+      if (total != requests) {
+        requests = total;
+        onProgress();
+      }
+    }
+  }
+
+  private void onProgress() {
+    lastProgressNanos = nanoTime.getAsLong();
+    if (stalled) {
+      stalled = false;
+      log.info("Simulation " + simulation + " is making progress again");
+    }
+  }
+
+  /** Checks the progress of the fork, every second. */
+  void check() {
+    long size = simulationLogSize();
+    synchronized (this) {
+      if (!watching) {
+        return;
+      }
+      if (size != simulationLogSize) {
+        simulationLogSize = size;
+        onProgress();
+      }
+      if (stalled || nanoTime.getAsLong() - lastProgressNanos < timeoutNanos) {
+        return;
+      }
+      stalled = true;
+    }
+    onStall();
+  }
+
+  private long simulationLogSize() {
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    if (directories != null) {
+      for (File directory : directories) {
+        File simulationLog = new File(directory, "simulation.log");
+        if (!preExistingRunDirectories.contains(directory) && simulationLog.isFile()) {
+          return simulationLog.length();
+        }
+      }
+    }
+    return -1;
+  }
+
+  private void onStall() {
+    long seconds = TimeUnit.NANOSECONDS.toSeconds(timeoutNanos);
+    log.warn("Simulation " + simulation + " made no progress for " + seconds + " s");
+    Optional<ProcessHandle> fork = forkId.find();
+    if (fork.isEmpty()) {
+      log.warn("Could not find the process of simulation " + simulation + " to diagnose it");
+      return;
+    }
+    Path dumps = diagnose(fork.get());
+    if (abort) {
+      String reason =
+          "no progress for "
+              + seconds
+              + " s"
+              + (dumps != null ? ", see the thread dumps in " + dumps : "");
+      log.error("Terminating simulation " + simulation + ": " + reason);
+      // before terminating, the fork may end before terminate returns
+      abortReason = reason;
+      if (!MojoUtils.terminate(fork.get())) {
+        abortReason = null;
+        log.error("Failed to terminate simulation " + simulation);
+      }
+    }
+  }
+
+  /**
+   * @return the directory of the thread dumps, null if they couldn't be captured
+   */
+  private Path diagnose(ProcessHandle fork) {
+    Optional<Path> jcmd =
+        fork.info()
+            .command()
+            .map(java -> Path.of(java).resolveSibling(java.endsWith(".exe") ? "jcmd.exe" : "jcmd"))
+            .filter(Files::isExecutable);
+    if (jcmd.isEmpty()) {
+      log.warn("Could not find the jcmd of the JDK running simulation " + simulation);
+      return null;
+    }
+    Path directory =
+        runDirectory().resolve("stall-" + DIRECTORY_TIMESTAMP.format(LocalDateTime.now()));
+    try {
+      Files.createDirectories(directory);
+      for (int i = 1; i <= threadDumps; i++) {
+        if (i > 1) {
+          Thread.sleep(threadDumpIntervalMillis);
+        }
+        jcmd(jcmd.get(), fork, "Thread.print", directory.resolve("threads-" + i + ".txt"));
+      }
+      jcmd(jcmd.get(), fork, "GC.class_histogram", directory.resolve("class-histogram.txt"));
+      log.warn("Thread dumps and class histogram of simulation " + simulation + " in " + directory);
+      return directory;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      log.warn("Failed to capture the thread dumps of simulation " + simulation + ": " + e);
+    }
+    return null;
+  }
+
+  private Path runDirectory() {
+    File[] directories = resultsFolder.listFiles(File::isDirectory);
+    if (directories != null) {
+      for (File directory : directories) {
+        if (!preExistingRunDirectories.contains(directory)) {
+          return directory.toPath();
+        }
+      }
+    }
+    return resultsFolder.toPath();
+  }
+
+  private static void jcmd(Path jcmd, ProcessHandle fork, String command, Path output)
+      throws IOException, InterruptedException {
+    Process process =
+        new ProcessBuilder(jcmd.toString(), Long.toString(fork.pid()), command)
+            .redirectErrorStream(true)
+            .redirectOutput(output.toFile())
+            .start();
+    if (!process.waitFor(1, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      throw new IOException("jcmd " + command + " timed out");
+    }
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+}
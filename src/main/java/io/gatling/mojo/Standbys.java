@@ -0,0 +1,95 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * The forks standing by with gatling.hotStandby: the one of the simulation about to run, taken by
+ * its run, and the one of the next simulation, started while it runs.
+ */
+final class Standbys implements AutoCloseable {
+
+  private final Log log;
+  private final String mainClass;
+  private final HotStandby.ForkFactory forkFactory;
+
+  private HotStandby current;
+  private HotStandby next;
+
+  /**
+   * @param mainClass the main class the forks run once released
+   */
+  Standbys(Log log, String mainClass, HotStandby.ForkFactory forkFactory) {
+    this.log = log;
+    this.mainClass = mainClass;
+    this.forkFactory = forkFactory;
+  }
+
+  /** Starts the fork of the next simulation, which then runs without it if it can't be started. */
+  void startNext(String simulation, List<String> jvmArgs, List<String> args) {
+    stop(next);
+    try {
+      next = new HotStandby(simulation, new ForkId(), mainClass, jvmArgs, args, forkFactory);
+    } catch (IOException e) {
+      next = null;
+      log.warn("Failed to start the fork of simulation " + simulation + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * @return the fork standing by for this run, null if there's none
+   */
+  HotStandby take(String simulation, List<String> jvmArgs, List<String> args) {
+    if (current != null && current.matches(simulation, jvmArgs, args)) {
+      HotStandby released = current;
+      current = null;
+      return released;
+    }
+    return null;
+  }
+
+  /**
+   * Moves on to the next simulation, stopping the fork of the previous one if it wasn't taken, e.g.
+   * with reportsOnly.
+   */
+  void advance() {
+    stop(current);
+    current = next;
+    next = null;
+  }
+
+  @Override
+  public void close() {
+    stop(current);
+    stop(next);
+    current = null;
+    next = null;
+  }
+
+  private void stop(HotStandby standby) {
+    if (standby != null) {
+      try {
+        standby.close();
+      } catch (IOException e) {
+        log.debug("Failed to stop the fork standing by: " + e.getMessage());
+      }
+    }
+  }
+}
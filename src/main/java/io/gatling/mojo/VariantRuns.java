@@ -0,0 +1,529 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import io.gatling.plugin.util.Fork;
+import io.gatling.shared.cli.GatlingCliOptions;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.toolchain.Toolchain;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Runs variants of a simulation, the combinations of gatling.matrix or the injector runtimes, each
+ * in a fork of its own, and logs their results side by side.
+ */
+final class VariantRuns {
+
+  /** Starts the forks of the variants, as configured by the goal. */
+  interface Forks {
+    /**
+     * Waits for the Gatling runs of other modules to leave room for a new one.
+     *
+     * @return frees the room when closed
+     */
+    AutoCloseable acquireRun() throws InterruptedException;
+
+    /** Runs Gatling in a new fork, until it ends. */
+    void run(List<String> jvmArgs, List<String> args, Toolchain toolchain, PluginLogger logger)
+        throws Exception;
+  }
+
+  private final Log log;
+  private final BuildTrace buildTrace;
+  private final File resultsFolder;
+  private final File buildDirectory;
+  private final String runDescription;
+  private final boolean noReports;
+  private final List<String> launcherArgs;
+  private final Forks forks;
+
+  /**
+   * @param buildDirectory where the variants run, before their run directory is moved to the
+   *     results folder
+   * @param runDescription the description of the runs, null for none
+   */
+  VariantRuns(
+      Log log,
+      BuildTrace buildTrace,
+      File resultsFolder,
+      File buildDirectory,
+      String runDescription,
+      boolean noReports,
+      List<String> launcherArgs,
+      Forks forks) {
+    this.log = log;
+    this.buildTrace = buildTrace;
+    this.resultsFolder = resultsFolder;
+    this.buildDirectory = buildDirectory;
+    this.runDescription = runDescription;
+    this.noReports = noReports;
+    this.launcherArgs = launcherArgs;
+    this.forks = forks;
+  }
+
+  /**
+   * Runs a simulation once per combination of the matrix, up to parallelism at the same time, and
+   * logs their throughput and response times side by side.
+   */
+  void runMatrix(
+      String simulation,
+      Map<String, String> matrix,
+      int parallelism,
+      List<String> jvmArgs,
+      Toolchain toolchain)
+      throws Exception {
+    List<ParameterMatrix.Combination> combinations;
+    try {
+      combinations = ParameterMatrix.expand(matrix);
+    } catch (IllegalArgumentException e) {
+      throw new MojoFailureException(e.getMessage(), e);
+    }
+    log.info(
+        "Running simulation "
+            + simulation
+            + " with "
+            + combinations.size()
+            + " combinations of "
+            + String.join(", ", combinations.get(0).properties.keySet())
+            + ".");
+
+    File[] runDirectories = new File[combinations.size()];
+    ExecutorService pool =
+        Executors.newFixedThreadPool(
+            Math.max(1, Math.min(parallelism, combinations.size())),
+            r -> {
+              Thread thread = new Thread(r, "gatling-matrix");
+              thread.setDaemon(true);
+              return thread;
+            });
+    List<Future<?>> runs = new ArrayList<>();
+    try {
+      for (int i = 0; i < combinations.size(); i++) {
+        int index = i;
+        runs.add(
+            pool.submit(
+                () -> {
+                  ParameterMatrix.Combination combination = combinations.get(index);
+                  List<String> combinationJvmArgs = new ArrayList<>(jvmArgs);
+                  combinationJvmArgs.addAll(combination.jvmArgs());
+                  runVariant(
+                      "matrix",
+                      simulation,
+                      combination.label(),
+                      combination.suffix(),
+                      combination.properties,
+                      combinationJvmArgs,
+                      toolchain,
+                      UnaryOperator.identity(),
+                      directory -> runDirectories[index] = directory);
+                  return null;
+                }));
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    String[] outcomes = new String[combinations.size()];
+    GatlingSimulationAssertionsFailedException assertionsFailed = null;
+    List<String> failed = new ArrayList<>();
+    Throwable error = null;
+    for (int i = 0; i < combinations.size(); i++) {
+      try {
+        runs.get(i).get();
+        outcomes[i] = "OK";
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof GatlingSimulationAssertionsFailedException) {
+          outcomes[i] = "KO";
+          if (assertionsFailed == null) {
+            assertionsFailed = (GatlingSimulationAssertionsFailedException) e.getCause();
+          }
+        } else {
+          outcomes[i] = "ERROR";
+          failed.add(combinations.get(i).label());
+          log.error("Simulation " + simulation + " failed with " + combinations.get(i).label());
+          if (error == null) {
+            error = e.getCause();
+          }
+        }
+      }
+    }
+    logMatrix(simulation, combinations, runDirectories, outcomes);
+    if (error != null) {
+      throw new MojoExecutionException(
+          "Simulation " + simulation + " failed with " + String.join("; ", failed), error);
+    }
+    if (assertionsFailed != null) {
+      throw assertionsFailed;
+    }
+  }
+
+  /**
+   * Runs a simulation once per injector runtime, one after the other, and logs the load they
+   * generated, with their CPU usage and garbage collections, side by side.
+   *
+   * @param toolchains the JDK of each runtime
+   */
+  void runRuntimes(
+      String simulation,
+      List<InjectorRuntime> runtimes,
+      List<Toolchain> toolchains,
+      List<String> jvmArgs)
+      throws Exception {
+    log.info(
+        "Running simulation "
+            + simulation
+            + " with "
+            + runtimes.size()
+            + " injector runtimes: "
+            + runtimes.stream().map(InjectorRuntime::label).collect(Collectors.joining(", "))
+            + ".");
+
+    File[] runDirectories = new File[runtimes.size()];
+    InjectorMetrics[] metrics = new InjectorMetrics[runtimes.size()];
+    String[] outcomes = new String[runtimes.size()];
+    GatlingSimulationAssertionsFailedException assertionsFailed = null;
+    List<String> failed = new ArrayList<>();
+    Exception error = null;
+    // one after the other, so that they don't compete for the processors they're compared on
+    for (int i = 0; i < runtimes.size(); i++) {
+      int index = i;
+      InjectorRuntime runtime = runtimes.get(i);
+      File variantFolder = variantFolder("runtime", simulation, runtime.suffix());
+      ForkId forkId = new ForkId();
+      List<String> runtimeJvmArgs = new ArrayList<>(jvmArgs);
+      runtimeJvmArgs.addAll(runtime.jvmArgs());
+      runtimeJvmArgs.add(InjectorMetrics.gcLogOption(variantFolder));
+      runtimeJvmArgs.add(forkId.jvmArg());
+      Map<String, String> properties = runtime.properties();
+      String java = toolchains.get(i) != null ? toolchains.get(i).findTool("java") : null;
+      if (java != null) {
+        properties.put("java", java);
+      }
+      try {
+        runVariant(
+            "runtime",
+            simulation,
+            runtime.label(),
+            runtime.suffix(),
+            properties,
+            runtimeJvmArgs,
+            toolchains.get(i),
+            logger -> metrics[index] = new InjectorMetrics(logger, forkId),
+            directory -> runDirectories[index] = directory);
+        outcomes[i] = "OK";
+      } catch (GatlingSimulationAssertionsFailedException e) {
+        outcomes[i] = "KO";
+        if (assertionsFailed == null) {
+          assertionsFailed = e;
+        }
+      } catch (Exception e) {
+        outcomes[i] = "ERROR";
+        failed.add(runtime.label());
+        log.error("Simulation " + simulation + " failed with runtime " + runtime.label());
+        if (error == null) {
+          error = e;
+        }
+      } finally {
+        if (metrics[i] != null) {
+          metrics[i].close();
+        }
+      }
+    }
+    logRuntimes(simulation, runtimes, runDirectories, metrics, outcomes);
+    if (error != null) {
+      throw new MojoExecutionException(
+          "Simulation " + simulation + " failed with runtimes " + String.join(", ", failed), error);
+    }
+    if (assertionsFailed != null) {
+      throw assertionsFailed;
+    }
+  }
+
+  private void logRuntimes(
+      String simulation,
+      List<InjectorRuntime> runtimes,
+      File[] runDirectories,
+      InjectorMetrics[] metrics,
+      String[] outcomes) {
+    List<String> headers =
+        List.of(
+            "Runtime",
+            "Requests",
+            "Errors",
+            "Req/s",
+            "Mean (ms)",
+            "p99 (ms)",
+            "CPU (cores)",
+            "Req/CPU s",
+            "GCs",
+            "GC pauses (ms)",
+            "Status",
+            "Run");
+    List<List<String>> rows = new ArrayList<>();
+    String mostEfficient = null;
+    double bestEfficiency = 0;
+    for (int i = 0; i < runtimes.size(); i++) {
+      List<String> row = new ArrayList<>();
+      row.add(runtimes.get(i).label());
+      RunStatistics.Request global = null;
+      InjectorMetrics.GcLog gcLog = null;
+      if (runDirectories[i] != null) {
+        try {
+          global = RunStatistics.read(runDirectories[i]).get(RunStatistics.GLOBAL);
+        } catch (IOException e) {
+          log.debug("No statistics for " + runDirectories[i] + ": " + e.getMessage());
+        }
+        try {
+          gcLog =
+              InjectorMetrics.readGcLog(runDirectories[i].toPath().resolve(InjectorMetrics.GC_LOG));
+        } catch (IOException e) {
+          log.debug("No GC log for " + runDirectories[i] + ": " + e.getMessage());
+        }
+      }
+      double cpuSeconds = metrics[i] != null ? metrics[i].cpuSeconds() : Double.NaN;
+      double cpuCores = metrics[i] != null ? metrics[i].cpuCores() : Double.NaN;
+      if (global != null) {
+        double efficiency = cpuSeconds > 0 ? global.count / cpuSeconds : Double.NaN;
+        row.addAll(
+            List.of(
+                Long.toString(global.count),
+                String.format(Locale.ROOT, "%.2f%%", global.errorRatio() * 100),
+                String.format(Locale.ROOT, "%.1f", global.requestsPerSecond),
+                String.format(Locale.ROOT, "%.1f", global.meanResponseTime),
+                String.format(Locale.ROOT, "%.0f", global.p99)));
+        row.add(Double.isNaN(cpuCores) ? "-" : String.format(Locale.ROOT, "%.2f", cpuCores));
+        row.add(Double.isNaN(efficiency) ? "-" : String.format(Locale.ROOT, "%.0f", efficiency));
+        if (outcomes[i].equals("OK") && efficiency > bestEfficiency) {
+          bestEfficiency = efficiency;
+          mostEfficient = runtimes.get(i).label();
+        }
+      } else {
+        row.addAll(List.of("-", "-", "-", "-", "-"));
+        row.add(Double.isNaN(cpuCores) ? "-" : String.format(Locale.ROOT, "%.2f", cpuCores));
+        row.add("-");
+      }
+      if (gcLog != null) {
+        row.add(Integer.toString(gcLog.collections));
+        row.add(String.format(Locale.ROOT, "%.1f", gcLog.pauseMillis));
+      } else {
+        row.addAll(List.of("-", "-"));
+      }
+      row.add(outcomes[i]);
+      row.add(runDirectories[i] != null ? runDirectories[i].getName() : "-");
+      rows.add(row);
+    }
+
+    logTable(
+        "Load generated by simulation " + simulation + " across the injector runtimes:",
+        headers,
+        rows,
+        GatlingMojo.runFileName(simulation, "-runtimes.txt"));
+    if (mostEfficient != null) {
+      log.info(
+          String.format(
+              Locale.ROOT,
+              "Most efficient runtime: %s, with %.0f requests per CPU second",
+              mostEfficient,
+              bestEfficiency));
+    }
+  }
+
+  /**
+   * Runs a variant of a simulation in a results folder of its own, so that concurrent variants can
+   * tell their run directories apart, and then moves its run directory to the results folder, along
+   * with the files the fork wrote next to it, e.g. a GC log.
+   *
+   * @param kind names the folder of the variants and the properties file written in their run
+   *     directories, e.g. matrix for matrix.properties
+   * @param watch wraps the logger of the fork, to watch its output
+   * @param onRunDirectory gets the run directory once moved, even when the assertions failed
+   */
+  private void runVariant(
+      String kind,
+      String simulation,
+      String label,
+      String suffix,
+      Map<String, String> properties,
+      List<String> variantJvmArgs,
+      Toolchain toolchain,
+      UnaryOperator<PluginLogger> watch,
+      Consumer<File> onRunDirectory)
+      throws Exception {
+    File variantFolder = variantFolder(kind, simulation, suffix);
+    FileUtils.deleteDirectory(variantFolder);
+    Files.createDirectories(variantFolder.toPath());
+
+    String description = runDescription != null ? runDescription + " (" + label + ")" : label;
+    List<String> args =
+        new ArrayList<>(
+            List.of(
+                GatlingCliOptions.Simulation.shortOption(),
+                simulation,
+                GatlingCliOptions.ResultsFolder.shortOption(),
+                variantFolder.getCanonicalPath(),
+                GatlingCliOptions.RunDescription.shortOption(),
+                Base64.getEncoder().encodeToString(description.getBytes(StandardCharsets.UTF_8))));
+    if (noReports) {
+      args.add(GatlingCliOptions.NoReports.shortOption());
+    }
+    args.addAll(launcherArgs);
+
+    String prefix = "[" + label + "] ";
+    PluginLogger logger =
+        new PluginLogger() {
+          @Override
+          public void debug(String message) {
+            log.debug(prefix + message);
+          }
+
+          @Override
+          public void info(String message) {
+            log.info(prefix + message);
+          }
+
+          @Override
+          public void error(String message) {
+            log.error(prefix + message);
+          }
+        };
+    try (AutoCloseable run = forks.acquireRun();
+        BuildTrace.Span span = buildTrace.span(simulation + " [" + label + "]")) {
+      forks.run(variantJvmArgs, args, toolchain, watch.apply(logger));
+    } catch (Fork.ForkException e) {
+      if (e.exitValue == 2) throw new GatlingSimulationAssertionsFailedException(e);
+      else throw e;
+    } finally {
+      File[] directories = variantFolder.listFiles(File::isDirectory);
+      if (directories != null) {
+        for (File directory : directories) {
+          Path runDirectory = resultsFolder.toPath().resolve(directory.getName() + "-" + suffix);
+          Files.move(directory.toPath(), runDirectory);
+          File[] files = variantFolder.listFiles(File::isFile);
+          if (files != null) {
+            for (File file : files) {
+              Files.move(file.toPath(), runDirectory.resolve(file.getName()));
+            }
+          }
+          Files.write(
+              runDirectory.resolve(kind + ".properties"),
+              properties.entrySet().stream()
+                  .map(property -> property.getKey() + "=" + property.getValue())
+                  .collect(Collectors.toList()));
+          onRunDirectory.accept(runDirectory.toFile());
+        }
+      }
+      FileUtils.deleteDirectory(variantFolder);
+    }
+  }
+
+  private File variantFolder(String kind, String simulation, String suffix) {
+    return new File(new File(buildDirectory, "gatling-" + kind), simulation + "_" + suffix);
+  }
+
+  private void logMatrix(
+      String simulation,
+      List<ParameterMatrix.Combination> combinations,
+      File[] runDirectories,
+      String[] outcomes) {
+    List<String> names = new ArrayList<>(combinations.get(0).properties.keySet());
+    List<String> headers = new ArrayList<>(names);
+    headers.addAll(
+        List.of("Requests", "Errors", "Req/s", "Mean (ms)", "p99 (ms)", "Status", "Run"));
+    List<List<String>> rows = new ArrayList<>();
+    for (int i = 0; i < combinations.size(); i++) {
+      List<String> row = new ArrayList<>(combinations.get(i).properties.values());
+      RunStatistics.Request global = null;
+      if (runDirectories[i] != null) {
+        try {
+          global = RunStatistics.read(runDirectories[i]).get(RunStatistics.GLOBAL);
+        } catch (IOException e) {
+          log.debug("No statistics for " + runDirectories[i] + ": " + e.getMessage());
+        }
+      }
+      if (global != null) {
+        row.addAll(
+            List.of(
+                Long.toString(global.count),
+                String.format(Locale.ROOT, "%.2f%%", global.errorRatio() * 100),
+                String.format(Locale.ROOT, "%.1f", global.requestsPerSecond),
+                String.format(Locale.ROOT, "%.1f", global.meanResponseTime),
+                String.format(Locale.ROOT, "%.0f", global.p99)));
+      } else {
+        row.addAll(List.of("-", "-", "-", "-", "-"));
+      }
+      row.add(outcomes[i]);
+      row.add(runDirectories[i] != null ? runDirectories[i].getName() : "-");
+      rows.add(row);
+    }
+
+    logTable(
+        "Throughput and response times of " + simulation + " across the matrix:",
+        headers,
+        rows,
+        GatlingMojo.runFileName(simulation, "-matrix.txt"));
+  }
+
+  /** Logs a table, and writes it to a file of the results folder. */
+  private void logTable(String title, List<String> headers, List<List<String>> rows, String file) {
+    int[] widths = new int[headers.size()];
+    for (int column = 0; column < widths.length; column++) {
+      widths[column] = headers.get(column).length();
+      for (List<String> row : rows) {
+        widths[column] = Math.max(widths[column], row.get(column).length());
+      }
+    }
+    List<String> lines = new ArrayList<>();
+    lines.add(tableLine(headers, widths));
+    rows.forEach(row -> lines.add(tableLine(row, widths)));
+
+    log.info(title);
+    lines.forEach(log::info);
+    Path tableFile = resultsFolder.toPath().resolve(file);
+    try {
+      Files.write(tableFile, lines);
+    } catch (IOException e) {
+      log.warn("Failed to write " + tableFile + ": " + e.getMessage());
+    }
+  }
+
+  private static String tableLine(List<String> cells, int[] widths) {
+    StringBuilder line = new StringBuilder();
+    for (int column = 0; column < cells.size(); column++) {
+      if (column > 0) {
+        line.append("  ");
+      }
+      line.append(String.format(Locale.ROOT, "%-" + widths[column] + "s", cells.get(column)));
+    }
+    return line.toString().trim();
+  }
+}
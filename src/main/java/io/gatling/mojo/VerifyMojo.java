@@ -16,21 +16,35 @@
  */
 package io.gatling.mojo;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
 
 /** Mojo to verify Gatling simulation results. */
-@Mojo(name = "verify", defaultPhase = LifecyclePhase.VERIFY)
+@Mojo(name = "verify", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
 public final class VerifyMojo extends AbstractGatlingExecutionMojo {
 
+  static final String REACTOR_LAST_RUN_FILE = "reactor-" + LAST_RUN_FILE;
+
+  /**
+   * Verify the Gatling runs of all the modules of the reactor built so far instead of only this
+   * module's, and write them to reactor-lastRun.txt. The modules whose runs must be verified must
+   * be built before this one, e.g. by making this module depend on them.
+   */
+  @Parameter(property = "gatling.verify.aggregate", defaultValue = "false")
+  private boolean aggregate;
+
   @Override
-  public void execute() throws MojoExecutionException, MojoFailureException {
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
     if (skip) {
       getLog().info("Skipping gatling-maven-plugin");
     } else {
@@ -40,7 +54,11 @@ public final class VerifyMojo extends AbstractGatlingExecutionMojo {
 
   private void executePlugin() throws MojoFailureException, MojoExecutionException {
     try {
-      verifyLastRun();
+      if (aggregate) {
+        verifyReactorRuns();
+      } else {
+        verifyLastRun();
+      }
     } catch (IOException e) {
       throw new MojoExecutionException("Could not read result files.", e);
     }
@@ -55,6 +73,75 @@ public final class VerifyMojo extends AbstractGatlingExecutionMojo {
       for (String line : lines) {
         checkError(line);
       }
+      List<String> sloBreaches = checkSlos(lines);
+      if (!sloBreaches.isEmpty()) {
+        throwFailureException("SLOs breached: " + String.join("; ", sloBreaches));
+      }
+    }
+  }
+
+  private void verifyReactorRuns() throws IOException, MojoFailureException {
+    List<ReactorRuns.ModuleRuns> modules =
+        ReactorRuns.of(session, maxConcurrentRuns).modules(session);
+
+    List<String> notBuilt =
+        session.getProjects().stream()
+            .filter(
+                project ->
+                    project != mavenProject && session.getResult().getBuildSummary(project) == null)
+            .map(MavenProject::getArtifactId)
+            .collect(Collectors.toList());
+    if (!notBuilt.isEmpty()) {
+      getLog()
+          .warn(
+              "Not built yet, so not verified: "
+                  + String.join(", ", notBuilt)
+                  + ". Make "
+                  + mavenProject.getArtifactId()
+                  + " depend on the modules whose Gatling runs it verifies.");
+    }
+
+    if (!resultsFolder.exists() && !resultsFolder.mkdirs()) {
+      throw new IOException("Could not create resultsFolder " + resultsFolder.getAbsolutePath());
+    }
+    if (modules.isEmpty()) {
+      getLog().warn("No Gatling runs were recorded in this reactor build");
+    }
+    String format = "%-40s  %5s  %s";
+    getLog().info(String.format(format, "Module", "Runs", "Result"));
+    try (BufferedWriter writer =
+        Files.newBufferedWriter(resultsFolder.toPath().resolve(REACTOR_LAST_RUN_FILE))) {
+      for (ReactorRuns.ModuleRuns moduleRuns : modules) {
+        getLog()
+            .info(
+                String.format(
+                    format,
+                    moduleRuns.module,
+                    moduleRuns.runDirectories.size(),
+                    moduleRuns.error == null ? "OK" : "KO: " + moduleRuns.error));
+        for (String runDirectory : moduleRuns.runDirectories) {
+          writer.write(moduleRuns.module + " " + runDirectory + System.lineSeparator());
+        }
+        if (moduleRuns.error != null) {
+          writer.write(
+              moduleRuns.module
+                  + " "
+                  + LAST_RUN_FILE_ERROR_LINE
+                  + moduleRuns.error
+                  + System.lineSeparator());
+        }
+      }
+    }
+
+    List<String> failed =
+        modules.stream()
+            .filter(moduleRuns -> moduleRuns.error != null)
+            .map(moduleRuns -> moduleRuns.module)
+            .collect(Collectors.toList());
+    if (!failed.isEmpty()) {
+      String message = "Gatling runs failed in " + String.join(", ", failed);
+      getLog().error(message);
+      throw new MojoFailureException(message);
     }
   }
 
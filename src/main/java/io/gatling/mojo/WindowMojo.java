@@ -0,0 +1,140 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Mojo to log the statistics of a time range of a run, from the rollup.idx index written with
+ * gatling.steadyState, without parsing simulation.log again.
+ */
+@Mojo(name = "window", threadSafe = true)
+public final class WindowMojo extends AbstractGatlingExecutionMojo {
+
+  /** The directory of the run in the results folder. The latest indexed run when unset. */
+  @Parameter(property = "gatling.window.run")
+  private String run;
+
+  /** The start of the range, in seconds since the start of the run. Its steady state when unset. */
+  @Parameter(property = "gatling.window.from")
+  private Integer from;
+
+  /**
+   * The end of the range, excluded, in seconds since the start of the run. Its steady state when
+   * unset.
+   */
+  @Parameter(property = "gatling.window.to")
+  private Integer to;
+
+  @Override
+  protected void executeGoal() throws MojoExecutionException, MojoFailureException {
+    if (skip) {
+      getLog().info("Skipping gatling-maven-plugin");
+      return;
+    }
+    Path indexFile = indexFile();
+    try (RollupIndex index = RollupIndex.open(indexFile)) {
+      int start = from != null ? from : 0;
+      int end = to != null ? to : index.seconds();
+      if (from == null || to == null) {
+        int[] steadyState =
+            RollupIndex.steadyState(index.requestsPerSecond(), steadyStateTolerance);
+        if (steadyState != null) {
+          start = from != null ? from : steadyState[0];
+          end = to != null ? to : steadyState[1];
+        } else {
+          getLog().warn("No steady state, using the whole run");
+        }
+      }
+      RollupIndex.Window window = index.window(start, end);
+      getLog()
+          .info(
+              indexFile.getParent().getFileName()
+                  + ", from "
+                  + window.from
+                  + " s to "
+                  + window.to
+                  + " s of "
+                  + index.seconds()
+                  + " s: "
+                  + window.summary());
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not read " + indexFile, e);
+    }
+  }
+
+  private Path indexFile() throws MojoFailureException {
+    if (run != null) {
+      Path indexFile = resultsFolder.toPath().resolve(run).resolve(RollupIndex.FILE);
+      if (!Files.isRegularFile(indexFile)) {
+        throw new MojoFailureException(
+            binarySimulationLog(indexFile.getParent().toFile())
+                ? "Run "
+                    + run
+                    + " can't be indexed, its simulation.log is binary: only the runs of Gatling"
+                    + " versions before 3.11 can be indexed"
+                : "No "
+                    + RollupIndex.FILE
+                    + " in run "
+                    + run
+                    + ", run it with gatling.steadyState");
+      }
+      return indexFile;
+    }
+    Optional<File> latest =
+        runDirectories().stream()
+            .map(directory -> new File(directory, RollupIndex.FILE))
+            .filter(File::isFile)
+            .max(Comparator.comparingLong(File::lastModified));
+    if (latest.isEmpty()) {
+      if (runDirectories().stream().anyMatch(WindowMojo::binarySimulationLog)) {
+        throw new MojoFailureException(
+            "No run with a "
+                + RollupIndex.FILE
+                + " index in "
+                + resultsFolder
+                + ", the simulation.log of the runs is binary: only the runs of Gatling versions"
+                + " before 3.11 can be indexed");
+      }
+      throw new MojoFailureException(
+          "No run with a "
+              + RollupIndex.FILE
+              + " index in "
+              + resultsFolder
+              + ", run with gatling.steadyState");
+    }
+    return latest.get().toPath();
+  }
+
+  private static boolean binarySimulationLog(File runDirectory) {
+    Path simulationLog = runDirectory.toPath().resolve("simulation.log");
+    try {
+      return Files.isRegularFile(simulationLog) && !SimulationLogTail.isText(simulationLog);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+}
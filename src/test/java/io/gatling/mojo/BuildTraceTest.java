@@ -0,0 +1,84 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BuildTraceTest {
+
+  private static final class Lines extends SystemStreamLog {
+    final List<String> lines = new ArrayList<>();
+
+    @Override
+    public void info(CharSequence content) {
+      lines.add(content.toString());
+    }
+  }
+
+  @Test
+  void nestsSpansOfConcurrentThreadsUnderTheGoal() throws Exception {
+    BuildTrace trace = new BuildTrace();
+    CountDownLatch secondEnded = new CountDownLatch(1);
+    try (BuildTrace.Span goal = trace.span("enterpriseStart")) {
+      Thread first =
+          new Thread(
+              () -> {
+                try (BuildTrace.Span span = trace.span("run first")) {
+                  await(secondEnded);
+                }
+              });
+      Thread second =
+          new Thread(
+              () -> {
+                // starts after the first and ends before it, but isn't its child
+                try (BuildTrace.Span span = trace.span("run second")) {
+                  trace.span("report").close();
+                }
+                secondEnded.countDown();
+              });
+      first.start();
+      Thread.sleep(10);
+      second.start();
+      first.join();
+      second.join();
+    }
+
+    Lines log = new Lines();
+    trace.logSummary(log);
+    List<String> names =
+        log.lines.stream()
+            .skip(1)
+            .map(line -> line.replaceAll("\\s+[\\d.]+\\s+[\\d.]+$", ""))
+            .collect(Collectors.toList());
+    Assertions.assertEquals(
+        List.of("enterpriseStart", "  run first", "  run second", "    report"), names);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CapacitySearchTest {
+
+  private final List<Double> probed = new ArrayList<>();
+
+  private CapacitySearch.Probe sustainsUpTo(double capacity) {
+    return rate -> {
+      probed.add(rate);
+      return rate <= capacity;
+    };
+  }
+
+  @Test
+  void binarySearchConvergesToWholeRate() throws Exception {
+    CapacitySearch search = new CapacitySearch(CapacitySearch.Strategy.BINARY, 1, 1000, 0, 0.001);
+
+    Assertions.assertEquals(637, search.run(sustainsUpTo(637.4)));
+    Assertions.assertTrue(probed.size() <= 12, "probed " + probed);
+  }
+
+  @Test
+  void binarySearchStopsAtResolution() throws Exception {
+    CapacitySearch search = new CapacitySearch(CapacitySearch.Strategy.BINARY, 1, 1000, 0, 0.05);
+
+    double rate = search.run(sustainsUpTo(637));
+    Assertions.assertTrue(rate <= 637 && rate >= 637 * 0.95, "found " + rate);
+  }
+
+  @Test
+  void stepsUntilFirstFailure() throws Exception {
+    CapacitySearch search = new CapacitySearch(CapacitySearch.Strategy.STEP, 10, 100, 10, 0);
+
+    Assertions.assertEquals(40, search.run(sustainsUpTo(45)));
+    Assertions.assertEquals(List.of(10.0, 20.0, 30.0, 40.0, 50.0), probed);
+  }
+
+  @Test
+  void reportsUnsustainableMinimum() throws Exception {
+    CapacitySearch search = new CapacitySearch(CapacitySearch.Strategy.BINARY, 10, 100, 0, 0.05);
+
+    Assertions.assertNull(search.run(sustainsUpTo(5)));
+    Assertions.assertEquals(List.of(10.0), probed);
+  }
+
+  @Test
+  void rejectsResolutionsThatNeverStopTheSearch() {
+    for (double resolution : new double[] {0, -0.05, 1}) {
+      Assertions.assertThrows(
+          IllegalArgumentException.class,
+          () -> new CapacitySearch(CapacitySearch.Strategy.BINARY, 1.5, 10.5, 0, resolution));
+    }
+  }
+}
@@ -0,0 +1,55 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** A JVM forked by a test, sleeping until it's destroyed. */
+final class ChildJvm implements AutoCloseable {
+
+  final Process process;
+
+  ChildJvm(String... jvmArgs) throws Exception {
+    this(new File(System.getProperty("java.home"), "bin/java"), jvmArgs);
+  }
+
+  ChildJvm(File java, String... jvmArgs) throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(java.getAbsolutePath());
+    command.addAll(List.of(jvmArgs));
+    command.add("-cp");
+    // the test classes, which don't depend on anything else
+    command.add(
+        new File(ChildJvm.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+            .getAbsolutePath());
+    command.add(ChildJvm.class.getName());
+    process = new ProcessBuilder(command).inheritIO().start();
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    process.destroyForcibly();
+    process.waitFor(10, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,48 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ClassFileReferencesTest {
+
+  private static Set<String> referencesOf(Class<?> c) throws IOException {
+    try (InputStream is = c.getResourceAsStream(c.getSimpleName() + ".class")) {
+      return ClassFileReferences.read(is);
+    }
+  }
+
+  @Test
+  void classConstantsAndDescriptors() throws IOException {
+    Set<String> references = referencesOf(ReproducibleJar.class);
+    // instantiated
+    Assertions.assertTrue(references.contains("java/util/zip/ZipOutputStream"));
+    // only used in method signatures
+    Assertions.assertTrue(references.contains("java/time/Instant"));
+    Assertions.assertTrue(references.contains("java/util/jar/Attributes"));
+  }
+
+  @Test
+  void notAClassFile() {
+    Assertions.assertThrows(
+        IOException.class, () -> ClassFileReferences.read(InputStream.nullInputStream()));
+  }
+}
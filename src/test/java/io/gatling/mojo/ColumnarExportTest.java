@@ -0,0 +1,89 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColumnarExportTest {
+
+  private static final long START = 1_700_000_000_000L;
+
+  @Test
+  void readsBackTheRequests(@TempDir Path dir) throws Exception {
+    List<String> lines = new ArrayList<>();
+    lines.add("RUN\tcomputerdatabase.BasicSimulation\tbasicsimulation\t" + START + "\t \t3.9.5");
+    lines.add("USER\tBasic\tSTART\t" + START + "\t" + START);
+    lines.add("REQUEST\t\tHome\t" + START + "\t" + (START + 10) + "\tOK\t ");
+    lines.add(
+        "REQUEST\tBrowse\tSearch\t" + (START + 5) + "\t" + (START + 105) + "\tKO\tstatus 500");
+    lines.add("REQUEST\t\tHome\t" + (START + 2) + "\t" + (START + 3) + "\tOK\t ");
+    Path simulationLog = dir.resolve("simulation.log");
+    Files.write(simulationLog, lines);
+
+    Path file = dir.resolve("run" + ColumnarExport.EXTENSION);
+    Assertions.assertEquals(3, ColumnarExport.export(simulationLog, file));
+    ColumnarExport.Table table = ColumnarExport.read(file);
+
+    Assertions.assertEquals("computerdatabase.BasicSimulation", table.metadata.get("simulation"));
+    Assertions.assertEquals("3.9.5", table.metadata.get("version"));
+    Assertions.assertEquals(3, table.rows);
+    Assertions.assertEquals(List.of("Home", "Browse", "Search", "status 500"), table.dictionary);
+    Assertions.assertArrayEquals(new int[] {-1, 1, -1}, table.groups);
+    Assertions.assertArrayEquals(new int[] {0, 2, 0}, table.requests);
+    Assertions.assertArrayEquals(new long[] {START, START + 5, START + 2}, table.starts);
+    Assertions.assertArrayEquals(new int[] {10, 100, 1}, table.responseTimes);
+    Assertions.assertArrayEquals(new byte[] {1, 0, 1}, table.oks);
+    Assertions.assertEquals("status 500", table.decode(table.messages[1]));
+    Assertions.assertNull(table.decode(table.messages[0]));
+  }
+
+  @Test
+  void splitsRowsInChunks(@TempDir Path dir) throws Exception {
+    List<String> lines = new ArrayList<>();
+    lines.add("RUN\tcomputerdatabase.BasicSimulation\tbasicsimulation\t" + START + "\t \t3.9.5");
+    int rows = ColumnarExport.CHUNK_ROWS * 2 + 1;
+    for (int i = 0; i < rows; i++) {
+      lines.add("REQUEST\t\tHome\t" + (START + i) + "\t" + (START + i + i % 7) + "\tOK\t ");
+    }
+    Path simulationLog = dir.resolve("simulation.log");
+    Files.write(simulationLog, lines);
+
+    Path file = dir.resolve("run" + ColumnarExport.EXTENSION);
+    Assertions.assertEquals(rows, ColumnarExport.export(simulationLog, file));
+    ColumnarExport.Table table = ColumnarExport.read(file);
+    Assertions.assertEquals(rows, table.rows);
+    for (int i = 0; i < rows; i++) {
+      Assertions.assertEquals(START + i, table.starts[i]);
+      Assertions.assertEquals(i % 7, table.responseTimes[i]);
+    }
+  }
+
+  @Test
+  void binarySimulationLogIsNotExported(@TempDir Path dir) throws Exception {
+    Path simulationLog = dir.resolve("simulation.log");
+    // not even valid UTF-8
+    Files.write(simulationLog, new byte[] {0, 1, (byte) 0xC3, 0x28, '\n', 3});
+    Assertions.assertEquals(
+        -1, ColumnarExport.export(simulationLog, dir.resolve("run" + ColumnarExport.EXTENSION)));
+  }
+}
@@ -0,0 +1,120 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConsoleSummaryTest {
+
+  static final Path GOLDEN_FILES = Path.of("src/test/resources/golden-files/console");
+
+  static List<String> console(String gatlingVersion) throws IOException {
+    return Files.readAllLines(GOLDEN_FILES.resolve("gatling-" + gatlingVersion + ".txt"));
+  }
+
+  /**
+   * @return the OK and KO counts of the Global lines, and of the errors
+   */
+  private static List<String> parse(List<String> lines) {
+    List<String> parsed = new ArrayList<>();
+    String section = "";
+    for (String line : lines) {
+      Matcher matcher = ConsoleSummary.SECTION.matcher(line);
+      if (matcher.matches()) {
+        section = matcher.group(1);
+        parsed.add(section);
+      } else if (section.equals(ConsoleSummary.REQUESTS_SECTION)) {
+        ConsoleSummary.Request request = ConsoleSummary.request(line);
+        Assertions.assertFalse(ConsoleSummary.unknownLayout(line), line);
+        parsed.add(request.name + " " + request.ok + " " + request.ko);
+      } else if (section.equals(ConsoleSummary.ERRORS_SECTION)) {
+        matcher = ConsoleSummary.ERROR.matcher(line);
+        if (matcher.matches()) {
+          parsed.add(matcher.group(1) + " " + matcher.group(2));
+        }
+      } else {
+        matcher = ConsoleSummary.USERS.matcher(line);
+        while (matcher.find()) {
+          parsed.add(matcher.group(1) + " " + matcher.group(2));
+        }
+      }
+    }
+    return parsed;
+  }
+
+  private static List<String> summary(int ok, int ko, int active, int done) {
+    return List.of(
+        "Requests",
+        "Global " + ok + " " + ko,
+        "home " + ok + " 0",
+        "missing 0 " + ko,
+        "Errors",
+        "status.find.in([200, 209], 304), found 404 " + ko,
+        "Browse",
+        "waiting 0",
+        "active " + active,
+        "done " + done);
+  }
+
+  @Test
+  void parsesTheLayoutOfGatlingBefore311() throws IOException {
+    List<String> parsed = parse(console("3.9.5"));
+    List<String> expected = new ArrayList<>();
+    expected.addAll(summary(155, 155, 5, 0));
+    expected.addAll(summary(337, 337, 5, 0));
+    expected.addAll(summary(441, 441, 0, 5));
+    expected.addAll(
+        List.of(
+            "Global Information",
+            "Response Time Distribution",
+            "Errors",
+            "status.find.in([200, 209], 304), found 404 441"));
+    Assertions.assertEquals(expected, parsed);
+  }
+
+  @Test
+  void parsesTheTableLayoutOfLaterGatlingVersions() throws IOException {
+    List<String> parsed = parse(console("3.13.5"));
+    List<String> expected = new ArrayList<>();
+    expected.addAll(summary(109, 107, 5, 0));
+    expected.addAll(summary(259, 259, 5, 0));
+    expected.addAll(summary(352, 351, 0, 5));
+    expected.addAll(
+        List.of(
+            "Global Information",
+            "Response Time Distribution",
+            "Errors",
+            "status.find.in([200, 209], 304), found 404 351"));
+    Assertions.assertEquals(expected, parsed);
+  }
+
+  @Test
+  void tellsUnknownLayoutsApart() {
+    Assertions.assertTrue(ConsoleSummary.unknownLayout("> Global   OK: 130   KO: 3"));
+    Assertions.assertFalse(ConsoleSummary.unknownLayout(""));
+    Assertions.assertFalse(
+        ConsoleSummary.unknownLayout("> Global                     (OK=130    KO=3     )"));
+    Assertions.assertNull(ConsoleSummary.request("> Global   OK: 130   KO: 3"));
+  }
+}
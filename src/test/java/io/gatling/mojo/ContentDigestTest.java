@@ -0,0 +1,79 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContentDigestTest {
+
+  @Test
+  void isStableAndSensitiveToOrder() {
+    String ab = new ContentDigest().add("a").add("b").hex();
+    Assertions.assertEquals(64, ab.length());
+    Assertions.assertEquals(ab, new ContentDigest().add("a").add("b").hex());
+    Assertions.assertNotEquals(ab, new ContentDigest().add("b").add("a").hex());
+  }
+
+  @Test
+  void delimitsValues() {
+    Assertions.assertNotEquals(
+        new ContentDigest().add("ab").add("c").hex(), new ContentDigest().add("a").add("bc").hex());
+    Assertions.assertNotEquals(
+        new ContentDigest().add((String) null).hex(), new ContentDigest().add("").hex());
+  }
+
+  @Test
+  void digestsFileContent(@TempDir Path dir) throws IOException {
+    Path file = write(dir.resolve("a.txt"), "content");
+    Path copy = write(dir.resolve("b.txt"), "content");
+    Assertions.assertEquals(ContentDigest.of(file.toFile()), ContentDigest.of(copy.toFile()));
+
+    write(copy, "changed");
+    Assertions.assertNotEquals(ContentDigest.of(file.toFile()), ContentDigest.of(copy.toFile()));
+  }
+
+  @Test
+  void digestsDirectoriesIndependentlyOfTheirLocation(@TempDir Path dir) throws IOException {
+    Path first = dir.resolve("first");
+    Path second = dir.resolve("second");
+    for (Path root : new Path[] {first, second}) {
+      write(root.resolve("a.txt"), "a");
+      write(root.resolve("sub/b.txt"), "b");
+    }
+    Assertions.assertEquals(digest(first), digest(second));
+
+    Files.move(second.resolve("sub/b.txt"), second.resolve("b.txt"));
+    Assertions.assertNotEquals(digest(first), digest(second));
+    Assertions.assertNotEquals(
+        digest(dir.resolve("missing")), new ContentDigest().addDirectory(first).hex());
+  }
+
+  private static String digest(Path directory) throws IOException {
+    return new ContentDigest().addDirectory(directory).hex();
+  }
+
+  private static Path write(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,43 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DeploymentCacheTest {
+
+  @Test
+  void reusesDeploymentsWithinTheSession() {
+    DeploymentCache<Object> cache = new DeploymentCache<>(new HashMap<>());
+    Object deployment = new Object();
+    cache.put("key", deployment);
+    Assertions.assertSame(deployment, cache.get("key"));
+    Assertions.assertNull(cache.get("other"));
+  }
+
+  @Test
+  void sharesTheDeploymentsOfTheSession() {
+    Map<String, Object> session = new HashMap<>();
+    Object deployment = new Object();
+    // e.g. deployed by another module of the reactor
+    new DeploymentCache<>(session).put("key", deployment);
+    Assertions.assertSame(deployment, new DeploymentCache<>(session).get("key"));
+  }
+}
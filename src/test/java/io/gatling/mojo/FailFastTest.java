@@ -0,0 +1,201 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FailFastTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @TempDir Path resultsFolder;
+
+  private final List<String> output = new ArrayList<>();
+  private final List<String> warnings = new ArrayList<>();
+  private long nanos;
+
+  private final PluginLogger console =
+      new PluginLogger() {
+        @Override
+        public void debug(String message) {
+          output.add(message);
+        }
+
+        @Override
+        public void info(String message) {
+          output.add(message);
+        }
+
+        @Override
+        public void error(String message) {
+          output.add(message);
+        }
+      };
+
+  private final Log log =
+      new SystemStreamLog() {
+        @Override
+        public void warn(CharSequence content) {
+          warnings.add(content.toString());
+        }
+      };
+
+  private FailFast failFast(
+      ForkId forkId, int sustainedSeconds, Double maxErrorRatio, Double minRequestsPerSecond) {
+    return failFast(forkId, 10, sustainedSeconds, maxErrorRatio, minRequestsPerSecond);
+  }
+
+  private FailFast failFast(
+      ForkId forkId,
+      int windowSeconds,
+      int sustainedSeconds,
+      Double maxErrorRatio,
+      Double minRequestsPerSecond) {
+    return new FailFast(
+        console,
+        log,
+        "computerdatabase.BasicSimulation",
+        forkId,
+        resultsFolder.toFile(),
+        windowSeconds,
+        sustainedSeconds,
+        maxErrorRatio,
+        null,
+        minRequestsPerSecond,
+        () -> nanos);
+  }
+
+  @Test
+  void terminatesTheForkOnceTheErrorRatioIsBreached() throws Exception {
+    ForkId forkId = new ForkId();
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg());
+        FailFast failFast = failFast(forkId, 0, 0.05, null)) {
+      Assertions.assertTrue(forkId.await(10, TimeUnit.SECONDS).isPresent());
+      failFast.onTotals(0, 0, 0);
+      failFast.onTotals(5 * SECOND, 500, 0);
+      // not a whole window yet
+      failFast.onTotals(10 * SECOND, 1000, 0);
+      Assertions.assertNull(failFast.abortReason());
+      failFast.onTotals(15 * SECOND, 1450, 50);
+      Assertions.assertNull(failFast.abortReason(), "5% of errors over the last 10 s");
+
+      failFast.onTotals(20 * SECOND, 1800, 200);
+      Assertions.assertEquals(
+          "error ratio 20.00% > 5.00% over the last 10 s"
+              + " (1000 requests, 200 failed, 100.0 req/s)",
+          failFast.abortReason());
+      Assertions.assertTrue(fork.process.waitFor(30, TimeUnit.SECONDS), "fork still alive");
+    }
+  }
+
+  @Test
+  void waitsForTheBreachToBeSustained() throws Exception {
+    ForkId forkId = new ForkId();
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg());
+        FailFast failFast = failFast(forkId, 10, null, 50.0)) {
+      Assertions.assertTrue(forkId.await(10, TimeUnit.SECONDS).isPresent());
+      failFast.onTotals(0, 0, 0);
+      failFast.onTotals(10 * SECOND, 400, 0);
+      failFast.onTotals(15 * SECOND, 600, 0);
+      Assertions.assertNull(failFast.abortReason(), "breached for 5 s only");
+      failFast.onTotals(20 * SECOND, 800, 0);
+      Assertions.assertEquals(
+          "throughput 40.0 req/s < 50.0 req/s over the last 10 s"
+              + " (400 requests, 0 failed, 40.0 req/s)",
+          failFast.abortReason());
+      Assertions.assertTrue(fork.process.waitFor(30, TimeUnit.SECONDS), "fork still alive");
+    }
+  }
+
+  @Test
+  void resetsTheBreachOnceTheRulesHoldAgain() {
+    try (FailFast failFast = failFast(new ForkId(), 10, 0.05, null)) {
+      failFast.onTotals(0, 0, 0);
+      failFast.onTotals(10 * SECOND, 900, 100);
+      failFast.onTotals(15 * SECOND, 1400, 100);
+      failFast.onTotals(20 * SECOND, 1900, 100);
+      failFast.onTotals(25 * SECOND, 2300, 200);
+      Assertions.assertNull(failFast.abortReason());
+    }
+  }
+
+  @Test
+  void doesNotReportAnAbortWhenTheForkCannotBeFound() throws Exception {
+    // started with another id
+    try (ChildJvm fork = new ChildJvm(new ForkId().jvmArg());
+        FailFast failFast = failFast(new ForkId(), 0, 0.05, null)) {
+      failFast.onTotals(0, 0, 0);
+      failFast.onTotals(10 * SECOND, 0, 100);
+      Assertions.assertNull(failFast.abortReason());
+      Assertions.assertTrue(fork.process.isAlive());
+    }
+  }
+
+  @Test
+  void parsesTheGlobalTotalsOfTheConsoleSummary() throws Exception {
+    ForkId forkId = new ForkId();
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg());
+        FailFast failFast = failFast(forkId, 1, 0, 0.05, null)) {
+      Assertions.assertTrue(forkId.await(10, TimeUnit.SECONDS).isPresent());
+      List<String> lines = ConsoleSummaryTest.console("3.13.5");
+      for (String line : lines) {
+        if (line.startsWith("=====")) {
+          // a console summary every 1.2 s
+          nanos += 600_000_000;
+        }
+        failFast.info(line);
+        if (failFast.abortReason() != null) {
+          break;
+        }
+      }
+      // 152 of the 302 requests between the first two summaries failed
+      Assertions.assertTrue(
+          failFast.abortReason().startsWith("error ratio 50.33% > 5.00% over the last "),
+          failFast.abortReason());
+      Assertions.assertEquals(lines.subList(0, output.size()), output);
+      Assertions.assertTrue(fork.process.waitFor(30, TimeUnit.SECONDS), "fork still alive");
+    }
+  }
+
+  @Test
+  void warnsWhenNoConsoleSummaryCouldBeParsedWithinTheWindow() throws Exception {
+    try (FailFast failFast = failFast(new ForkId(), 1, 0, 0.05, null)) {
+      failFast.info("Simulation computerdatabase.BasicSimulation started...");
+      failFast.info("---- Requests ----");
+      failFast.info("> Global   OK: 130   KO: 3");
+      nanos += 1_100_000_000;
+      failFast.info("> Global   OK: 260   KO: 6");
+      failFast.info("> Global   OK: 390   KO: 9");
+    }
+    Assertions.assertEquals(
+        List.of(
+            "No console summary of simulation computerdatabase.BasicSimulation could be parsed in"
+                + " 1 s, gatling.failFast.maxErrorRatio and gatling.failFast.minRequestsPerSecond"
+                + " are inactive"),
+        warnings);
+    Assertions.assertEquals(5, output.size(), "the output must be relayed");
+  }
+}
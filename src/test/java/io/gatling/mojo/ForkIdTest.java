@@ -0,0 +1,48 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ForkIdTest {
+
+  @Test
+  void findsTheForkStartedWithIt() throws Exception {
+    ForkId forkId = new ForkId();
+    ForkId otherId = new ForkId();
+    try (ChildJvm other = new ChildJvm(otherId.jvmArg());
+        ChildJvm fork = new ChildJvm(forkId.jvmArg())) {
+      Optional<ProcessHandle> found = forkId.await(10, TimeUnit.SECONDS);
+      Assertions.assertEquals(Optional.of(fork.process.pid()), found.map(ProcessHandle::pid));
+      Assertions.assertEquals(
+          Optional.of(other.process.pid()), otherId.find().map(ProcessHandle::pid));
+    }
+  }
+
+  @Test
+  void findsNothingOnceTheForkEnded() throws Exception {
+    ForkId forkId = new ForkId();
+    ChildJvm fork = new ChildJvm(forkId.jvmArg());
+    fork.close();
+    try (ChildJvm other = new ChildJvm(new ForkId().jvmArg())) {
+      Assertions.assertTrue(forkId.find().isEmpty());
+    }
+  }
+}
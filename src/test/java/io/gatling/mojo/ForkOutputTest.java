@@ -0,0 +1,135 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ForkOutputTest {
+
+  /** Records what reaches the Maven console, optionally blocking on the first line. */
+  private static class Console extends SystemStreamLog {
+    final List<String> lines = new ArrayList<>();
+    final List<String> warnings = new ArrayList<>();
+    final CountDownLatch unblocked;
+
+    Console(boolean blocked) {
+      unblocked = new CountDownLatch(blocked ? 1 : 0);
+    }
+
+    private synchronized void add(String level, CharSequence content) {
+      lines.add(level + " " + content);
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+      add("DEBUG", content);
+    }
+
+    @Override
+    public void info(CharSequence content) {
+      try {
+        unblocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      add("INFO", content);
+    }
+
+    @Override
+    public void error(CharSequence content) {
+      add("ERROR", content);
+    }
+
+    @Override
+    public synchronized void warn(CharSequence content) {
+      warnings.add(content.toString());
+    }
+  }
+
+  @Test
+  void relaysLinesWithTheirLevel(@TempDir Path dir) throws Exception {
+    Console console = new Console(false);
+    Path logFile = dir.resolve("logs/fork.log");
+    try (ForkOutput output = new ForkOutput(console, logFile, 100, 0)) {
+      output.debug("starting");
+      output.info("running");
+      output.error("failed");
+    }
+    Assertions.assertEquals(
+        List.of("DEBUG starting", "INFO running", "ERROR failed"), console.lines);
+    Assertions.assertEquals(
+        List.of("starting", "running", "failed"),
+        Files.readAllLines(logFile, StandardCharsets.UTF_8));
+    Assertions.assertEquals(List.of(), console.warnings);
+  }
+
+  @Test
+  void rateLimitsTheConsoleButNotTheLogFile(@TempDir Path dir) throws Exception {
+    Console console = new Console(false);
+    Path logFile = dir.resolve("fork.log");
+    List<String> lines =
+        IntStream.range(0, 100).mapToObj(i -> "line " + i).collect(Collectors.toList());
+    try (ForkOutput output = new ForkOutput(console, logFile, 1000, 10)) {
+      lines.forEach(output::info);
+      output.error("failed");
+    }
+
+    Assertions.assertEquals(lines.size() + 1, Files.readAllLines(logFile).size());
+    long shown = console.lines.stream().filter(line -> line.startsWith("INFO")).count();
+    Assertions.assertTrue(shown >= 10 && shown < lines.size(), "shown: " + shown);
+    // errors aren't rate limited
+    Assertions.assertTrue(console.lines.contains("ERROR failed"));
+    Assertions.assertEquals(lines.size() - shown, notShown(console.warnings));
+    Assertions.assertTrue(console.warnings.get(0).endsWith(", see " + logFile));
+  }
+
+  @Test
+  void neverBlocksTheFork() throws Exception {
+    Console console = new Console(true);
+    int lines = 10_000;
+    try (ForkOutput output = new ForkOutput(console, null, 10, 0)) {
+      long start = System.nanoTime();
+      for (int i = 0; i < lines; i++) {
+        output.info("line " + i);
+      }
+      // the console is stuck on the first line, yet the fork keeps going
+      Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+      console.unblocked.countDown();
+    }
+    Assertions.assertEquals(lines - console.lines.size(), notShown(console.warnings));
+    Assertions.assertTrue(
+        console.warnings.get(0).endsWith(", the output was too fast for the console"));
+  }
+
+  private static long notShown(List<String> warnings) {
+    return warnings.stream()
+        .mapToLong(warning -> Long.parseLong(warning.substring(0, warning.indexOf(' '))))
+        .sum();
+  }
+}
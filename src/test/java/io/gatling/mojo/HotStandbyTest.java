@@ -0,0 +1,133 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import io.gatling.plugin.util.Fork;
+import io.gatling.plugin.util.ForkMain;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HotStandbyTest {
+
+  private static final String SIMULATION = "computerdatabase.BasicSimulation";
+
+  private static final PluginLogger CONSOLE =
+      new PluginLogger() {
+        @Override
+        public void debug(String message) {}
+
+        @Override
+        public void info(String message) {}
+
+        @Override
+        public void error(String message) {}
+      };
+
+  @TempDir Path dir;
+
+  /** Stands in for Gatling: writes its arguments to the file of its first one. */
+  public static final class Main {
+    public static void main(String[] args) throws Exception {
+      Files.write(Path.of(args[0]), List.of(args));
+    }
+  }
+
+  private static String location(Class<?> c) throws Exception {
+    return new File(c.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .getAbsolutePath();
+  }
+
+  private HotStandby standby(ForkId forkId, List<String> args) throws Exception {
+    List<String> classpath =
+        List.of(
+            location(HotStandbyMain.class),
+            location(HotStandbyTest.class),
+            MojoUtils.locateJar(ForkMain.class));
+    return new HotStandby(
+        SIMULATION,
+        forkId,
+        Main.class.getName(),
+        List.of("-Xmx256m"),
+        args,
+        (jvmArgs, standbyArgs, logger) ->
+            new Fork(
+                HotStandbyMain.class.getName(),
+                classpath,
+                jvmArgs,
+                standbyArgs,
+                new File(System.getProperty("java.home"), "bin/java"),
+                logger,
+                dir.toFile()));
+  }
+
+  @Test
+  void runsTheMainClassOnceReleased() throws Exception {
+    ForkId forkId = new ForkId();
+    Path ran = dir.resolve("ran.txt");
+    List<String> args = List.of(ran.toString(), "-s", SIMULATION);
+    try (HotStandby standby = standby(forkId, args)) {
+      Assertions.assertTrue(standby.matches(SIMULATION, List.of("-Xmx256m"), args));
+      Assertions.assertFalse(standby.matches(SIMULATION, List.of(), args));
+      Assertions.assertFalse(standby.matches("computerdatabase.Other", List.of("-Xmx256m"), args));
+      Assertions.assertSame(forkId, standby.forkId());
+
+      Optional<ProcessHandle> fork = forkId.await(10, TimeUnit.SECONDS);
+      Assertions.assertTrue(fork.isPresent(), "the fork must be started with its id");
+      Thread.sleep(500);
+      Assertions.assertTrue(fork.get().isAlive());
+      Assertions.assertFalse(Files.exists(ran), "ran before being released");
+
+      Assertions.assertTrue(standby.run(CONSOLE));
+      Assertions.assertEquals(args, Files.readAllLines(ran));
+    }
+  }
+
+  @Test
+  void exitsWithoutRunningTheMainClassWhenClosed() throws Exception {
+    ForkId forkId = new ForkId();
+    Path ran = dir.resolve("ran.txt");
+    HotStandby standby = standby(forkId, List.of(ran.toString()));
+    Optional<ProcessHandle> fork = forkId.await(10, TimeUnit.SECONDS);
+    Assertions.assertTrue(fork.isPresent(), "the fork must be started with its id");
+
+    standby.close();
+    Assertions.assertFalse(fork.get().isAlive());
+    Assertions.assertFalse(Files.exists(ran));
+  }
+
+  @Test
+  void isNotMistakenForAnotherForkOfTheSameRun() throws Exception {
+    ForkId forkId = new ForkId();
+    ForkId standbyId = new ForkId();
+    try (ChildJvm run = new ChildJvm(forkId.jvmArg());
+        HotStandby standby = standby(standbyId, List.of(dir.resolve("ran.txt").toString()))) {
+      Optional<ProcessHandle> standbyFork = standbyId.await(10, TimeUnit.SECONDS);
+      Assertions.assertTrue(standbyFork.isPresent());
+      Assertions.assertEquals(
+          Optional.of(run.process.pid()), forkId.find().map(ProcessHandle::pid));
+      Assertions.assertNotEquals(run.process.pid(), standbyFork.get().pid());
+    }
+  }
+}
@@ -0,0 +1,129 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InjectorMetricsTest {
+
+  @Test
+  void samplesTheCpuOfTheForkUntilItGeneratesItsReports() throws Exception {
+    ForkId forkId = new ForkId();
+    List<String> output = new ArrayList<>();
+    PluginLogger console =
+        new PluginLogger() {
+          @Override
+          public void debug(String message) {}
+
+          @Override
+          public void info(String message) {
+            output.add(message);
+          }
+
+          @Override
+          public void error(String message) {}
+        };
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg())) {
+      Optional<ProcessHandle> process = forkId.await(10, TimeUnit.SECONDS);
+      Assertions.assertTrue(process.isPresent());
+      Instant start = process.get().info().startInstant().orElseThrow();
+      // found as soon as it starts, before its CPU time is measurable
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (process.get().info().totalCpuDuration().orElse(Duration.ZERO).isZero()
+          && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      try (InjectorMetrics metrics =
+          new InjectorMetrics(console, forkId, Clock.fixed(start.plusSeconds(2), ZoneOffset.UTC))) {
+        metrics.sample();
+        double cpuSeconds = metrics.cpuSeconds();
+        // starting a JVM takes some CPU
+        Assertions.assertTrue(cpuSeconds > 0, Double.toString(cpuSeconds));
+        Assertions.assertTrue(metrics.cpuCores() > 0, Double.toString(metrics.cpuCores()));
+
+        metrics.info("Generating reports...");
+        Assertions.assertEquals(List.of("Generating reports..."), output);
+        double atTheEndOfTheLoad = metrics.cpuSeconds();
+        metrics.sample();
+        Assertions.assertEquals(atTheEndOfTheLoad, metrics.cpuSeconds(), "sampled after the load");
+      }
+    }
+  }
+
+  @Test
+  void sumsG1Pauses(@TempDir Path dir) throws Exception {
+    Path gcLog = dir.resolve(InjectorMetrics.GC_LOG);
+    Files.write(
+        gcLog,
+        List.of(
+            "[0.012s][info][gc] Using G1",
+            "[1.234s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 25M->5M(256M)"
+                + " 3.500ms",
+            "[1.235s][info][gc,phases] GC(0)   Evacuate Collection Set: 2.1ms",
+            "[5.678s][info][gc] GC(1) Pause Young (Concurrent Start) (G1 Humongous Allocation)"
+                + " 60M->20M(256M) 4.250ms",
+            "[5.700s][info][gc] GC(2) Concurrent Mark Cycle",
+            "[5.800s][info][gc] GC(2) Pause Remark 30M->30M(256M) 1.000ms",
+            "[5.900s][info][gc] GC(2) Concurrent Mark Cycle 200.123ms"));
+
+    InjectorMetrics.GcLog read = InjectorMetrics.readGcLog(gcLog);
+    Assertions.assertEquals(3, read.collections);
+    Assertions.assertEquals(8.75, read.pauseMillis, 1e-9);
+  }
+
+  @Test
+  void sumsZgcPausePhases(@TempDir Path dir) throws Exception {
+    Path gcLog = dir.resolve(InjectorMetrics.GC_LOG);
+    Files.write(
+        gcLog,
+        List.of(
+            "[0.010s][info][gc] Using The Z Garbage Collector",
+            "[2.000s][info][gc,phases] GC(0) y: Pause Mark Start 0.010ms",
+            "[2.050s][info][gc,phases] GC(0) y: Pause Mark End 0.020ms",
+            "[2.100s][info][gc,phases] GC(0) y: Pause Relocate Start 0.005ms",
+            "[2.200s][info][gc] GC(0) Minor Collection (Allocation Rate) 30M(1%)->10M(0%)"
+                + " 0.190s"));
+
+    InjectorMetrics.GcLog read = InjectorMetrics.readGcLog(gcLog);
+    Assertions.assertEquals(1, read.collections);
+    Assertions.assertEquals(0.035, read.pauseMillis, 1e-9);
+  }
+
+  @Test
+  void derivesTheLabelOfUnnamedRuntimes() {
+    InjectorRuntime runtime =
+        new InjectorRuntime().jdkVersion("21").jvmArgs(List.of("-XX:+UseZGC"));
+    Assertions.assertEquals("jdk 21 -XX:+UseZGC", runtime.label());
+    Assertions.assertEquals("jdk-21--XX--UseZGC", runtime.suffix());
+    Assertions.assertEquals("21", runtime.requirements().get("version"));
+    Assertions.assertEquals("g1", new InjectorRuntime().name("g1").label());
+    Assertions.assertTrue(new InjectorRuntime().requirements().isEmpty());
+  }
+}
@@ -0,0 +1,179 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LiveMetricsTest {
+
+  private static final PluginLogger CONSOLE =
+      new PluginLogger() {
+        @Override
+        public void debug(String message) {}
+
+        @Override
+        public void info(String message) {}
+
+        @Override
+        public void error(String message) {}
+      };
+
+  @TempDir Path resultsFolder;
+
+  private LiveMetrics metrics;
+
+  @BeforeEach
+  void start() throws Exception {
+    metrics = LiveMetrics.start(new SystemStreamLog(), "127.0.0.1", 0);
+  }
+
+  @AfterEach
+  void stop() {
+    metrics.close();
+  }
+
+  @Test
+  void rendersTheCountsAndResponseTimesOfGatlingBefore311() throws Exception {
+    try (LiveMetrics.Run run =
+        metrics.run("sim.BasicSimulation", CONSOLE, resultsFolder.toFile())) {
+      Path runDirectory =
+          Files.createDirectory(resultsFolder.resolve("basicsimulation-20261018231453675"));
+      Files.copy(
+          Path.of("src/test/resources/golden-files/simulation-log/simulation.log"),
+          runDirectory.resolve("simulation.log"));
+      ConsoleSummaryTest.console("3.9.5").forEach(run::info);
+    }
+
+    String labels = "simulation=\"sim.BasicSimulation\"";
+    String home = labels + ",request=\"home\"";
+    String missing = labels + ",request=\"missing\"";
+    Assertions.assertEquals(
+        "# TYPE gatling_errors counter\n"
+            + "gatling_errors_total{"
+            + labels
+            + ",error=\"status.find.in([200, 209], 304), found 404\"} 441\n"
+            + "# TYPE gatling_requests counter\n"
+            + "gatling_requests_total{"
+            + labels
+            + ",request=\"Global\",status=\"ko\"} 441\n"
+            + "gatling_requests_total{"
+            + labels
+            + ",request=\"Global\",status=\"ok\"} 441\n"
+            + "gatling_requests_total{"
+            + home
+            + ",status=\"ko\"} 0\n"
+            + "gatling_requests_total{"
+            + home
+            + ",status=\"ok\"} 441\n"
+            + "gatling_requests_total{"
+            + missing
+            + ",status=\"ko\"} 441\n"
+            + "gatling_requests_total{"
+            + missing
+            + ",status=\"ok\"} 0\n"
+            + "# TYPE gatling_simulation_running gauge\n"
+            + "gatling_simulation_running{"
+            + labels
+            + "} 0\n"
+            + "# TYPE gatling_users gauge\n"
+            + "gatling_users{"
+            + labels
+            + ",scenario=\"Browse\",state=\"active\"} 0\n"
+            + "gatling_users{"
+            + labels
+            + ",scenario=\"Browse\",state=\"done\"} 5\n"
+            + "gatling_users{"
+            + labels
+            + ",scenario=\"Browse\",state=\"waiting\"} 0\n"
+            + "# TYPE gatling_response_time_milliseconds histogram\n"
+            + histogram(home, new int[] {0, 2, 3, 4, 4, 5, 5, 5, 5, 5, 5, 5, 5}, 211)
+            + histogram(missing, new int[] {0, 0, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4}, 67)
+            + "# EOF\n",
+        metrics.render(true));
+  }
+
+  private static String histogram(String labels, int[] cumulated, long sum) {
+    String[] le = {
+      "5", "10", "25", "50", "100", "250", "500", "1000", "2500", "5000", "10000", "30000", "+Inf"
+    };
+    StringBuilder histogram = new StringBuilder();
+    for (int i = 0; i < le.length; i++) {
+      histogram
+          .append("gatling_response_time_milliseconds_bucket{")
+          .append(labels)
+          .append(",le=\"")
+          .append(le[i])
+          .append("\"} ")
+          .append(cumulated[i])
+          .append('\n');
+    }
+    String count = cumulated[cumulated.length - 1] + "\n";
+    return histogram
+        + ("gatling_response_time_milliseconds_count{" + labels + "} " + count)
+        + ("gatling_response_time_milliseconds_sum{" + labels + "} " + sum + "\n");
+  }
+
+  @Test
+  void countsTheRequestsOfTheTableLayout() throws Exception {
+    try (LiveMetrics.Run run =
+        metrics.run("sim.BasicSimulation", CONSOLE, resultsFolder.toFile())) {
+      ConsoleSummaryTest.console("3.13.5").forEach(run::info);
+    }
+
+    String rendered = metrics.render(false);
+    Assertions.assertTrue(
+        rendered.contains(
+            "gatling_requests_total{simulation=\"sim.BasicSimulation\",request=\"Global\","
+                + "status=\"ok\"} 352\n"),
+        rendered);
+    Assertions.assertTrue(
+        rendered.contains(
+            "gatling_requests_total{simulation=\"sim.BasicSimulation\",request=\"Global\","
+                + "status=\"ko\"} 351\n"),
+        rendered);
+    Assertions.assertTrue(rendered.startsWith("# TYPE gatling_errors_total counter\n"), rendered);
+    Assertions.assertFalse(rendered.contains("# EOF"));
+    Assertions.assertFalse(rendered.contains("histogram"));
+  }
+
+  @Test
+  void servesOpenMetricsWhenAccepted() throws Exception {
+    HttpURLConnection connection =
+        (HttpURLConnection)
+            new URL("http://127.0.0.1:" + metrics.port() + LiveMetrics.PATH).openConnection();
+    connection.setRequestProperty("Accept", "application/openmetrics-text; version=1.0.0");
+    try (InputStream body = connection.getInputStream()) {
+      Assertions.assertEquals(200, connection.getResponseCode());
+      Assertions.assertEquals(
+          "application/openmetrics-text; version=1.0.0; charset=utf-8",
+          connection.getContentType());
+      Assertions.assertEquals("# EOF\n", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -0,0 +1,71 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+class MojoUtilsTest {
+
+  /**
+   * @return the nice value of the threads of a process, from the proc filesystem of Linux
+   */
+  private static List<Integer> niceValues(long pid) throws IOException {
+    try (Stream<Path> tasks = Files.list(Path.of("/proc/" + pid + "/task"))) {
+      return tasks
+          .map(
+              task -> {
+                try {
+                  String stat = Files.readString(task.resolve("stat"));
+                  // the 19th field, the 2nd one being the command between parentheses
+                  return Integer.parseInt(stat.substring(stat.lastIndexOf(')') + 2).split(" ")[16]);
+                } catch (IOException e) {
+                  // ended meanwhile
+                  return null;
+                }
+              })
+          .filter(nice -> nice != null)
+          .collect(Collectors.toList());
+    }
+  }
+
+  @Test
+  void niceJavaLowersThePriorityOfEveryThreadOfTheJvm() throws Exception {
+    Assumptions.assumeTrue(Files.isDirectory(Path.of("/proc/self/task")), "not Linux");
+    int nice = niceValues(ProcessHandle.current().pid()).get(0);
+    Path niceJava = MojoUtils.niceJava(new File(System.getProperty("java.home"), "bin/java"), 10);
+    try (ChildJvm fork = new ChildJvm(niceJava.toFile())) {
+      // the JVM has started its GC and compiler threads, among others
+      Thread.sleep(1000);
+      List<Integer> niceValues = niceValues(fork.process.pid());
+      Assertions.assertTrue(niceValues.size() > 1, niceValues.toString());
+      Assertions.assertEquals(
+          List.of(Math.min(nice + 10, 19)),
+          niceValues.stream().distinct().collect(Collectors.toList()));
+    } finally {
+      Files.delete(niceJava);
+    }
+  }
+}
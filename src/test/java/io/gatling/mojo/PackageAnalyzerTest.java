@@ -0,0 +1,185 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.tools.ToolProvider;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PackageAnalyzerTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void reportsUnreferencedJarsAndKeepsServiceProviders() throws IOException {
+    Path classes =
+        compile(
+            "sim/MySimulation.java",
+            "package sim; public class MySimulation {"
+                + " lib.Used used; spi.Codec codec; java.sql.Driver driver; }",
+            "lib/Used.java",
+            "package lib; public class Used {}",
+            "spi/Codec.java",
+            "package spi; public interface Codec {}",
+            "impl/FastCodec.java",
+            "package impl; public class FastCodec implements spi.Codec {}",
+            "driver/FakeDriver.java",
+            "package driver; public abstract class FakeDriver implements java.sql.Driver {}",
+            "unused/Helper.java",
+            "package unused; public class Helper {}");
+
+    Path testClasses = dir.resolve("test-classes");
+    move(classes, testClasses, "sim/MySimulation.class");
+    List<Artifact> dependencies = new ArrayList<>();
+    dependencies.add(jar(classes, "used", "lib/Used.class"));
+    dependencies.add(jar(classes, "spi", "spi/Codec.class"));
+    dependencies.add(
+        jar(
+            classes,
+            "codec",
+            "impl/FastCodec.class",
+            "META-INF/services/spi.Codec",
+            "# providers\nimpl.FastCodec\n"));
+    dependencies.add(
+        jar(
+            classes,
+            "driver",
+            "driver/FakeDriver.class",
+            "META-INF/services/java.sql.Driver",
+            "driver.FakeDriver"));
+    dependencies.add(jar(classes, "unused", "unused/Helper.class"));
+    dependencies.add(jar(classes, "resources", "config.properties", "key=value"));
+
+    Map<String, PackageAnalyzer.DependencyReport> reports;
+    try (PackageAnalyzer analyzer =
+        new PackageAnalyzer(List.of(testClasses.toFile()), dependencies)) {
+      reports =
+          analyzer.analyze(testClasses.toFile(), List.of()).stream()
+              .collect(Collectors.toMap(r -> r.artifact.getArtifactId(), Function.identity()));
+    }
+
+    Assertions.assertTrue(reports.get("used").isReachable());
+    Assertions.assertTrue(reports.get("spi").isReachable());
+    // only referenced through META-INF/services
+    Assertions.assertTrue(reports.get("codec").isReachable());
+    Assertions.assertTrue(reports.get("driver").isReachable());
+    Assertions.assertFalse(reports.get("unused").isReachable());
+    Assertions.assertEquals(1, reports.get("unused").classes);
+    Assertions.assertEquals(0, reports.get("unused").reachableClasses);
+    // nothing to judge
+    Assertions.assertTrue(reports.get("resources").isReachable());
+  }
+
+  @Test
+  void keepsExtraRoots() throws IOException {
+    Path classes =
+        compile(
+            "sim/MySimulation.java",
+            "package sim; public class MySimulation {}",
+            "reflective/Plugin.java",
+            "package reflective; public class Plugin {}");
+    Path testClasses = dir.resolve("test-classes");
+    move(classes, testClasses, "sim/MySimulation.class");
+    List<Artifact> dependencies = List.of(jar(classes, "reflective", "reflective/Plugin.class"));
+
+    try (PackageAnalyzer analyzer =
+        new PackageAnalyzer(List.of(testClasses.toFile()), dependencies)) {
+      Assertions.assertFalse(
+          analyzer.analyze(testClasses.toFile(), List.of()).get(0).isReachable());
+      Assertions.assertTrue(
+          analyzer.analyze(testClasses.toFile(), List.of("reflective.")).get(0).isReachable());
+      Assertions.assertTrue(
+          analyzer
+              .analyze(testClasses.toFile(), List.of("reflective.Plugin"))
+              .get(0)
+              .isReachable());
+    }
+  }
+
+  /**
+   * @param sources file names and contents, alternately
+   * @return the directory of the compiled classes
+   */
+  private Path compile(String... sources) throws IOException {
+    Path sourceDirectory = dir.resolve("src");
+    List<String> args = new ArrayList<>(List.of("-d", dir.resolve("classes").toString()));
+    for (int i = 0; i < sources.length; i += 2) {
+      Path source = sourceDirectory.resolve(sources[i]);
+      Files.createDirectories(source.getParent());
+      Files.writeString(source, sources[i + 1]);
+      args.add(source.toString());
+    }
+    Assertions.assertEquals(
+        0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(String[]::new)));
+    return dir.resolve("classes");
+  }
+
+  private static void move(Path from, Path to, String path) throws IOException {
+    Files.createDirectories(to.resolve(path).getParent());
+    Files.move(from.resolve(path), to.resolve(path));
+  }
+
+  /**
+   * @param entries class files to take from the classes directory, or resource names followed by
+   *     their content
+   */
+  private Artifact jar(Path classes, String artifactId, String... entries) throws IOException {
+    File file = dir.resolve(artifactId + ".jar").toFile();
+    try (OutputStream os = Files.newOutputStream(file.toPath());
+        ZipOutputStream out = new ZipOutputStream(os)) {
+      for (int i = 0; i < entries.length; i++) {
+        out.putNextEntry(new ZipEntry(entries[i]));
+        out.write(
+            entries[i].endsWith(".class")
+                ? Files.readAllBytes(classes.resolve(entries[i]))
+                : entries[++i].getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+      }
+    }
+    DefaultArtifactHandler handler = new DefaultArtifactHandler("jar");
+    handler.setAddedToClasspath(true);
+    DefaultArtifact artifact =
+        new DefaultArtifact(
+            "com.example",
+            artifactId,
+            VersionRange.createFromVersion("1.0"),
+            Artifact.SCOPE_COMPILE,
+            "jar",
+            null,
+            handler);
+    artifact.setFile(file);
+    return artifact;
+  }
+}
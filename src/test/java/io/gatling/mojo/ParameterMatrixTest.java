@@ -0,0 +1,55 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ParameterMatrixTest {
+
+  @Test
+  void expandsEveryCombination() {
+    List<ParameterMatrix.Combination> combinations =
+        ParameterMatrix.expand(Map.of("users", "100, 500", "env", "staging,prod"));
+    Assertions.assertEquals(
+        List.of(
+            "env=staging, users=100",
+            "env=staging, users=500",
+            "env=prod, users=100",
+            "env=prod, users=500"),
+        combinations.stream().map(ParameterMatrix.Combination::label).collect(Collectors.toList()));
+    Assertions.assertEquals(List.of("-Denv=staging", "-Dusers=100"), combinations.get(0).jvmArgs());
+  }
+
+  @Test
+  void suffixIsAFileName() {
+    Assertions.assertEquals(
+        "base.url-http---host-8080_users-100",
+        ParameterMatrix.expand(Map.of("base.url", "http://host:8080", "users", "100"))
+            .get(0)
+            .suffix());
+  }
+
+  @Test
+  void rejectsPropertiesWithoutValues() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> ParameterMatrix.expand(Map.of("users", " , ")));
+  }
+}
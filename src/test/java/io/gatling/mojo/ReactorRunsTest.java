@@ -0,0 +1,118 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ReactorRunsTest {
+
+  private static MavenProject project(String artifactId) {
+    MavenProject project = new MavenProject();
+    project.setGroupId("com.example");
+    project.setArtifactId(artifactId);
+    return project;
+  }
+
+  @SuppressWarnings("deprecation")
+  private static MavenSession session(MavenProject... projects) {
+    MavenSession session =
+        new MavenSession(
+            null,
+            new DefaultRepositorySystemSession(),
+            new DefaultMavenExecutionRequest(),
+            new DefaultMavenExecutionResult());
+    session.setProjects(List.of(projects));
+    return session;
+  }
+
+  @Test
+  void isSharedByTheModulesOfASession() {
+    MavenSession session = session();
+    ReactorRuns reactorRuns = ReactorRuns.of(session, 2);
+    Assertions.assertSame(reactorRuns, ReactorRuns.of(session, 5));
+    // the first module sets the limit
+    Assertions.assertEquals(2, ReactorRuns.of(session, 5).maxConcurrentRuns());
+    Assertions.assertNotSame(reactorRuns, ReactorRuns.of(session(), 2));
+  }
+
+  @Test
+  void limitsConcurrentRuns() throws Exception {
+    ReactorRuns reactorRuns = ReactorRuns.of(session(), 2);
+    Assertions.assertTrue(reactorRuns.tryAcquireRun());
+    Assertions.assertTrue(reactorRuns.tryAcquireRun());
+    Assertions.assertFalse(reactorRuns.tryAcquireRun());
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread waiting =
+        new Thread(
+            () -> {
+              try {
+                reactorRuns.acquireRun();
+                acquired.countDown();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    waiting.start();
+    Assertions.assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    reactorRuns.releaseRun();
+    Assertions.assertTrue(acquired.await(10, TimeUnit.SECONDS));
+    waiting.join();
+  }
+
+  @Test
+  void doesntLimitRunsByDefault() throws Exception {
+    ReactorRuns reactorRuns = ReactorRuns.of(session(), 0);
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertTrue(reactorRuns.tryAcquireRun());
+    }
+    reactorRuns.acquireRun();
+    reactorRuns.releaseRun();
+  }
+
+  @Test
+  void listsRecordedModulesInReactorOrder() {
+    MavenProject first = project("first");
+    MavenProject second = project("second");
+    MavenProject third = project("third");
+    MavenSession session = session(first, second, third);
+    ReactorRuns reactorRuns = ReactorRuns.of(session, 0);
+
+    // modules of a parallel build end in any order
+    reactorRuns.record(third, List.of("c-1"), "Gatling failed.");
+    reactorRuns.record(first, List.of("a-1"), null);
+    reactorRuns.record(first, List.of("a-1", "a-2"), null);
+
+    List<ReactorRuns.ModuleRuns> modules = reactorRuns.modules(session);
+    Assertions.assertEquals(
+        List.of("com.example:first", "com.example:third"),
+        modules.stream().map(module -> module.module).collect(Collectors.toList()));
+    Assertions.assertEquals(List.of("a-1", "a-2"), modules.get(0).runDirectories);
+    Assertions.assertNull(modules.get(0).error);
+    Assertions.assertEquals("Gatling failed.", modules.get(1).error);
+  }
+}
@@ -0,0 +1,32 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RecorderMojoTest {
+
+  @Test
+  void harClassNames() {
+    Assertions.assertEquals("Checkout", RecorderMojo.harClassName(Path.of("hars/checkout.har")));
+    Assertions.assertEquals(
+        "CheckoutFlowV2", RecorderMojo.harClassName(Path.of("checkout flow_v2.HAR")));
+    Assertions.assertEquals("Har2024Export", RecorderMojo.harClassName(Path.of("2024-export.har")));
+  }
+}
@@ -0,0 +1,108 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ReproducibleJarTest {
+
+  private File createJar(List<String> entries, long time, String... manifestAttributes)
+      throws IOException {
+    Path jar = Files.createTempFile("reproducible", ".jar");
+    jar.toFile().deleteOnExit();
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    for (int i = 0; i < manifestAttributes.length; i += 2) {
+      manifest.getMainAttributes().putValue(manifestAttributes[i], manifestAttributes[i + 1]);
+    }
+
+    try (OutputStream os = Files.newOutputStream(jar);
+        ZipOutputStream out = new ZipOutputStream(os)) {
+      for (String name : entries) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setTime(time);
+        out.putNextEntry(entry);
+        if (name.equals(JarFile.MANIFEST_NAME)) {
+          manifest.write(out);
+        } else {
+          out.write(name.getBytes(StandardCharsets.UTF_8));
+        }
+        out.closeEntry();
+      }
+    }
+    return jar.toFile();
+  }
+
+  @Test
+  void identicalContentGivesIdenticalBytes() throws IOException {
+    Instant timestamp = Instant.parse("2024-01-01T00:00:00Z");
+    File first =
+        createJar(
+            List.of("b/B.class", JarFile.MANIFEST_NAME, "a/A.class"),
+            1_000_000_000_000L,
+            "Created-By",
+            "maven",
+            "Build-Jdk",
+            "17");
+    File second =
+        createJar(
+            List.of(JarFile.MANIFEST_NAME, "a/A.class", "b/B.class"),
+            1_700_000_000_000L,
+            "Build-Jdk",
+            "17",
+            "Created-By",
+            "maven");
+
+    ReproducibleJar.normalize(first, timestamp);
+    ReproducibleJar.normalize(second, timestamp);
+
+    Assertions.assertArrayEquals(
+        Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+    try (JarInputStream is = new JarInputStream(Files.newInputStream(first.toPath()))) {
+      Assertions.assertEquals("17", is.getManifest().getMainAttributes().getValue("Build-Jdk"));
+      Assertions.assertEquals("a/A.class", is.getNextJarEntry().getName());
+    }
+  }
+
+  @Test
+  void outputTimestamp() {
+    Assertions.assertNull(ReproducibleJar.parseOutputTimestamp(null));
+    Assertions.assertNull(ReproducibleJar.parseOutputTimestamp("a"));
+    Assertions.assertEquals(
+        Instant.ofEpochSecond(1700000000), ReproducibleJar.parseOutputTimestamp("1700000000"));
+    Assertions.assertEquals(
+        Instant.parse("2024-01-01T00:00:00Z"),
+        ReproducibleJar.parseOutputTimestamp("2024-01-01T01:00:00+01:00"));
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> ReproducibleJar.parseOutputTimestamp("yesterday"));
+  }
+}
@@ -0,0 +1,118 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourceSamplerTest {
+
+  private static final int HEADER_SIZE = 30;
+  private static final int RECORD_SIZE = 28;
+
+  @Test
+  void writesSamplesOfTheHost(@TempDir Path dir) throws Exception {
+    Assumptions.assumeTrue(Files.isReadable(Path.of("/proc/stat")), "Linux only");
+    Path file = dir.resolve("run/resources.bin");
+    List<String> warnings = new ArrayList<>();
+    ResourceSampler sampler =
+        ResourceSampler.start(
+            file,
+            50,
+            new SystemStreamLog() {
+              @Override
+              public void warn(CharSequence content) {
+                warnings.add(content.toString());
+              }
+            });
+    Assertions.assertNotNull(sampler);
+    long start = System.currentTimeMillis();
+    try (sampler) {
+      Thread.sleep(500);
+    }
+    // closing doesn't interrupt a sample in progress
+    Assertions.assertEquals(List.of(), warnings);
+
+    long size = Files.size(file);
+    Assertions.assertEquals(0, (size - HEADER_SIZE) % RECORD_SIZE, "size: " + size);
+    long samples = (size - HEADER_SIZE) / RECORD_SIZE;
+    Assertions.assertTrue(samples >= 2, "samples: " + samples);
+
+    try (InputStream is = Files.newInputStream(file);
+        DataInputStream in = new DataInputStream(is)) {
+      Assertions.assertEquals(0x47525331, in.readInt());
+      Assertions.assertEquals(1, in.readShort());
+      Assertions.assertEquals(50, in.readInt());
+      Assertions.assertTrue(Math.abs(in.readLong() - start) < 10_000);
+      long totalMemory = in.readLong();
+      Assertions.assertTrue(totalMemory > 0);
+      Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), in.readInt());
+
+      int previousMillis = 0;
+      for (long i = 0; i < samples; i++) {
+        int millis = in.readInt();
+        Assertions.assertTrue(millis > previousMillis, "not increasing: " + millis);
+        previousMillis = millis;
+        assertBetween(0, 10_000, in.readShort()); // CPU busy
+        assertBetween(0, 10_000, in.readShort()); // CPU iowait
+        assertBetween(1, totalMemory / (1024 * 1024), in.readInt()); // memory used
+        for (int rate = 0; rate < 4; rate++) {
+          assertBetween(0, Float.MAX_VALUE, in.readFloat());
+        }
+      }
+      Assertions.assertEquals(-1, in.read());
+    }
+
+    List<String> summary = sampler.summary();
+    List<String> metrics = new ArrayList<>();
+    for (String line : summary.subList(1, summary.size())) {
+      metrics.add(line.substring(0, 18).trim());
+    }
+    Assertions.assertEquals(
+        List.of(
+            "CPU busy",
+            "CPU iowait",
+            "Memory used",
+            "Network received",
+            "Network sent",
+            "Disk read",
+            "Disk written"),
+        metrics);
+  }
+
+  @Test
+  void isSkippedWithoutProc(@TempDir Path dir) throws IOException {
+    Assumptions.assumeFalse(Files.isReadable(Path.of("/proc/stat")), "not Linux only");
+    Assertions.assertNull(
+        ResourceSampler.start(dir.resolve("resources.bin"), 50, new SystemStreamLog()));
+  }
+
+  private static void assertBetween(double min, double max, double value) {
+    Assertions.assertTrue(
+        value >= min && value <= max, value + " not in [" + min + ", " + max + "]");
+  }
+}
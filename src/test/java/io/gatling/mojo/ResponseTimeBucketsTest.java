@@ -0,0 +1,43 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ResponseTimeBucketsTest {
+
+  @Test
+  void bucketsAreExactForSmallValues() {
+    for (long millis = 0; millis < 64; millis++) {
+      Assertions.assertEquals(millis, ResponseTimeBuckets.upperBound(ResponseTimeBuckets.bucket(millis)));
+    }
+  }
+
+  @Test
+  void bucketsAreWithinThreePercent() {
+    int previous = -1;
+    for (long millis = 1; millis < 3_600_000; millis += millis / 7 + 1) {
+      int bucket = ResponseTimeBuckets.bucket(millis);
+      long upperBound = ResponseTimeBuckets.upperBound(bucket);
+      Assertions.assertTrue(bucket >= previous, "buckets must be ordered");
+      Assertions.assertTrue(upperBound >= millis, millis + " above its bucket " + upperBound);
+      Assertions.assertTrue(upperBound <= millis * 1.032, millis + " far from " + upperBound);
+      previous = bucket;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RollupIndexTest {
+
+  private static final long START = 1_700_000_000_000L;
+
+  @Test
+  void queriesTimeRanges(@TempDir Path dir) throws Exception {
+    List<String> lines = new ArrayList<>();
+    lines.add("RUN\tcomputerdatabase.BasicSimulation\tbasicsimulation\t" + START + "\t \t3.9.5");
+    // second 0: 10 ms OK, second 1: 100 ms KO, second 2: 1000 ms OK
+    lines.add(request(START, 10, "OK"));
+    lines.add(request(START + 1_000, 100, "KO"));
+    lines.add(request(START + 2_000, 1_000, "OK"));
+    lines.add("USER\tBasic\tSTART\t" + START + "\t" + START);
+    Path simulationLog = dir.resolve("simulation.log");
+    Files.write(simulationLog, lines);
+
+    try (RollupIndex index = RollupIndex.build(simulationLog, dir.resolve(RollupIndex.FILE))) {
+      Assertions.assertEquals(3, index.seconds());
+    }
+    try (RollupIndex index = RollupIndex.open(dir.resolve(RollupIndex.FILE))) {
+      Assertions.assertEquals(START / 1000, index.startSecond());
+      Assertions.assertArrayEquals(new long[] {1, 1, 1}, index.requestsPerSecond());
+
+      RollupIndex.Window all = index.window(0, 3);
+      Assertions.assertEquals(2, all.ok);
+      Assertions.assertEquals(1, all.ko);
+      Assertions.assertEquals(1, all.requestsPerSecond());
+      Assertions.assertEquals(10, all.percentile(0));
+      Assertions.assertEquals(1_000, all.percentile(100), 1_000 * 0.032);
+
+      RollupIndex.Window middle = index.window(1, 2);
+      Assertions.assertEquals(0, middle.ok);
+      Assertions.assertEquals(1, middle.ko);
+      Assertions.assertEquals(100, middle.percentile(99), 100 * 0.032);
+    }
+  }
+
+  @Test
+  void binarySimulationLogIsNotIndexed(@TempDir Path dir) throws Exception {
+    Path simulationLog = dir.resolve("simulation.log");
+    // not even valid UTF-8
+    Files.write(simulationLog, new byte[] {0, 1, (byte) 0xC3, 0x28, '\n', 3});
+    Assertions.assertNull(RollupIndex.build(simulationLog, dir.resolve(RollupIndex.FILE)));
+  }
+
+  @Test
+  void steadyStateLeavesOutRamps() {
+    long[] requests = new long[120];
+    for (int second = 0; second < 30; second++) {
+      requests[second] = second * 10;
+    }
+    Arrays.fill(requests, 30, 90, 300);
+    for (int second = 90; second < 120; second++) {
+      requests[second] = (120 - second) * 10;
+    }
+    // noise within the tolerance
+    requests[60] = 330;
+
+    int[] steadyState = RollupIndex.steadyState(requests, 0.2);
+    Assertions.assertNotNull(steadyState);
+    Assertions.assertTrue(steadyState[0] >= 20 && steadyState[0] <= 35, "from " + steadyState[0]);
+    Assertions.assertTrue(steadyState[1] >= 85 && steadyState[1] <= 100, "to " + steadyState[1]);
+  }
+
+  @Test
+  void noSteadyStateWhenThroughputKeepsOnChanging() {
+    long[] requests = new long[60];
+    for (int second = 0; second < requests.length; second++) {
+      requests[second] = 1L << (second / 4);
+    }
+    Assertions.assertNull(RollupIndex.steadyState(requests, 0.2));
+  }
+
+  private static String request(long end, long responseTime, String status) {
+    return "REQUEST\t\thome\t" + (end - responseTime) + "\t" + end + "\t" + status + "\t ";
+  }
+}
@@ -0,0 +1,75 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunStatisticsTest {
+
+  private static final String STATS =
+      "{\"type\":\"GROUP\",\"name\":\"All Requests\",\"stats\":{"
+          + "\"numberOfRequests\":{\"total\":30,\"ok\":29,\"ko\":1},"
+          + "\"meanResponseTime\":{\"total\":12,\"ok\":11,\"ko\":40}},"
+          + "\"contents\":{"
+          + "\"req_home\":{\"type\":\"REQUEST\",\"name\":\"home\",\"stats\":{"
+          + "\"numberOfRequests\":{\"total\":\"10\",\"ok\":\"10\",\"ko\":\"0\"},"
+          + "\"meanResponseTime\":{\"total\":\"5\",\"ok\":\"5\",\"ko\":\"-\"}}},"
+          + "\"group_checkout\":{\"type\":\"GROUP\",\"name\":\"checkout\",\"contents\":{"
+          + "\"req_pay\":{\"type\":\"REQUEST\",\"name\":\"pay\",\"stats\":{"
+          + "\"numberOfRequests\":{\"total\":20,\"ok\":19,\"ko\":1},"
+          + "\"meanResponseTime\":{\"total\":15.5,\"ok\":14,\"ko\":40}}}}}}}";
+
+  @Test
+  void readsRequestsOfAllGroups(@TempDir Path runDirectory) throws IOException {
+    Files.createDirectories(runDirectory.resolve("js"));
+    Files.writeString(runDirectory.resolve(RunStatistics.STATS_FILE), STATS);
+
+    Map<String, RunStatistics.Request> requests = RunStatistics.read(runDirectory.toFile());
+
+    Assertions.assertEquals(
+        List.of(RunStatistics.GLOBAL, "home", "checkout / pay"), List.copyOf(requests.keySet()));
+    Assertions.assertEquals(1, requests.get(RunStatistics.GLOBAL).failed);
+    Assertions.assertEquals(10, requests.get("home").count);
+    Assertions.assertEquals(5, requests.get("home").meanResponseTime);
+    Assertions.assertEquals(15.5, requests.get("checkout / pay").meanResponseTime);
+  }
+
+  @Test
+  void failsWithoutReports(@TempDir Path runDirectory) {
+    File directory = runDirectory.toFile();
+    Assertions.assertThrows(IOException.class, () -> RunStatistics.read(directory));
+  }
+
+  @Test
+  void computesConfidenceIntervalAcrossRuns() {
+    RunStatistics.Variation variation = RunStatistics.variation(new double[] {10, 12, 14});
+
+    Assertions.assertEquals(12, variation.mean, 1e-9);
+    Assertions.assertEquals(2, variation.standardDeviation, 1e-9);
+    // t(0.975, 2) * 2 / sqrt(3)
+    Assertions.assertEquals(4.969, variation.confidenceInterval, 1e-3);
+    Assertions.assertEquals(1 / 6.0, variation.coefficientOfVariation(), 1e-9);
+  }
+}
@@ -0,0 +1,76 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimulationHistoryTest {
+
+  private static final List<String> SIMULATIONS = List.of("Long", "New", "Short", "Failed");
+
+  private final SimulationHistory history =
+      new SimulationHistory(
+          Map.of(
+              "Long", new SimulationHistory.Entry(60_000, false),
+              "Short", new SimulationHistory.Entry(1_000, false),
+              "Failed", new SimulationHistory.Entry(30_000, true)));
+
+  @Test
+  void declaredOrderIsKept() {
+    Assertions.assertEquals(
+        SIMULATIONS, history.order(SIMULATIONS, SimulationHistory.Order.DECLARED));
+  }
+
+  @Test
+  void failedFirstThenShortest() {
+    Assertions.assertEquals(
+        List.of("Failed", "Short", "Long", "New"),
+        history.order(SIMULATIONS, SimulationHistory.Order.parse("failedFirst")));
+  }
+
+  @Test
+  void unknownSimulationsCountAsLongest() {
+    Assertions.assertEquals(
+        List.of("Short", "Failed", "Long", "New"),
+        history.order(SIMULATIONS, SimulationHistory.Order.SHORTEST_FIRST));
+    Assertions.assertEquals(
+        List.of("New", "Long", "Failed", "Short"),
+        history.order(SIMULATIONS, SimulationHistory.Order.LONGEST_FIRST));
+  }
+
+  @Test
+  void roundTrips(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve(SimulationHistory.FILE);
+    Assertions.assertNull(SimulationHistory.read(file).get("Long"));
+
+    history.record("New", 5_000, true);
+    history.write(file);
+    Files.writeString(file, "garbage\n", StandardOpenOption.APPEND);
+
+    SimulationHistory read = SimulationHistory.read(file);
+    Assertions.assertEquals(60_000, read.get("Long").durationMillis);
+    Assertions.assertFalse(read.get("Long").failed);
+    Assertions.assertTrue(read.get("New").failed);
+  }
+}
@@ -0,0 +1,57 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimulationLogTailTest {
+
+  @Test
+  void skipsRecordsLongerThanAReadAndKeepsFollowing(@TempDir Path dir) throws Exception {
+    Path resultsFolder = Files.createDirectories(dir.resolve("results"));
+    List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    StringBuilder log = new StringBuilder();
+    log.append("RUN\tcomputerdatabase.BasicSimulation\tbasicsimulation\t1700000000000\t\t3.10.5\n");
+    log.append("REQUEST\t\thome\t1700000000100\t1700000000200\tOK\t \n");
+    // a KO message with a 3 MiB response body
+    log.append("REQUEST\t\tsearch\t1700000000300\t1700000000400\tKO\t")
+        .append("x".repeat(3 << 20))
+        .append('\n');
+    log.append("REQUEST\t\tlogout\t1700000000500\t1700000000600\tOK\t \n");
+    // written in full before the run directory shows up
+    Path staging = Files.createDirectories(dir.resolve("staging"));
+    Files.write(staging.resolve("simulation.log"), log.toString().getBytes(StandardCharsets.UTF_8));
+
+    try (SimulationLogTail tail =
+        new SimulationLogTail(
+            resultsFolder.toFile(),
+            new SystemStreamLog(),
+            (request, start, end, ok) -> requests.add(request + (ok ? " OK" : " KO")))) {
+      Files.move(staging, resultsFolder.resolve("basicsimulation-20240101"));
+    }
+    Assertions.assertEquals(List.of("home OK", "logout OK"), requests);
+  }
+}
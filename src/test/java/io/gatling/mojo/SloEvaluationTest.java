@@ -0,0 +1,93 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SloEvaluationTest {
+
+  private static final Map<String, RunStatistics.Request> REQUESTS = new LinkedHashMap<>();
+
+  static {
+    REQUESTS.put(RunStatistics.GLOBAL, new RunStatistics.Request(300, 3, 50, 200, 400, 10));
+    REQUESTS.put("search", new RunStatistics.Request(100, 0, 80, 612, 900, 3.3));
+    REQUESTS.put("search / next", new RunStatistics.Request(100, 3, 20, 40, 60, 3.3));
+    REQUESTS.put("home", new RunStatistics.Request(100, 0, 10, 20, 30, 3.3));
+  }
+
+  @Test
+  void checksEveryMatchingRequest() {
+    List<SloEvaluation.Check> checks =
+        SloEvaluation.evaluate(List.of(new Slo().request("search*").maxP95(500.0)), REQUESTS);
+
+    Assertions.assertEquals(
+        List.of("search: p95 <= 500 ms", "search / next: p95 <= 500 ms"),
+        checks.stream().map(SloEvaluation.Check::name).collect(Collectors.toList()));
+    Assertions.assertFalse(checks.get(0).passed());
+    Assertions.assertEquals("search: p95 was 612 ms, expected <= 500 ms", checks.get(0).describe());
+    Assertions.assertTrue(checks.get(1).passed());
+  }
+
+  @Test
+  void defaultsToTheTotalOfAllRequests() {
+    List<SloEvaluation.Check> checks =
+        SloEvaluation.evaluate(
+            List.of(new Slo().maxErrorRatio(0.005).minThroughput(5.0)), REQUESTS);
+
+    Assertions.assertEquals(2, checks.size());
+    Assertions.assertFalse(checks.get(0).passed(), "1% errors");
+    Assertions.assertTrue(checks.get(1).passed(), "10 req/s");
+  }
+
+  @Test
+  void unmatchedSlosAreSkipped() {
+    List<SloEvaluation.Check> checks =
+        SloEvaluation.evaluate(List.of(new Slo().request("checkout").maxMean(100.0)), REQUESTS);
+
+    Assertions.assertEquals(1, checks.size());
+    Assertions.assertTrue(checks.get(0).skipped());
+    Assertions.assertTrue(checks.get(0).passed());
+  }
+
+  @Test
+  void writesJUnitXml(@TempDir Path dir) throws Exception {
+    Path file = dir.resolve(SloEvaluation.JUNIT_FILE);
+    SloEvaluation.writeJUnit(
+        file,
+        "basicsimulation-20250101000000000",
+        SloEvaluation.evaluate(
+            List.of(new Slo().request("*").maxP99(100.0), new Slo().request("nope").maxMean(1.0)),
+            REQUESTS));
+
+    String xml = Files.readString(file);
+    Assertions.assertTrue(
+        xml.contains("tests=\"4\" failures=\"1\" errors=\"0\" skipped=\"1\""), xml);
+    Assertions.assertTrue(
+        xml.contains(
+            "name=\"search: p99 &lt;= 100 ms\">\n"
+                + "    <failure message=\"search: p99 was 900 ms, expected &lt;= 100 ms\"/>"),
+        xml);
+  }
+}
@@ -0,0 +1,128 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StallDetectorTest {
+
+  private static final PluginLogger CONSOLE =
+      new PluginLogger() {
+        @Override
+        public void debug(String message) {}
+
+        @Override
+        public void info(String message) {}
+
+        @Override
+        public void error(String message) {}
+      };
+
+  private long nanos;
+
+  private static void printSummary(PluginLogger logger, int ok) {
+    logger.info("---- Requests ------------------------------------------------------------------");
+    logger.info(String.format("> Global %49s(OK=%-6d KO=0     )", "", ok));
+  }
+
+  private static List<Path> files(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+    }
+  }
+
+  @Test
+  void capturesThreadDumpsOfAStalledForkAndTerminatesIt(@TempDir Path resultsFolder)
+      throws Exception {
+    ForkId forkId = new ForkId();
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg());
+        StallDetector detector =
+            new StallDetector(
+                CONSOLE,
+                new SystemStreamLog(),
+                "computerdatabase.BasicSimulation",
+                forkId,
+                resultsFolder.toFile(),
+                1,
+                2,
+                1,
+                true,
+                () -> nanos)) {
+      Assertions.assertTrue(forkId.await(10, TimeUnit.SECONDS).isPresent());
+      Path runDirectory =
+          Files.createDirectory(resultsFolder.resolve("basicsimulation-20250101000000000"));
+      printSummary(detector, 10);
+      nanos += TimeUnit.SECONDS.toNanos(1);
+      detector.check();
+
+      Assertions.assertTrue(fork.process.waitFor(60, TimeUnit.SECONDS), "fork still alive");
+      List<Path> dumps = files(runDirectory);
+      Assertions.assertEquals(
+          List.of("class-histogram.txt", "threads-1.txt", "threads-2.txt"),
+          dumps.stream().map(dump -> dump.getFileName().toString()).collect(Collectors.toList()));
+      Path dumpsDirectory = dumps.get(0).getParent();
+      Assertions.assertTrue(
+          dumpsDirectory.getFileName().toString().startsWith("stall-"), dumpsDirectory.toString());
+      Assertions.assertTrue(
+          Files.readString(dumps.get(1)).contains("\"main\""), "no thread dump in threads-1.txt");
+      Assertions.assertEquals(
+          "no progress for 1 s, see the thread dumps in " + dumpsDirectory, detector.abortReason());
+    }
+  }
+
+  @Test
+  void doesNotWatchTheForkWhileItMakesProgress(@TempDir Path resultsFolder) throws Exception {
+    ForkId forkId = new ForkId();
+    try (ChildJvm fork = new ChildJvm(forkId.jvmArg());
+        StallDetector detector =
+            new StallDetector(
+                CONSOLE,
+                new SystemStreamLog(),
+                "computerdatabase.BasicSimulation",
+                forkId,
+                resultsFolder.toFile(),
+                2,
+                1,
+                1,
+                true,
+                () -> nanos)) {
+      for (int i = 1; i <= 8; i++) {
+        printSummary(detector, i * 10);
+        nanos += TimeUnit.MILLISECONDS.toNanos(500);
+        detector.check();
+      }
+      detector.info("Generating reports...");
+      nanos += TimeUnit.SECONDS.toNanos(3);
+      detector.check();
+
+      Assertions.assertNull(detector.abortReason());
+      Assertions.assertTrue(fork.process.isAlive());
+      Assertions.assertEquals(List.of(), files(resultsFolder));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.util.Fork;
+import io.gatling.plugin.util.ForkMain;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StandbysTest {
+
+  private static final List<String> JVM_ARGS = List.of("-Xmx256m");
+
+  @TempDir Path dir;
+
+  private final List<List<String>> started = new ArrayList<>();
+
+  private Standbys standbys() throws Exception {
+    List<String> classpath =
+        List.of(
+            location(HotStandbyMain.class),
+            location(HotStandbyTest.class),
+            MojoUtils.locateJar(ForkMain.class));
+    return new Standbys(
+        new SystemStreamLog(),
+        HotStandbyTest.Main.class.getName(),
+        (jvmArgs, standbyArgs, logger) -> {
+          started.add(standbyArgs);
+          return new Fork(
+              HotStandbyMain.class.getName(),
+              classpath,
+              jvmArgs,
+              standbyArgs,
+              new File(System.getProperty("java.home"), "bin/java"),
+              logger,
+              dir.toFile());
+        });
+  }
+
+  private static String location(Class<?> c) throws Exception {
+    return new File(c.getProtectionDomain().getCodeSource().getLocation().toURI())
+        .getAbsolutePath();
+  }
+
+  private List<String> args(String name) {
+    return List.of(dir.resolve(name).toString());
+  }
+
+  @Test
+  void handsOverTheNextForkOnceTheSimulationBeforeItRan() throws Exception {
+    try (Standbys standbys = standbys()) {
+      standbys.startNext("First", JVM_ARGS, args("first.txt"));
+      Assertions.assertEquals(1, started.size());
+      Assertions.assertNull(
+          standbys.take("First", JVM_ARGS, args("first.txt")), "not the current simulation yet");
+
+      standbys.advance();
+      Assertions.assertNull(standbys.take("First", List.of(), args("first.txt")));
+      Assertions.assertNull(standbys.take("Other", JVM_ARGS, args("first.txt")));
+      try (HotStandby released = standbys.take("First", JVM_ARGS, args("first.txt"))) {
+        Assertions.assertNotNull(released);
+        Assertions.assertNull(
+            standbys.take("First", JVM_ARGS, args("first.txt")), "taken only once");
+      }
+    }
+  }
+
+  @Test
+  void stopsTheForkOfASimulationThatDidntRun() throws Exception {
+    try (Standbys standbys = standbys()) {
+      standbys.startNext("First", JVM_ARGS, args("first.txt"));
+      standbys.advance();
+      standbys.startNext("Second", JVM_ARGS, args("second.txt"));
+      standbys.advance();
+
+      Assertions.assertNull(standbys.take("First", JVM_ARGS, args("first.txt")));
+      try (HotStandby released = standbys.take("Second", JVM_ARGS, args("second.txt"))) {
+        Assertions.assertNotNull(released);
+      }
+    }
+  }
+}
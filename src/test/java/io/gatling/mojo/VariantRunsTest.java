@@ -0,0 +1,117 @@
+
+/*
+ * Copyright 2011-2025 GatlingCorp (https://gatling.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gatling.mojo;
+
+import io.gatling.plugin.io.PluginLogger;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.toolchain.Toolchain;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VariantRunsTest {
+
+  /** Stands for Gatling, creating a run directory in the results folder it's given. */
+  private static class FakeForks implements VariantRuns.Forks {
+    final List<List<String>> jvmArgs = Collections.synchronizedList(new ArrayList<>());
+    final String failing;
+
+    FakeForks(String failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    public AutoCloseable acquireRun() {
+      return () -> {};
+    }
+
+    @Override
+    public void run(
+        List<String> jvmArgs, List<String> args, Toolchain toolchain, PluginLogger logger)
+        throws Exception {
+      this.jvmArgs.add(jvmArgs);
+      String resultsFolder = args.get(args.indexOf("-rf") + 1);
+      Files.createDirectories(Path.of(resultsFolder, "basicsimulation-20240101"));
+      logger.info("Simulation finished");
+      if (failing != null && jvmArgs.contains(failing)) {
+        throw new IllegalStateException("boom");
+      }
+    }
+  }
+
+  private static VariantRuns variantRuns(Path dir, FakeForks forks) {
+    return new VariantRuns(
+        new SystemStreamLog(),
+        new BuildTrace(),
+        dir.resolve("results").toFile(),
+        dir.resolve("target").toFile(),
+        null,
+        true,
+        List.of(),
+        forks);
+  }
+
+  private static Map<String, String> matrix() {
+    Map<String, String> matrix = new LinkedHashMap<>();
+    matrix.put("users", "1,2");
+    return matrix;
+  }
+
+  @Test
+  void movesTheRunOfEachCombinationToTheResultsFolder(@TempDir Path dir) throws Exception {
+    FakeForks forks = new FakeForks(null);
+    Files.createDirectories(dir.resolve("results"));
+
+    variantRuns(dir, forks).runMatrix("BasicSimulation", matrix(), 2, List.of("-Xmx1g"), null);
+
+    Assertions.assertEquals(2, forks.jvmArgs.size());
+    forks.jvmArgs.forEach(jvmArgs -> Assertions.assertEquals("-Xmx1g", jvmArgs.get(0)));
+    for (String value : List.of("1", "2")) {
+      Path runDirectory = dir.resolve("results/basicsimulation-20240101-users-" + value);
+      Assertions.assertEquals(
+          List.of("users=" + value), Files.readAllLines(runDirectory.resolve("matrix.properties")));
+    }
+    File[] variantFolders = dir.resolve("target/gatling-matrix").toFile().listFiles();
+    Assertions.assertEquals(0, variantFolders.length);
+  }
+
+  @Test
+  void reportsTheFailedCombinationsAfterRunningThemAll(@TempDir Path dir) throws Exception {
+    FakeForks forks = new FakeForks("-Dusers=1");
+    Files.createDirectories(dir.resolve("results"));
+
+    MojoExecutionException e =
+        Assertions.assertThrows(
+            MojoExecutionException.class,
+            () ->
+                variantRuns(dir, forks).runMatrix("BasicSimulation", matrix(), 1, List.of(), null));
+
+    Assertions.assertEquals("Simulation BasicSimulation failed with users=1", e.getMessage());
+    Assertions.assertEquals(2, forks.jvmArgs.size());
+    Assertions.assertTrue(
+        Files.isDirectory(dir.resolve("results/basicsimulation-20240101-users-2")));
+  }
+}